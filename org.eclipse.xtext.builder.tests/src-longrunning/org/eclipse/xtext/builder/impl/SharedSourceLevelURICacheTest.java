@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class SharedSourceLevelURICacheTest {
+
+	private final URI a = URI.createURI("platform:/resource/p/a.txt");
+	private final URI b = URI.createURI("platform:/resource/p/b.txt");
+
+	private final List<URI> computed = Lists.newArrayList();
+
+	private final SharedSourceLevelURICache cache = new SharedSourceLevelURICache() {
+		@Override
+		protected boolean computeIsSource(URI uri, IResourceServiceProvider.Registry registry) {
+			computed.add(uri);
+			return uri == a;
+		}
+	};
+
+	@Test
+	public void testClassificationIsCached() {
+		assertTrue(cache.getOrComputeIsSource(a, null));
+		assertFalse(cache.getOrComputeIsSource(b, null));
+		assertTrue(cache.getOrComputeIsSource(a, null));
+		assertFalse(cache.getOrComputeIsSource(b, null));
+		assertEquals(Lists.newArrayList(a, b), computed);
+	}
+
+	@Test
+	public void testInvalidate() {
+		cache.getOrComputeIsSource(a, null);
+		cache.getOrComputeIsSource(b, null);
+		cache.invalidate(Collections.singleton(a));
+		assertTrue(cache.getOrComputeIsSource(a, null));
+		assertFalse(cache.getOrComputeIsSource(b, null));
+		assertEquals(Lists.newArrayList(a, b, a), computed);
+	}
+
+	@Test
+	public void testClear() {
+		cache.getOrComputeIsSource(a, null);
+		cache.clear();
+		assertTrue(cache.getOrComputeIsSource(a, null));
+		assertEquals(Lists.newArrayList(a, a), computed);
+	}
+
+	@Test
+	public void testInvalidateProject() {
+		URI other = URI.createURI("platform:/resource/other/c.txt");
+		URI archive = URI.createURI("archive:platform:/resource/p/lib.jar!/d.txt");
+		URI external = URI.createURI("archive:file:/lib.jar!/e.txt");
+		cache.getOrComputeIsSource(a, null);
+		cache.getOrComputeIsSource(other, null);
+		cache.getOrComputeIsSource(archive, null);
+		cache.getOrComputeIsSource(external, null);
+		computed.clear();
+		cache.invalidate(ResourcesPlugin.getWorkspace().getRoot().getProject("p"));
+		cache.getOrComputeIsSource(a, null);
+		cache.getOrComputeIsSource(other, null);
+		cache.getOrComputeIsSource(archive, null);
+		cache.getOrComputeIsSource(external, null);
+		assertEquals(Lists.newArrayList(a, archive, external), computed);
+	}
+
+}
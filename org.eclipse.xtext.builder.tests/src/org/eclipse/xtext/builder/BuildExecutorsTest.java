@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class BuildExecutorsTest {
+
+	private BuildExecutors executors;
+
+	@After
+	public void tearDown() {
+		System.clearProperty(BuildExecutors.PARALLELISM_PROPERTY);
+		if (executors != null) {
+			executors.shutdown();
+		}
+	}
+
+	@Test
+	public void testDefaultNumberOfThreads() {
+		System.clearProperty(BuildExecutors.PARALLELISM_PROPERTY);
+		executors = new BuildExecutors();
+		int processors = Runtime.getRuntime().availableProcessors();
+		assertEquals(Math.max(2, Math.min(4, processors)), executors.getNumberOfThreads());
+	}
+
+	@Test
+	public void testConfiguredNumberOfThreads() {
+		System.setProperty(BuildExecutors.PARALLELISM_PROPERTY, "1");
+		executors = new BuildExecutors();
+		assertEquals(1, executors.getNumberOfThreads());
+	}
+
+	@Test
+	public void testConfiguredNumberOfThreadsIsLimitedByProcessors() {
+		int processors = Runtime.getRuntime().availableProcessors();
+		System.setProperty(BuildExecutors.PARALLELISM_PROPERTY, String.valueOf(processors + 1));
+		executors = new BuildExecutors();
+		assertEquals(processors, executors.getNumberOfThreads());
+	}
+
+	@Test
+	public void testShutdown() throws Exception {
+		executors = new BuildExecutors();
+		assertEquals("done", executors.getExecutor().submit(() -> "done").get());
+		executors.shutdown();
+		assertTrue(executors.getExecutor().isShutdown());
+		assertTrue(executors.getExecutor().awaitTermination(10, TimeUnit.SECONDS));
+	}
+
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder;
+
+import static org.eclipse.xtext.ui.testing.util.IResourcesSetupUtil.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Path;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Predicates;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.inject.Guice;
+
+public class DerivedResourceIndexTest {
+
+	private static class TestedIndex extends DerivedResourceIndex {
+		@Override
+		public File getIndexFile(IProject project, String generatorId) {
+			return super.getIndexFile(project, generatorId);
+		}
+	}
+
+	private static final String GENERATOR = "test.generator";
+
+	private static final String SOURCE = "platform:/resource/derivedResourceIndexTest/src/a.mydsl";
+
+	private final TestedIndex index = new TestedIndex();
+
+	private IProject project;
+
+	private IFile derived;
+
+	@Before
+	public void setUp() throws Exception {
+		project = createProject("derivedResourceIndexTest");
+		derived = createFile("derivedResourceIndexTest/src-gen/a.txt", "");
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(index, IResourceChangeEvent.PRE_CLOSE
+				| IResourceChangeEvent.PRE_DELETE | IResourceChangeEvent.POST_CHANGE);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(index);
+		index.invalidate(project);
+		cleanWorkspace();
+	}
+
+	@Test
+	public void testNotAvailableUntilInitialized() {
+		assertFalse(index.isAvailable(project, GENERATOR));
+		index.add(project, GENERATOR, SOURCE, derived);
+		assertFalse(index.isAvailable(project, GENERATOR));
+		initialize();
+		assertTrue(index.isAvailable(project, GENERATOR));
+		assertEquals(ImmutableSetMultimap.of(SOURCE, derived), getDerivedResources(index));
+	}
+
+	@Test
+	public void testAddAndRemove() throws Exception {
+		index.initialize(project, GENERATOR, HashMultimap.<String, IFile>create());
+		index.add(project, GENERATOR, SOURCE, derived);
+		assertEquals(ImmutableSetMultimap.of(SOURCE, derived), getDerivedResources(index));
+		index.remove(project, GENERATOR, SOURCE, derived);
+		assertTrue(getDerivedResources(index).isEmpty());
+		assertTrue(index.isAvailable(project, GENERATOR));
+	}
+
+	@Test
+	public void testInstalledMarkerIsIndexed() throws Exception {
+		DerivedResourceMarkers markers = Guice.createInjector(
+				binder -> binder.bind(DerivedResourceIndex.class).toInstance(index))
+				.getInstance(DerivedResourceMarkers.class);
+		index.initialize(project, GENERATOR, HashMultimap.<String, IFile>create());
+		assertTrue(markers.installMarker(derived, GENERATOR, SOURCE));
+		assertEquals(ImmutableSetMultimap.of(SOURCE, derived), getDerivedResources(index));
+		assertNotNull(markers.findDerivedResourceMarker(derived, GENERATOR, SOURCE));
+	}
+
+	@Test
+	public void testDeletedFilesAreOmitted() throws Exception {
+		initialize();
+		derived.delete(true, null);
+		assertTrue(getDerivedResources(index).isEmpty());
+	}
+
+	@Test
+	public void testSavedIndexIsLoaded() {
+		initialize();
+		index.save(project, GENERATOR);
+		assertTrue(getIndexFile().exists());
+		DerivedResourceIndex loaded = new DerivedResourceIndex();
+		assertTrue(loaded.isAvailable(project, GENERATOR));
+		assertEquals(ImmutableSetMultimap.of(SOURCE, derived), getDerivedResources(loaded));
+	}
+
+	@Test
+	public void testModificationDeletesSavedIndex() {
+		initialize();
+		index.save(project, GENERATOR);
+		index.remove(project, GENERATOR, SOURCE, derived);
+		assertFalse(getIndexFile().exists());
+		assertFalse(new DerivedResourceIndex().isAvailable(project, GENERATOR));
+		index.save(project, GENERATOR);
+		assertTrue(new DerivedResourceIndex().getDerivedResources(project, GENERATOR, Predicates.<IFile>alwaysTrue()).isEmpty());
+	}
+
+	@Test
+	public void testInvalidate() {
+		initialize();
+		index.save(project, GENERATOR);
+		index.invalidate(project, GENERATOR);
+		assertFalse(index.isAvailable(project, GENERATOR));
+		assertFalse(getIndexFile().exists());
+	}
+
+	@Test
+	public void testClosedProjectIsInvalidated() throws Exception {
+		initialize();
+		index.save(project, GENERATOR);
+		project.close(null);
+		assertFalse(getIndexFile().exists());
+		project.open(null);
+		assertFalse(index.isAvailable(project, GENERATOR));
+	}
+
+	@Test
+	public void testDeletedProjectIsInvalidated() throws Exception {
+		initialize();
+		index.save(project, GENERATOR);
+		project.delete(true, null);
+		assertFalse(index.isAvailable(project, GENERATOR));
+		assertFalse(getIndexFile().exists());
+	}
+
+	@Test
+	public void testRenamedProjectIsInvalidated() throws Exception {
+		initialize();
+		index.save(project, GENERATOR);
+		File indexFile = getIndexFile();
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		project.move(new Path("derivedResourceIndexTest2"), true, null);
+		assertFalse(indexFile.exists());
+		assertFalse(index.isAvailable(project, GENERATOR));
+		assertFalse(index.isAvailable(workspace.getRoot().getProject("derivedResourceIndexTest2"), GENERATOR));
+	}
+
+	private void initialize() {
+		SetMultimap<String, IFile> derivedResources = HashMultimap.create();
+		derivedResources.put(SOURCE, derived);
+		index.initialize(project, GENERATOR, derivedResources);
+	}
+
+	private SetMultimap<String, IFile> getDerivedResources(DerivedResourceIndex index) {
+		return index.getDerivedResources(project, GENERATOR, Predicates.<IFile>alwaysTrue());
+	}
+
+	private File getIndexFile() {
+		return index.getIndexFile(project, GENERATOR);
+	}
+
+}
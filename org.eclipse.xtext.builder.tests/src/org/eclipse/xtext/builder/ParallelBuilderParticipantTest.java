@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder;
+
+import static org.eclipse.xtext.ui.testing.util.IResourcesSetupUtil.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.generator.FileSystemAccessRequest;
+import org.eclipse.xtext.xbase.lib.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class ParallelBuilderParticipantTest {
+
+	private static class TestedParticipant extends ParallelBuilderParticipant {
+		@Override
+		public void runBatch(List<FileSystemAccessRequest> batch, List<Pair<URI, Throwable>> exceptions) {
+			super.runBatch(batch, exceptions);
+		}
+	}
+
+	private IProject project;
+
+	@Before
+	public void setUp() throws Exception {
+		project = createProject("parallelBuilderParticipantTest");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		cleanWorkspace();
+	}
+
+	@Test
+	public void testBatchIsWrittenInOneWorkspaceOperation() throws Exception {
+		final AtomicInteger notifications = new AtomicInteger();
+		IResourceChangeListener listener = new IResourceChangeListener() {
+			@Override
+			public void resourceChanged(IResourceChangeEvent event) {
+				if (event.getDelta() != null && event.getDelta().findMember(project.getFullPath()) != null) {
+					notifications.incrementAndGet();
+				}
+			}
+		};
+		TestedParticipant participant = new TestedParticipant();
+		List<FileSystemAccessRequest> batch = Lists.newArrayList();
+		for (int i = 0; i < 5; i++) {
+			batch.add(createFileRequest(project.getFile("file" + i + ".txt")));
+		}
+		List<Pair<URI, Throwable>> exceptions = Lists.newArrayList();
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(listener, IResourceChangeEvent.POST_CHANGE);
+		try {
+			participant.runBatch(batch, exceptions);
+		} finally {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(listener);
+		}
+		assertTrue(exceptions.isEmpty());
+		for (int i = 0; i < 5; i++) {
+			assertTrue(project.getFile("file" + i + ".txt").exists());
+		}
+		assertEquals(1, notifications.get());
+		assertEquals(1, participant.getStatistics().getBatchCount());
+		assertEquals(5, participant.getStatistics().getRequestCount());
+	}
+
+	@Test
+	public void testFailedRequestDoesNotAbortBatch() throws Exception {
+		TestedParticipant participant = new TestedParticipant();
+		IFile file = project.getFile("file.txt");
+		final URI failingURI = URI.createPlatformResourceURI("/parallelBuilderParticipantTest/failing.txt", true);
+		List<FileSystemAccessRequest> batch = Lists.newArrayList(new FileSystemAccessRequest(failingURI, new Runnable() {
+			@Override
+			public void run() {
+				throw new IllegalStateException("expected");
+			}
+		}), createFileRequest(file));
+		List<Pair<URI, Throwable>> exceptions = Lists.newArrayList();
+		participant.runBatch(batch, exceptions);
+		assertTrue(file.exists());
+		assertEquals(1, exceptions.size());
+		assertEquals(failingURI, exceptions.get(0).getKey());
+		assertEquals(2, participant.getStatistics().getRequestCount());
+	}
+
+	private FileSystemAccessRequest createFileRequest(final IFile file) {
+		URI uri = URI.createPlatformResourceURI(file.getFullPath().toString(), true);
+		return new FileSystemAccessRequest(uri, new Runnable() {
+			@Override
+			public void run() {
+				try {
+					file.create(new ByteArrayInputStream(new byte[0]), true, null);
+				} catch (CoreException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+	}
+
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.builderState;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class CopyOnWriteResourceDescriptionsDataTest {
+
+	@Test
+	public void testCopyDoesNotModifyOriginal() {
+		ResourceDescriptionsData original = new CopyOnWriteResourceDescriptionsData(
+				ImmutableList.of(description("a", "A"), description("b", "B")));
+		ResourceDescriptionsData copy = original.copy();
+		copy.removeDescription(uri("a"));
+		copy.addDescription(uri("c"), description("c", "C"));
+
+		assertEquals(ImmutableSet.of(uri("a"), uri("b")), Sets.newHashSet(original.getAllURIs()));
+		assertEquals(1, Iterables.size(original.getExportedObjects(EcorePackage.Literals.EOBJECT, name("A"), false)));
+		assertTrue(Iterables.isEmpty(original.getExportedObjects(EcorePackage.Literals.EOBJECT, name("C"), false)));
+
+		assertEquals(ImmutableSet.of(uri("b"), uri("c")), Sets.newHashSet(copy.getAllURIs()));
+		assertTrue(Iterables.isEmpty(copy.getExportedObjects(EcorePackage.Literals.EOBJECT, name("A"), false)));
+		assertEquals(1, Iterables.size(copy.getExportedObjects(EcorePackage.Literals.EOBJECT, name("C"), false)));
+	}
+
+	@Test
+	public void testNamesExportedTwiceAreNotShared() {
+		ResourceDescriptionsData original = new CopyOnWriteResourceDescriptionsData(
+				ImmutableList.of(description("a", "X"), description("b", "X")));
+		ResourceDescriptionsData copy = original.copy();
+		copy.register(new DefaultResourceDescriptionDelta(original.getResourceDescription(uri("a")), null));
+		copy.addDescription(uri("c"), description("c", "X"));
+
+		assertEquals(2, Iterables.size(original.getExportedObjects(EcorePackage.Literals.EOBJECT, name("X"), false)));
+		assertNull(copy.getResourceDescription(uri("a")));
+		assertEquals(2, Iterables.size(copy.getExportedObjects(EcorePackage.Literals.EOBJECT, name("X"), false)));
+	}
+
+	@Test
+	public void testCopyOfCopy() {
+		List<IResourceDescription> descriptions = Lists.newArrayList();
+		for (int i = 0; i < 5000; i++) {
+			descriptions.add(description("r" + i, "N" + i));
+		}
+		ResourceDescriptionsData first = new CopyOnWriteResourceDescriptionsData(descriptions);
+		ResourceDescriptionsData second = first.copy();
+		second.removeDescription(uri("r0"));
+		ResourceDescriptionsData third = second.copy();
+		third.removeDescription(uri("r1"));
+		second.addDescription(uri("r0"), description("r0", "M0"));
+
+		assertEquals(5000, first.getAllURIs().size());
+		assertEquals(5000, Iterables.size(first.getAllResourceDescriptions()));
+		assertEquals(5000, second.getAllURIs().size());
+		assertEquals(4998, third.getAllURIs().size());
+		assertNotNull(first.getResourceDescription(uri("r1")));
+		assertNotNull(second.getResourceDescription(uri("r1")));
+		assertNull(third.getResourceDescription(uri("r0")));
+		assertTrue(Iterables.isEmpty(first.getExportedObjects(EcorePackage.Literals.EOBJECT, name("M0"), false)));
+		assertEquals(1, Iterables.size(second.getExportedObjects(EcorePackage.Literals.EOBJECT, name("M0"), false)));
+		assertTrue(Iterables.isEmpty(third.getExportedObjects(EcorePackage.Literals.EOBJECT, name("M0"), false)));
+	}
+
+	private static URI uri(String name) {
+		return URI.createURI("test:/" + name);
+	}
+
+	private static QualifiedName name(String name) {
+		return QualifiedName.create(name);
+	}
+
+	private IResourceDescription description(String name, String exported) {
+		final URI uri = uri(name);
+		final List<IEObjectDescription> exportedObjects = ImmutableList.of(
+				EObjectDescription.create(exported, EcoreFactory.eINSTANCE.createEClass()));
+		return new AbstractResourceDescription() {
+			@Override
+			protected List<IEObjectDescription> computeExportedObjects() {
+				return exportedObjects;
+			}
+
+			@Override
+			public Iterable<QualifiedName> getImportedNames() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public Iterable<IReferenceDescription> getReferenceDescriptions() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public URI getURI() {
+				return uri;
+			}
+		};
+	}
+}
@@ -26,11 +26,14 @@ import org.eclipse.xtext.builder.impl.ToBeBuilt;
 import org.eclipse.xtext.builder.tests.BuilderTestLanguageStandaloneSetup;
 import org.eclipse.xtext.junit4.AbstractXtextTests;
 import org.eclipse.xtext.junit4.util.URIBasedTestResourceDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescription.Delta;
 import org.eclipse.xtext.resource.containers.DelegatingIAllContainerAdapter;
 import org.eclipse.xtext.resource.containers.IAllContainersState;
+import org.eclipse.xtext.ui.refactoring.ITextRegionAwareReferenceDescription;
 import org.eclipse.xtext.ui.shared.internal.SharedModule;
+import org.eclipse.xtext.util.ITextRegion;
 import org.eclipse.xtext.util.StringInputStream;
 import org.junit.Test;
 
@@ -268,6 +271,25 @@ public class PersistableResourceDescriptionsTest extends AbstractXtextTests {
 		}
 		
 	}
+
+	@Test public void testReferenceRegionsAreRecorded() throws Exception {
+		addToFileSystem("bar", "namespace bar { object B object C }");
+		String contents = "namespace foo { object A references bar.B otherRefs bar.C, bar.B }";
+		addToFileSystem("foo", contents);
+		update(uris("foo", "bar"), null);
+		Map<Integer, IReferenceDescription> offsetToReference = Maps.newHashMap();
+		for (IReferenceDescription reference : builderState.getResourceDescription(uri("foo")).getReferenceDescriptions()) {
+			assertTrue(reference instanceof ITextRegionAwareReferenceDescription);
+			ITextRegion region = ((ITextRegionAwareReferenceDescription) reference).getTextRegion();
+			assertEquals("bar.", contents.substring(region.getOffset(), region.getOffset() + 4));
+			assertEquals(5, region.getLength());
+			offsetToReference.put(region.getOffset(), reference);
+		}
+		assertEquals(3, offsetToReference.size());
+		assertEquals(-1, offsetToReference.get(contents.indexOf("bar.B")).getIndexInList());
+		assertEquals(0, offsetToReference.get(contents.indexOf("bar.C")).getIndexInList());
+		assertEquals(1, offsetToReference.get(contents.lastIndexOf("bar.B")).getIndexInList());
+	}
 	
 	private void addToFileSystem(String uri, String contents) {
 		fileSystem.put(uri + FILE_EXT, contents);
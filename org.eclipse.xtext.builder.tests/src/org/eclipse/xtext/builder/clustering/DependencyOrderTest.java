@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.clustering;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+public class DependencyOrderTest {
+
+	private final DependencyOrder dependencyOrder = new DependencyOrder();
+
+	@Test
+	public void testImportedResourcesComeFirst() {
+		ResourceDescriptionsData state = new ResourceDescriptionsData(ImmutableList.<IResourceDescription>of(
+				description("a", "A", "B"),
+				description("b", "B", "C"),
+				description("c", "C")));
+		assertEquals(uris("c", "b", "a"), dependencyOrder.sort(uris("a", "b", "c"), state, state));
+	}
+
+	@Test
+	public void testIndependentResourcesKeepQueueOrder() {
+		ResourceDescriptionsData state = new ResourceDescriptionsData(ImmutableList.<IResourceDescription>of(
+				description("a", "A"),
+				description("b", "B"),
+				description("c", "C")));
+		assertEquals(uris("b", "a", "c"), dependencyOrder.sort(uris("b", "a", "c"), state, state));
+	}
+
+	@Test
+	public void testCyclesAreBroken() {
+		ResourceDescriptionsData state = new ResourceDescriptionsData(ImmutableList.<IResourceDescription>of(
+				description("a", "A", "B"),
+				description("b", "B", "A"),
+				description("c", "C", "A")));
+		assertEquals(uris("a", "c", "b"), dependencyOrder.sort(uris("c", "a", "b"), state, state));
+	}
+
+	@Test
+	public void testOrderingKeepsRanksAcrossSorts() {
+		final List<URI> lookups = Lists.newArrayList();
+		ResourceDescriptionsData state = new ResourceDescriptionsData(ImmutableList.<IResourceDescription>of(
+				description("a", "A", "B"),
+				description("b", "B", "C"),
+				description("c", "C"))) {
+			@Override
+			public IResourceDescription getResourceDescription(URI uri) {
+				lookups.add(uri);
+				return super.getResourceDescription(uri);
+			}
+		};
+		DependencyOrder.Ordering ordering = dependencyOrder.createOrdering(state, state);
+		assertEquals(uris("c", "b", "a"), ordering.sort(uris("a", "b", "c")));
+		lookups.clear();
+		assertEquals(uris("b", "a"), ordering.sort(uris("a", "b")));
+		assertTrue(lookups.isEmpty());
+	}
+
+	@Test
+	public void testLaterQueuedResourcesAreRankedAfterKnownOnes() {
+		ResourceDescriptionsData state = new ResourceDescriptionsData(ImmutableList.<IResourceDescription>of(
+				description("a", "A", "B"),
+				description("b", "B"),
+				description("c", "C", "D"),
+				description("d", "D")));
+		DependencyOrder.Ordering ordering = dependencyOrder.createOrdering(state, state);
+		assertEquals(uris("b", "a"), ordering.sort(uris("a", "b")));
+		assertEquals(uris("a", "d", "c"), ordering.sort(uris("c", "a", "d")));
+	}
+
+	private List<URI> uris(String... names) {
+		List<URI> result = Lists.newArrayList();
+		for (String name : names) {
+			result.add(URI.createURI("test:/" + name));
+		}
+		return result;
+	}
+
+	private IResourceDescription description(String name, String exported, String... imported) {
+		final URI uri = URI.createURI("test:/" + name);
+		final List<IEObjectDescription> exportedObjects = ImmutableList.of(
+				EObjectDescription.create(exported, EcoreFactory.eINSTANCE.createEClass()));
+		final List<QualifiedName> importedNames = Lists.newArrayList();
+		for (String importedName : imported) {
+			importedNames.add(QualifiedName.create(importedName.toLowerCase()));
+		}
+		return new AbstractResourceDescription() {
+			@Override
+			protected List<IEObjectDescription> computeExportedObjects() {
+				return exportedObjects;
+			}
+
+			@Override
+			public Iterable<QualifiedName> getImportedNames() {
+				return importedNames;
+			}
+
+			@Override
+			public Iterable<IReferenceDescription> getReferenceDescriptions() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public URI getURI() {
+				return uri;
+			}
+		};
+	}
+}
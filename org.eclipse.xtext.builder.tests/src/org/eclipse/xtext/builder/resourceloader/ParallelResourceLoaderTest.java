@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.resourceloader;
+
+import static org.junit.Assert.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.xtext.builder.resourceloader.IResourceLoader.LoadOperation;
+import org.eclipse.xtext.builder.resourceloader.IResourceLoader.Sorter;
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class ParallelResourceLoaderTest {
+
+	private final ResourceLoaderPool pool = new ResourceLoaderPool() {
+		@Override
+		public int getParallelism() {
+			return 1;
+		}
+	};
+
+	@After
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void testLoadsAllResources() throws Exception {
+		ParallelResourceLoader loader = createLoader(2);
+		List<URI> uris = uris(10);
+		LoadOperation operation = loader.create(new ResourceSetImpl(), null);
+		operation.load(uris);
+		Set<URI> loaded = Sets.newHashSet();
+		while (operation.hasNext()) {
+			loaded.add(operation.next().getUri());
+		}
+		assertEquals(Sets.newHashSet(uris), loaded);
+		assertEquals(10, loader.getStatistics().getResourceCount());
+	}
+
+	@Test
+	public void testBlockedWorkersDoNotStarveOtherOperations() throws Exception {
+		ParallelResourceLoader loader = createLoader(1);
+		// the only worker thread of the pool blocks until the result of the first operation is consumed
+		LoadOperation first = loader.create(new ResourceSetImpl(), null);
+		first.load(uris(2));
+		LoadOperation second = loader.create(new ResourceSetImpl(), null);
+		second.load(uris(2));
+		assertNotNull(second.next().getResource());
+		assertNotNull(second.next().getResource());
+		first.cancel();
+	}
+
+	@Test
+	public void testCancelReleasesWorkers() throws Exception {
+		ParallelResourceLoader loader = createLoader(2);
+		LoadOperation operation = loader.create(new ResourceSetImpl(), null);
+		operation.load(uris(10));
+		Collection<URI> remaining = operation.cancel();
+		assertTrue(remaining.size() <= 10);
+		ForkJoinPool executor = (ForkJoinPool) pool.getExecutor();
+		assertTrue(executor.awaitQuiescence(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testShutdownPool() {
+		ExecutorService executor = pool.getExecutor();
+		pool.shutdown();
+		assertTrue(executor.isShutdown());
+		ExecutorService recreated = pool.getExecutor();
+		assertNotSame(executor, recreated);
+		assertFalse(recreated.isShutdown());
+	}
+
+	private ParallelResourceLoader createLoader(int nThreads) {
+		return new ParallelResourceLoader(project -> new ResourceSetImpl(), new Sorter.NoSorting(), nThreads, 0, pool) {
+			@Override
+			protected Resource loadResource(URI uri, ResourceSet localResourceSet, ResourceSet parentResourceSet) {
+				return new ResourceImpl(uri);
+			}
+		};
+	}
+
+	private List<URI> uris(int count) {
+		List<URI> result = Lists.newArrayList();
+		for (int i = 0; i < count; i++) {
+			result.add(URI.createURI("test:/" + System.nanoTime() + "/" + i + ".test"));
+		}
+		return result;
+	}
+
+}
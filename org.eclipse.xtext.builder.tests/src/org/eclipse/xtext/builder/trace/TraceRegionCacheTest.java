@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.trace;
+
+import static org.eclipse.xtext.ui.testing.util.IResourcesSetupUtil.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.xtext.generator.trace.AbstractTraceRegion;
+import org.eclipse.xtext.generator.trace.TraceRegionSerializer;
+import org.eclipse.xtext.ui.generator.trace.TraceRegionCache;
+import org.eclipse.xtext.util.StringInputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Guice;
+
+public class TraceRegionCacheTest {
+
+	private static class CountingSerializer extends TraceRegionSerializer {
+		private int reads;
+
+		@Override
+		public AbstractTraceRegion readTraceRegionFrom(InputStream contents) throws IOException {
+			reads++;
+			return null;
+		}
+	}
+
+	private final CountingSerializer serializer = new CountingSerializer();
+
+	private TraceRegionCache cache;
+
+	@Before
+	public void setUp() throws Exception {
+		createProject("traceRegionCacheTest");
+		cache = Guice.createInjector(binder -> binder.bind(TraceRegionSerializer.class).toInstance(serializer))
+				.getInstance(TraceRegionCache.class);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		cleanWorkspace();
+	}
+
+	@Test
+	public void testHit() throws Exception {
+		IFile traceFile = createTraceFile(0);
+		cache.getTraceRegion(traceFile);
+		cache.getTraceRegion(traceFile);
+		assertEquals(1, serializer.reads);
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void testModifiedFileIsRead() throws Exception {
+		IFile traceFile = createTraceFile(0);
+		cache.getTraceRegion(traceFile);
+		traceFile.setContents(new StringInputStream("modified"), true, false, null);
+		cache.getTraceRegion(traceFile);
+		assertEquals(2, serializer.reads);
+		assertEquals(0, cache.getHits());
+		cache.getTraceRegion(traceFile);
+		assertEquals(2, serializer.reads);
+	}
+
+	@Test
+	public void testInvalidate() throws Exception {
+		IFile traceFile = createTraceFile(0);
+		cache.getTraceRegion(traceFile);
+		cache.invalidate(traceFile);
+		cache.getTraceRegion(traceFile);
+		assertEquals(2, serializer.reads);
+		assertEquals(0, cache.getHits());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() throws Exception {
+		List<IFile> traceFiles = Lists.newArrayList();
+		for (int i = 0; i <= TraceRegionCache.DEFAULT_MAX_SIZE; i++) {
+			traceFiles.add(createTraceFile(i));
+		}
+		for (int i = 0; i < TraceRegionCache.DEFAULT_MAX_SIZE; i++) {
+			cache.getTraceRegion(traceFiles.get(i));
+		}
+		// the first file becomes the most recently used one
+		cache.getTraceRegion(traceFiles.get(0));
+		cache.getTraceRegion(traceFiles.get(TraceRegionCache.DEFAULT_MAX_SIZE));
+		assertEquals(TraceRegionCache.DEFAULT_MAX_SIZE + 1, serializer.reads);
+
+		cache.getTraceRegion(traceFiles.get(0));
+		assertEquals(TraceRegionCache.DEFAULT_MAX_SIZE + 1, serializer.reads);
+		cache.getTraceRegion(traceFiles.get(1));
+		assertEquals(TraceRegionCache.DEFAULT_MAX_SIZE + 2, serializer.reads);
+	}
+
+	private IFile createTraceFile(int index) throws Exception {
+		return createFile("traceRegionCacheTest/src-gen/." + index + ".java._trace", "trace" + index);
+	}
+
+}
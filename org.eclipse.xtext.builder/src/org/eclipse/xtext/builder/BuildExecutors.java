@@ -7,7 +7,9 @@
  *******************************************************************************/
 package org.eclipse.xtext.builder;
 
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -16,26 +18,73 @@ import com.google.inject.Singleton;
 
 /**
  * Provides access to an executor service that can be used for parallel building.
- * 
+ *
+ * The number of threads defaults to 2 to 4 (depending on how many processors are available) and can be configured up
+ * to the number of available processors by means of the system property {@value #PARALLELISM_PROPERTY}. Idle threads
+ * are released after a minute, so an unused executor does not hold on to any threads.
+ *
+ * A single instance is shared by all languages through the shared injector, which shuts it down when the
+ * <code>org.eclipse.xtext.ui.shared</code> bundle is stopped.
+ *
  * @author Sebastian Zarnekow - Initial contribution and API
  * @since 2.9
- * 
- * TODO this should be shared accross all languages
  */
 @Singleton
 public class BuildExecutors {
 
-	// TODO shutdown on workspace shutdown
+	/**
+	 * @since 2.17
+	 */
+	public static final String PARALLELISM_PROPERTY = "org.eclipse.xtext.builder.parallelGenerator.threads";
+
+	private static final long KEEP_ALIVE_SECONDS = 60;
+
+	private final int nThreads;
+
 	private final ListeningExecutorService sharedService;
 
 	public BuildExecutors() {
-		int nProcessors = Runtime.getRuntime().availableProcessors();
-		int nThreads = Math.max(2, Math.min(4, nProcessors));
-		sharedService = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(nThreads, new ThreadFactoryBuilder().setNameFormat("ParallelGenerator-%d").build()));
+		this.nThreads = getConfiguredNumberOfThreads();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(nThreads, nThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(),
+				new ThreadFactoryBuilder().setNameFormat("ParallelGenerator-%d").setDaemon(true).build());
+		executor.allowCoreThreadTimeOut(true);
+		sharedService = MoreExecutors.listeningDecorator(executor);
 	}
-	
+
 	public ListeningExecutorService getExecutor() {
 		return sharedService;
 	}
-	
+
+	/**
+	 * @since 2.17
+	 */
+	public int getNumberOfThreads() {
+		return nThreads;
+	}
+
+	/**
+	 * Shuts down the executor. Tasks that have already been submitted are still executed.
+	 *
+	 * @since 2.17
+	 */
+	public void shutdown() {
+		sharedService.shutdown();
+	}
+
+	/**
+	 * Returns the value of the system property {@value #PARALLELISM_PROPERTY} up to the number of available processors,
+	 * or 2 to 4 depending on the number of available processors if the property is not set.
+	 *
+	 * @since 2.17
+	 */
+	protected static int getConfiguredNumberOfThreads() {
+		int nProcessors = Runtime.getRuntime().availableProcessors();
+		Integer configured = Integer.getInteger(PARALLELISM_PROPERTY);
+		if (configured != null && configured.intValue() > 0) {
+			return Math.min(configured.intValue(), nProcessors);
+		}
+		return Math.max(2, Math.min(4, nProcessors));
+	}
+
 }
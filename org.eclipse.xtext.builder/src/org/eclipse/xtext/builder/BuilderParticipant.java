@@ -27,6 +27,7 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IStorage;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
@@ -61,6 +62,7 @@ import org.eclipse.xtext.util.internal.Stopwatches;
 import org.eclipse.xtext.util.internal.Stopwatches.StoppedTask;
 
 import com.google.common.base.Function;
+import com.google.common.base.Predicates;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
@@ -104,6 +106,9 @@ public class BuilderParticipant implements IXtextBuilderParticipant {
 	@Inject
 	private IShouldGenerate shouldGenerate;
 
+	@Inject
+	private DerivedResourceIndex derivedResourceIndex;
+
 	private EclipseOutputConfigurationProvider outputConfigurationProvider;
 
 	private BuilderPreferenceAccess builderPreferenceAccess;
@@ -185,6 +190,10 @@ public class BuilderParticipant implements IXtextBuilderParticipant {
 	 */
 	protected Map<OutputConfiguration, Iterable<IMarker>> getGeneratorMarkers(IProject builtProject,
 			Collection<OutputConfiguration> outputConfigurations) throws CoreException {
+		String generatorId = generatorIdProvider.getGeneratorIdentifier();
+		if (derivedResourceIndex.isAvailable(builtProject, generatorId)) {
+			return getGeneratorMarkersFromIndex(builtProject, outputConfigurations);
+		}
 		Map<OutputConfiguration, Iterable<IMarker>> generatorMarkers = newHashMap();
 		for (OutputConfiguration config : outputConfigurations) {
 			if (config.isCleanUpDerivedResources()) {
@@ -193,14 +202,72 @@ public class BuilderParticipant implements IXtextBuilderParticipant {
 					Iterables.addAll(
 							markers,
 							derivedResourceMarkers.findDerivedResourceMarkers(container,
-									generatorIdProvider.getGeneratorIdentifier()));
+									generatorId));
+				}
+				generatorMarkers.put(config, markers);
+			}
+		}
+		Map<OutputConfiguration, Iterable<IMarker>> result = buildGeneratorMarkersReverseLookupMap(generatorMarkers);
+		if (result instanceof DerivedResourcesLookupMap) {
+			// recover the index from the markers
+			derivedResourceIndex.initialize(builtProject, generatorId,
+					((DerivedResourcesLookupMap) result).getReverseLookupMap());
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the markers of the output configurations that clean up derived resources from the
+	 * {@link DerivedResourceIndex} instead of scanning the output folders. Only the files of the index are asked for
+	 * their markers, and files without a matching marker are skipped.
+	 * 
+	 * @since 2.17
+	 */
+	protected Map<OutputConfiguration, Iterable<IMarker>> getGeneratorMarkersFromIndex(IProject builtProject,
+			Collection<OutputConfiguration> outputConfigurations) throws CoreException {
+		String generatorId = generatorIdProvider.getGeneratorIdentifier();
+		Map<OutputConfiguration, Iterable<IMarker>> generatorMarkers = newHashMap();
+		Map<IPath, List<IMarker>> markersByOutputPath = newHashMap();
+		for (OutputConfiguration config : outputConfigurations) {
+			if (config.isCleanUpDerivedResources()) {
+				List<IMarker> markers = Lists.newArrayList();
+				for (IContainer container : getOutputs(builtProject, config)) {
+					markersByOutputPath.put(container.getFullPath(), markers);
 				}
 				generatorMarkers.put(config, markers);
 			}
 		}
+		SetMultimap<String, IFile> derivedResources = derivedResourceIndex.getDerivedResources(builtProject,
+				generatorId, Predicates.<IFile>alwaysTrue());
+		for (Map.Entry<String, IFile> entry : derivedResources.entries()) {
+			List<IMarker> markers = getMarkersOfOutput(markersByOutputPath, entry.getValue());
+			if (markers != null) {
+				IMarker marker = derivedResourceMarkers.findDerivedResourceMarker(entry.getValue(), generatorId,
+						entry.getKey());
+				if (marker != null) {
+					markers.add(marker);
+				}
+			}
+		}
 		return buildGeneratorMarkersReverseLookupMap(generatorMarkers);
 	}
 
+	private List<IMarker> getMarkersOfOutput(Map<IPath, List<IMarker>> markersByOutputPath, IFile file) {
+		for (Map.Entry<IPath, List<IMarker>> entry : markersByOutputPath.entrySet()) {
+			if (entry.getKey().isPrefixOf(file.getFullPath())) {
+				return entry.getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @since 2.17
+	 */
+	protected DerivedResourceIndex getDerivedResourceIndex() {
+		return derivedResourceIndex;
+	}
+
 	/**
 	 * @since 2.12
 	 */
@@ -264,6 +331,7 @@ public class BuilderParticipant implements IXtextBuilderParticipant {
 			doBuild(deltas, outputConfigurations, generatorMarkers, context, access, subMonitor.newChild(2));
 
 		} finally {
+			derivedResourceIndex.save(context.getBuiltProject(), generatorIdProvider.getGeneratorIdentifier());
 			outputConfigurationCache.clear();
 			task.stop();
 		}
@@ -369,9 +437,13 @@ public class BuilderParticipant implements IXtextBuilderParticipant {
 			if (deleteMonitor.isCanceled()) {
 				throw new OperationCanceledException();
 			}
+			derivedResourceIndex.remove(context.getBuiltProject(), generatorIdProvider.getGeneratorIdentifier(), uri, iFile);
 			IMarker marker = derivedResourceMarkers.findDerivedResourceMarker(iFile, uri);
-			if (marker != null)
-				marker.delete();
+			if (marker == null) {
+				// the index is only a hint, the file was not generated from this source
+				continue;
+			}
+			marker.delete();
 			if (derivedResourceMarkers.findDerivedResourceMarkers(iFile).length == 0) {
 				access.deleteFile(iFile, deleteMonitor);
 				context.needRebuild();
@@ -484,6 +556,8 @@ public class BuilderParticipant implements IXtextBuilderParticipant {
 	protected void cleanOutput(IBuildContext ctx, OutputConfiguration config, EclipseResourceFileSystemAccess2 access,
 			IProgressMonitor monitor) throws CoreException {
 		final IProject project = ctx.getBuiltProject();
+		// the index is recovered from the remaining markers by the next build
+		derivedResourceIndex.invalidate(project, generatorIdProvider.getGeneratorIdentifier());
 		for (IContainer container : getOutputs(project, config)) {
 			if (!container.exists()) {
 				return;
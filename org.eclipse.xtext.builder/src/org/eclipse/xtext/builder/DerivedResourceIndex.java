@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.xtext.builder.internal.Activator;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
+import com.google.inject.Singleton;
+
+/**
+ * A bidirectional index of the files that were generated from a source, per project and generator. It mirrors the
+ * {@link DerivedResourceMarkers derived resource markers}, which record each installed marker here, so builds don't
+ * have to scan the output folders for markers.
+ *
+ * The index of a project is persisted after each build and deleted as soon as it is modified again. If there is no
+ * index for a project, e.g. after a crash, it is {@link #initialize(IProject, String, SetMultimap) recovered} from the
+ * markers. The index is only a hint, clients have to check the marker of a file before they delete it.
+ *
+ * A single instance is shared by all languages. It is registered as a resource change listener and discards the
+ * indexes of projects that are closed, deleted or renamed.
+ *
+ * @since 2.17
+ */
+@Singleton
+public class DerivedResourceIndex implements IResourceChangeListener {
+
+	private static final Logger LOG = Logger.getLogger(DerivedResourceIndex.class);
+
+	private static final int VERSION = 1;
+
+	protected static class ProjectIndex {
+		private final SetMultimap<String, IPath> derivedBySource = HashMultimap.create();
+		private final SetMultimap<IPath, String> sourcesByDerived = HashMultimap.create();
+		private boolean persisted;
+
+		protected void add(String source, IPath derived) {
+			derivedBySource.put(source, derived);
+			sourcesByDerived.put(derived, source);
+		}
+
+		protected void remove(String source, IPath derived) {
+			derivedBySource.remove(source, derived);
+			sourcesByDerived.remove(derived, source);
+		}
+	}
+
+	private final Map<String, ProjectIndex> indexes = Maps.newHashMap();
+
+	/**
+	 * Returns <code>true</code> if there is an index for the given project and generator, either in memory or
+	 * persisted.
+	 */
+	public synchronized boolean isAvailable(IProject project, String generatorId) {
+		return getIndex(project, generatorId) != null;
+	}
+
+	/**
+	 * Replaces the index of the given project and generator, e.g. with the information obtained from the markers.
+	 */
+	public synchronized void initialize(IProject project, String generatorId, SetMultimap<String, IFile> derivedResources) {
+		ProjectIndex index = new ProjectIndex();
+		for (Map.Entry<String, IFile> entry : derivedResources.entries()) {
+			index.add(entry.getKey(), entry.getValue().getFullPath());
+		}
+		indexes.put(getKey(project, generatorId), index);
+	}
+
+	/**
+	 * Returns a copy of the index of the given project and generator, restricted to the files that match the filter.
+	 * Files that no longer exist are omitted.
+	 */
+	public synchronized SetMultimap<String, IFile> getDerivedResources(IProject project, String generatorId, Predicate<IFile> filter) {
+		SetMultimap<String, IFile> result = HashMultimap.create();
+		ProjectIndex index = getIndex(project, generatorId);
+		if (index != null) {
+			IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+			for (Map.Entry<String, IPath> entry : index.derivedBySource.entries()) {
+				IFile file = root.getFile(entry.getValue());
+				if (file.exists() && filter.apply(file)) {
+					result.put(entry.getKey(), file);
+				}
+			}
+		}
+		return result;
+	}
+
+	public synchronized void add(IProject project, String generatorId, String source, IFile derived) {
+		ProjectIndex index = getModifiableIndex(project, generatorId);
+		if (index != null) {
+			index.add(source, derived.getFullPath());
+		}
+	}
+
+	public synchronized void remove(IProject project, String generatorId, String source, IFile derived) {
+		ProjectIndex index = getModifiableIndex(project, generatorId);
+		if (index != null) {
+			index.remove(source, derived.getFullPath());
+		}
+	}
+
+	/**
+	 * Discards the index of the given project and generator. The next build will recover it from the markers.
+	 */
+	public synchronized void invalidate(IProject project, String generatorId) {
+		indexes.remove(getKey(project, generatorId));
+		deletePersistedIndex(project, generatorId);
+	}
+
+	/**
+	 * Discards the indexes of all generators of the given project.
+	 */
+	public synchronized void invalidate(IProject project) {
+		String prefix = getKey(project, "");
+		Iterator<String> keys = indexes.keySet().iterator();
+		while (keys.hasNext()) {
+			if (keys.next().startsWith(prefix)) {
+				keys.remove();
+			}
+		}
+		File[] files = getPersistedIndexFiles(project);
+		if (files != null) {
+			for (File file : files) {
+				if (!file.delete()) {
+					LOG.warn("Couldn't delete " + file);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		if (event.getType() == IResourceChangeEvent.PRE_CLOSE || event.getType() == IResourceChangeEvent.PRE_DELETE) {
+			if (event.getResource() instanceof IProject) {
+				invalidate((IProject) event.getResource());
+			}
+		} else if (event.getType() == IResourceChangeEvent.POST_CHANGE && event.getDelta() != null) {
+			// a renamed project is reported as removed, without a preceding PRE_DELETE
+			for (IResourceDelta delta : event.getDelta().getAffectedChildren(IResourceDelta.REMOVED)) {
+				if (delta.getResource() instanceof IProject) {
+					invalidate((IProject) delta.getResource());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Persists the index of the given project and generator if it has been modified.
+	 */
+	public synchronized void save(IProject project, String generatorId) {
+		ProjectIndex index = indexes.get(getKey(project, generatorId));
+		File file = getIndexFile(project, generatorId);
+		if (index == null || index.persisted || file == null) {
+			return;
+		}
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(VERSION);
+			out.writeUTF(project.getName());
+			out.writeUTF(generatorId);
+			out.writeInt(index.derivedBySource.size());
+			for (Map.Entry<String, IPath> entry : index.derivedBySource.entries()) {
+				out.writeUTF(entry.getKey());
+				out.writeUTF(entry.getValue().toString());
+			}
+			index.persisted = true;
+		} catch (IOException e) {
+			LOG.error("Error saving derived resource index of " + project.getName(), e);
+			file.delete();
+		}
+	}
+
+	protected ProjectIndex getIndex(IProject project, String generatorId) {
+		String key = getKey(project, generatorId);
+		ProjectIndex index = indexes.get(key);
+		if (index == null) {
+			index = load(project, generatorId);
+			if (index != null) {
+				indexes.put(key, index);
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * The persisted index becomes stale as soon as the index is modified, so it is deleted.
+	 */
+	protected ProjectIndex getModifiableIndex(IProject project, String generatorId) {
+		ProjectIndex index = getIndex(project, generatorId);
+		if (index != null && index.persisted) {
+			deletePersistedIndex(project, generatorId);
+			index.persisted = false;
+		}
+		return index;
+	}
+
+	protected ProjectIndex load(IProject project, String generatorId) {
+		File file = getIndexFile(project, generatorId);
+		if (file == null || !file.exists()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION || !project.getName().equals(in.readUTF()) || !generatorId.equals(in.readUTF())) {
+				return null;
+			}
+			ProjectIndex result = new ProjectIndex();
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				result.add(in.readUTF(), new Path(in.readUTF()));
+			}
+			result.persisted = true;
+			return result;
+		} catch (IOException e) {
+			LOG.warn("Error loading derived resource index of " + project.getName() + ", falling back to markers", e);
+			return null;
+		}
+	}
+
+	private void deletePersistedIndex(IProject project, String generatorId) {
+		File file = getIndexFile(project, generatorId);
+		if (file != null && file.exists() && !file.delete()) {
+			LOG.warn("Couldn't delete " + file);
+		}
+	}
+
+	protected File getIndexFile(IProject project, String generatorId) {
+		Activator activator = Activator.getDefault();
+		if (activator == null) {
+			return null;
+		}
+		String name = getIndexFilePrefix(project) + Integer.toHexString(generatorId.hashCode()) + ".index";
+		return activator.getStateLocation().append(name).toFile();
+	}
+
+	/**
+	 * Returns the persisted indexes of the given project, and possibly some of a project whose name has the same hash
+	 * code. Discarding those is harmless, since they are recovered from the markers.
+	 */
+	private File[] getPersistedIndexFiles(IProject project) {
+		Activator activator = Activator.getDefault();
+		if (activator == null) {
+			return null;
+		}
+		final String prefix = getIndexFilePrefix(project);
+		return activator.getStateLocation().toFile().listFiles((File dir, String name) -> name.startsWith(prefix));
+	}
+
+	private String getIndexFilePrefix(IProject project) {
+		return "derived-" + Integer.toHexString(project.getName().hashCode()) + "-";
+	}
+
+	private String getKey(IProject project, String generatorId) {
+		return project.getName() + '\u0000' + generatorId;
+	}
+
+}
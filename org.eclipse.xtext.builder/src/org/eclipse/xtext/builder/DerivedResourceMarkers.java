@@ -50,6 +50,9 @@ public class DerivedResourceMarkers implements IDerivedResourceMarkers {
 	@Inject
 	private GeneratorIdProvider generatorIdProvider;
 	
+	@Inject
+	private DerivedResourceIndex derivedResourceIndex;
+	
 	/**
 	 * @since 2.3
 	 */
@@ -175,9 +178,14 @@ public class DerivedResourceMarkers implements IDerivedResourceMarkers {
 		return installMarker(file, generatorIdProvider.getGeneratorIdentifier(), source);
 	}
 	
+	/**
+	 * Installs the marker and records the file in the {@link DerivedResourceIndex}, so builds that look up the derived
+	 * resources in the index find it, too.
+	 */
 	public boolean installMarker(IFile file, String generator, String source) throws CoreException {
 		if (!file.exists())
 			return false;
+		derivedResourceIndex.add(file.getProject(), generator, source, file);
 		IMarker[] markers = file.findMarkers(MARKER_ID, true, IResource.DEPTH_INFINITE);
 		for (IMarker marker : markers) {
 			if (generator.equals(marker.getAttribute(ATTR_GENERATOR))
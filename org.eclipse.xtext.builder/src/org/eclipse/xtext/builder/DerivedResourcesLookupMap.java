@@ -46,4 +46,11 @@ public class DerivedResourcesLookupMap extends ForwardingMap<OutputConfiguration
 		return Collections.emptySet();
 	}
 
+	/**
+	 * @since 2.17
+	 */
+	public SetMultimap<String, IFile> getReverseLookupMap() {
+		return reverseLookupMap;
+	}
+
 }
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Describes the back pressure of the queue that hands file system access requests from the generator threads to the
+ * builder thread: the maximum queue depth, the time the generators were stalled because the queue was full, and how
+ * many requests were written in how many batches.
+ *
+ * Instances are thread safe.
+ *
+ * @since 2.17
+ */
+public class FileSystemAccessQueueStatistics {
+
+	private final AtomicInteger maxQueueDepth = new AtomicInteger();
+	private final AtomicLong stallNanos = new AtomicLong();
+	private final AtomicLong stalls = new AtomicLong();
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+
+	public void recordQueueDepth(int depth) {
+		int current = maxQueueDepth.get();
+		while (depth > current && !maxQueueDepth.compareAndSet(current, depth)) {
+			current = maxQueueDepth.get();
+		}
+	}
+
+	public void recordStall(long nanos) {
+		stalls.incrementAndGet();
+		stallNanos.addAndGet(nanos);
+	}
+
+	public void recordBatch(int size) {
+		batches.incrementAndGet();
+		requests.addAndGet(size);
+	}
+
+	public int getMaxQueueDepth() {
+		return maxQueueDepth.get();
+	}
+
+	public long getStallCount() {
+		return stalls.get();
+	}
+
+	public long getStallTime(TimeUnit unit) {
+		return unit.convert(stallNanos.get(), TimeUnit.NANOSECONDS);
+	}
+
+	public long getRequestCount() {
+		return requests.get();
+	}
+
+	public long getBatchCount() {
+		return batches.get();
+	}
+
+	@Override
+	public String toString() {
+		return "wrote " + getRequestCount() + " requests in " + getBatchCount() + " batches"
+				+ ", max queue depth " + getMaxQueueDepth()
+				+ ", generators stalled " + getStallCount() + " times for " + getStallTime(TimeUnit.MILLISECONDS) + "ms";
+	}
+}
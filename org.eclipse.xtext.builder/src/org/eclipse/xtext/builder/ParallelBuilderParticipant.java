@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
@@ -13,6 +14,9 @@ import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
@@ -38,6 +42,7 @@ import org.eclipse.xtext.resource.IResourceDescription.Delta;
 import org.eclipse.xtext.util.CancelIndicator;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ForwardingBlockingQueue;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
@@ -159,9 +164,63 @@ public class ParallelBuilderParticipant extends BuilderParticipant {
 		
 	}
 	
+	/**
+	 * Measures how long generator threads are blocked because the queue is full, and the maximum queue depth.
+	 */
+	private static final class MeasuringBlockingQueue extends ForwardingBlockingQueue<FileSystemAccessRequest> {
+
+		private final BlockingQueue<FileSystemAccessRequest> delegate;
+		private final FileSystemAccessQueueStatistics statistics;
+
+		MeasuringBlockingQueue(BlockingQueue<FileSystemAccessRequest> delegate, FileSystemAccessQueueStatistics statistics) {
+			this.delegate = delegate;
+			this.statistics = statistics;
+		}
+
+		@Override
+		protected BlockingQueue<FileSystemAccessRequest> delegate() {
+			return delegate;
+		}
+
+		@Override
+		public void put(FileSystemAccessRequest request) throws InterruptedException {
+			if (!delegate.offer(request)) {
+				long start = System.nanoTime();
+				try {
+					delegate.put(request);
+				} finally {
+					statistics.recordStall(System.nanoTime() - start);
+				}
+			}
+			statistics.recordQueueDepth(delegate.size());
+		}
+	}
+
 	private static final int QUEUE_CAPACITY = 50;
 	
-	private static final int QUEUE_POLL_TIMEOUT = 50;
+	private static final int CANCEL_CHECK_INTERVAL = 200;
+
+	private static final int MAX_BATCH_SIZE = QUEUE_CAPACITY;
+
+	/**
+	 * Marker that is put on the request queue when all generators are done.
+	 */
+	private static final FileSystemAccessRequest GENERATION_DONE = new FileSystemAccessRequest(null, new Runnable() {
+		@Override
+		public void run() {
+		}
+	});
+
+	private volatile FileSystemAccessQueueStatistics statistics = new FileSystemAccessQueueStatistics();
+
+	/**
+	 * Returns the queue statistics of the running or the last parallel build.
+	 * 
+	 * @since 2.17
+	 */
+	public FileSystemAccessQueueStatistics getStatistics() {
+		return statistics;
+	}
 
 	/**
 	 * @see #handleChangedContents(ParallelBuildContext, IFileSystemAccess2)
@@ -192,7 +251,10 @@ public class ParallelBuilderParticipant extends BuilderParticipant {
 			IBuildContext context,
 			EclipseResourceFileSystemAccess2 access, 
 			IProgressMonitor progressMonitor) throws CoreException {
-		BlockingQueue<FileSystemAccessRequest> requestQueue = newBlockingQueue(QUEUE_CAPACITY);
+		final FileSystemAccessQueueStatistics statistics = new FileSystemAccessQueueStatistics();
+		this.statistics = statistics;
+		final BlockingQueue<FileSystemAccessRequest> requestQueue = new MeasuringBlockingQueue(
+				this.<FileSystemAccessRequest>newBlockingQueue(QUEUE_CAPACITY), statistics);
 		// This queue is only used from the current thread
 		// thus there is no need for a blocking queue. The add operation should also not block the
 		// builder thread
@@ -225,10 +287,23 @@ public class ParallelBuilderParticipant extends BuilderParticipant {
 			}
 			
 			ListenableFuture<List<Object>> generatorResult = Futures.successfulAsList(tasks);
+			// wake up the builder thread as soon as the generators are done
+			generatorResult.addListener(new Runnable() {
+				@Override
+				public void run() {
+					requestQueue.offer(GENERATION_DONE);
+				}
+			}, new Executor() {
+				@Override
+				public void execute(Runnable command) {
+					command.run();
+				}
+			});
 			
-			List<org.eclipse.xtext.xbase.lib.Pair<URI, Throwable>> exceptions = Lists.newArrayList();
+			final List<org.eclipse.xtext.xbase.lib.Pair<URI, Throwable>> exceptions = Lists.newArrayList();
 			boolean interrupted = false;
 			try {
+				final List<FileSystemAccessRequest> batch = Lists.newArrayListWithCapacity(MAX_BATCH_SIZE);
 				while (!requestQueue.isEmpty() || !generatorResult.isDone()) {
 					if (subMonitor.isCanceled()) {
 						cancelProcessing(requestQueue, afterGenerateQueue, generatorResult);
@@ -237,22 +312,21 @@ public class ParallelBuilderParticipant extends BuilderParticipant {
 	
 					FileSystemAccessRequest request = null;
 					try {
-						request = requestQueue.poll(QUEUE_POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+						// the timeout is only needed to check the monitor for cancellation
+						request = requestQueue.poll(CANCEL_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
 					} catch (InterruptedException e) {
 						interrupted = true;
 					}
-					if (request != null) {
+					if (request != null && request != GENERATION_DONE) {
+						batch.add(request);
+						requestQueue.drainTo(batch, MAX_BATCH_SIZE - 1);
 						try {
-							request.run();
+							runBatch(batch, exceptions);
 						} catch (OperationCanceledException e) {
 							cancelProcessing(requestQueue, afterGenerateQueue, generatorResult);
 							throw e;
-						} catch (Exception e) {
-							Throwable cause = e;
-							if (cause instanceof CoreException) {
-								cause = cause.getCause();
-							}
-							exceptions.add(org.eclipse.xtext.xbase.lib.Pair.of(request.getUri(), cause));
+						} finally {
+							batch.clear();
 						}
 					}
 				}
@@ -263,6 +337,9 @@ public class ParallelBuilderParticipant extends BuilderParticipant {
 				for (org.eclipse.xtext.xbase.lib.Pair<URI, Throwable> exception : exceptions) {
 					addMarkerAndLogError(exception.getKey(), exception.getValue());
 				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Parallel generation " + statistics);
+				}
 			}
 		} finally {
 			observableAdapters.removeListener(tripwire);
@@ -270,6 +347,47 @@ public class ParallelBuilderParticipant extends BuilderParticipant {
 		}
 	}
 
+	/**
+	 * Runs the given file system access requests in a single workspace operation, so resource change notifications are
+	 * only sent once for the whole batch. Failures of single requests are added to the given exceptions.
+	 * 
+	 * @since 2.17
+	 */
+	protected void runBatch(final List<FileSystemAccessRequest> batch,
+			final List<org.eclipse.xtext.xbase.lib.Pair<URI, Throwable>> exceptions) {
+		IWorkspaceRunnable runnable = new IWorkspaceRunnable() {
+			@Override
+			public void run(IProgressMonitor monitor) throws CoreException {
+				int size = 0;
+				for (FileSystemAccessRequest request : batch) {
+					if (request == GENERATION_DONE) {
+						continue;
+					}
+					size++;
+					try {
+						request.run();
+					} catch (OperationCanceledException e) {
+						throw e;
+					} catch (Exception e) {
+						Throwable cause = e;
+						if (cause instanceof CoreException) {
+							cause = cause.getCause();
+						}
+						exceptions.add(org.eclipse.xtext.xbase.lib.Pair.of(request.getUri(), cause));
+					}
+				}
+				if (size > 0) {
+					statistics.recordBatch(size);
+				}
+			}
+		};
+		try {
+			ResourcesPlugin.getWorkspace().run(runnable, null, IWorkspace.AVOID_UPDATE, null);
+		} catch (CoreException e) {
+			logger.error("Error writing generated files", e);
+		}
+	}
+
 	private void cancelProcessing(BlockingQueue<FileSystemAccessRequest> requestQueue, Queue<ParallelBuildContext> afterGenerateQueue, ListenableFuture<?> generatorResult) {
 		// make sure waiting put on the queue are processed by freeing space in the queue
 		requestQueue.clear();
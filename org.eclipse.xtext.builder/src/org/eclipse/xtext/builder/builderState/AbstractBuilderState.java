@@ -21,6 +21,7 @@ import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtext.builder.impl.BuildData;
+import org.eclipse.xtext.builder.impl.SharedSourceLevelURICache;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
@@ -30,6 +31,7 @@ import org.eclipse.xtext.resource.impl.ResourceDescriptionChangeEvent;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.ui.resource.IStorage2UriMapper;
 import org.eclipse.xtext.ui.resource.IStorage2UriMapperExtension;
+import org.eclipse.xtext.ui.util.StartupTracer;
 
 import com.google.common.collect.ImmutableList;
 import com.google.inject.Inject;
@@ -41,7 +43,7 @@ import com.google.inject.Inject;
 public abstract class AbstractBuilderState extends AbstractResourceDescriptionChangeEventSource implements
 		IBuilderState {
 
-	private volatile ResourceDescriptionsData resourceDescriptionData = new ResourceDescriptionsData(
+	private volatile ResourceDescriptionsData resourceDescriptionData = new CopyOnWriteResourceDescriptionsData(
 			Collections.<IResourceDescription> emptyList());
 
 	@Inject
@@ -53,11 +55,16 @@ public abstract class AbstractBuilderState extends AbstractResourceDescriptionCh
 	@Inject
 	private IStorage2UriMapper storage2UriMapper;
 
+	@Inject
+	private SharedSourceLevelURICache sourceLevelURICache;
+
 	private volatile boolean isLoaded = false;
 
 	public synchronized void load() {
 		if (!isLoaded) {
-			resourceDescriptionData = new ResourceDescriptionsData(persister.load());
+			try (StartupTracer.Phase phase = StartupTracer.start("Load the builder state")) {
+				resourceDescriptionData = new CopyOnWriteResourceDescriptionsData(persister.load());
+			}
 			if(storage2UriMapper instanceof IStorage2UriMapperExtension)
 				((IStorage2UriMapperExtension) storage2UriMapper).initializeCache();
 			isLoaded = true;
@@ -82,6 +89,15 @@ public abstract class AbstractBuilderState extends AbstractResourceDescriptionCh
 		markerUpdater.updateMarkers(delta, resourceSet, monitor);
 	}
 
+	/**
+	 * The classification of URIs as sources or archives that is kept across builds.
+	 * 
+	 * @since 2.17
+	 */
+	protected SharedSourceLevelURICache getSourceLevelURICache() {
+		return sourceLevelURICache;
+	}
+
 	protected ResourceDescriptionsData getCopiedResourceDescriptionsData() {
 		return resourceDescriptionData.copy();
 	}
@@ -112,6 +128,7 @@ public abstract class AbstractBuilderState extends AbstractResourceDescriptionCh
 		if (monitor.isCanceled())
 			throw new OperationCanceledException();
 
+		sourceLevelURICache.invalidate(buildData.getToBeDeleted());
 		final ResourceDescriptionsData newData = getCopiedResourceDescriptionsData();
 		final Collection<IResourceDescription.Delta> result = doUpdate(buildData, newData, subMonitor.split(1));
 
@@ -141,6 +158,7 @@ public abstract class AbstractBuilderState extends AbstractResourceDescriptionCh
 		if (monitor.isCanceled())
 			throw new OperationCanceledException();
 		Collection<IResourceDescription.Delta> deltas = doClean(toBeRemoved, subMonitor.split(1));
+		sourceLevelURICache.invalidate(toBeRemoved);
 
 		final ResourceDescriptionsData newData = getCopiedResourceDescriptionsData();
 		if (monitor.isCanceled())
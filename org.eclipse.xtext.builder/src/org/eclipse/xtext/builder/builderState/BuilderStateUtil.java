@@ -9,15 +9,24 @@ package org.eclipse.xtext.builder.builderState;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.InternalEList;
 import org.eclipse.xtext.builder.builderState.impl.EObjectDescriptionImpl;
 import org.eclipse.xtext.builder.builderState.impl.ReferenceDescriptionImpl;
 import org.eclipse.xtext.builder.builderState.impl.ResourceDescriptionImpl;
 import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IReferenceDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.util.ITextRegion;
+import org.eclipse.xtext.util.TextRegion;
 
 /**
  * @author Sven Efftinge - Initial contribution and API
@@ -36,6 +45,58 @@ public class BuilderStateUtil {
 		return result;
 	}
 
+	/**
+	 * Copies the description of the given loaded resource. The copied reference descriptions also record the text
+	 * region of the reference, if it can be obtained from the node model.
+	 * 
+	 * @see TextRegionAwareReferenceDescription
+	 * @since 2.17
+	 */
+	public static ResourceDescriptionImpl create(IResourceDescription desc, Resource resource) {
+		if (desc instanceof ResourceDescriptionImpl || !(resource instanceof XtextResource)
+				|| ((XtextResource) resource).getParseResult() == null)
+			return create(desc);
+		ResourceDescriptionImpl result = (ResourceDescriptionImpl) BuilderStateFactory.eINSTANCE.createResourceDescription();
+		result.setURI(desc.getURI());
+		copyExportedObject(desc, result);
+		Iterator<IReferenceDescription> sourceReferenceDescriptions = desc.getReferenceDescriptions().iterator();
+		if (sourceReferenceDescriptions.hasNext()) {
+			InternalEList<IReferenceDescription> targetReferenceDescriptions = (InternalEList<IReferenceDescription>) result.getReferenceDescriptions();
+			do {
+				IReferenceDescription referenceDescription = sourceReferenceDescriptions.next();
+				targetReferenceDescriptions.addUnique(BuilderStateUtil.create(referenceDescription, getTextRegion(resource, referenceDescription)));
+			} while(sourceReferenceDescriptions.hasNext());
+		}
+		copyImportedNames(desc, result);
+		return result;
+	}
+
+	/**
+	 * Returns the region of the node of the given reference, or <code>null</code> if it is not unambiguously known.
+	 */
+	private static ITextRegion getTextRegion(Resource resource, IReferenceDescription desc) {
+		EReference reference = desc.getEReference();
+		if (desc.getSourceEObjectUri() == null || reference == null)
+			return null;
+		EObject source = resource.getEObject(desc.getSourceEObjectUri().fragment());
+		if (source == null || !reference.getEContainingClass().isInstance(source))
+			return null;
+		List<INode> nodes = NodeModelUtils.findNodesForFeature(source, reference);
+		INode node;
+		if (reference.isMany()) {
+			int index = desc.getIndexInList();
+			// values that are not written in the text would shift the indexes
+			if (index < 0 || index >= nodes.size() || nodes.size() != ((List<?>) source.eGet(reference, false)).size())
+				return null;
+			node = nodes.get(index);
+		} else {
+			if (nodes.size() != 1)
+				return null;
+			node = nodes.get(0);
+		}
+		return new TextRegion(node.getOffset(), node.getLength());
+	}
+
 	public static void copyImportedNames(IResourceDescription from, ResourceDescriptionImpl result) {
 		Iterable<QualifiedName> importedNames = from.getImportedNames();
 		if (importedNames instanceof Collection<?>) {
@@ -76,7 +137,17 @@ public class BuilderStateUtil {
 	}
 	
 	public static ReferenceDescriptionImpl create(IReferenceDescription desc) {
-		ReferenceDescriptionImpl description = (ReferenceDescriptionImpl) BuilderStateFactory.eINSTANCE.createReferenceDescription();
+		return create(desc, null);
+	}
+
+	/**
+	 * @param textRegion the region of the reference in the text of the referring resource, may be <code>null</code>.
+	 * @since 2.17
+	 */
+	public static ReferenceDescriptionImpl create(IReferenceDescription desc, ITextRegion textRegion) {
+		ReferenceDescriptionImpl description = textRegion != null 
+				? new TextRegionAwareReferenceDescription(textRegion.getOffset(), textRegion.getLength())
+				: (ReferenceDescriptionImpl) BuilderStateFactory.eINSTANCE.createReferenceDescription();
 		description.setIndexInList(desc.getIndexInList());
 		description.setSourceEObjectUri(desc.getSourceEObjectUri());
 		description.setTargetEObjectUri(desc.getTargetEObjectUri());
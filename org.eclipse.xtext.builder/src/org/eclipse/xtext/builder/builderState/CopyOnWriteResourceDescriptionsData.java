@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.builderState;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescription.Delta;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+
+import com.google.common.base.Predicates;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * A {@link ResourceDescriptionsData} whose {@link #copy() copies} share their state with the original one. The
+ * descriptions and the name lookup are split into a fixed number of shards. A copy only copies the shards that it
+ * modifies, so deriving the index of a build costs the shards that are touched by its changes instead of the whole
+ * index.
+ *
+ * Like its super type, an instance must not be modified concurrently. The original may still be read by other
+ * threads while its copy is modified.
+ *
+ * @since 2.17
+ */
+public class CopyOnWriteResourceDescriptionsData extends ResourceDescriptionsData {
+
+	private final ShardedMap<URI, IResourceDescription> descriptionMap;
+
+	private final ShardedMap<QualifiedName, Object> lookupMap;
+
+	public CopyOnWriteResourceDescriptionsData(Iterable<IResourceDescription> descriptions) {
+		this(new ShardedMap<URI, IResourceDescription>(UnaryOperator.identity()),
+				new ShardedMap<QualifiedName, Object>(CopyOnWriteResourceDescriptionsData::copyLookupValue));
+		for (IResourceDescription description : descriptions) {
+			addDescription(description.getURI(), description);
+		}
+	}
+
+	private CopyOnWriteResourceDescriptionsData(ShardedMap<URI, IResourceDescription> descriptionMap,
+			ShardedMap<QualifiedName, Object> lookupMap) {
+		super(descriptionMap, lookupMap);
+		this.descriptionMap = descriptionMap;
+		this.lookupMap = lookupMap;
+	}
+
+	/**
+	 * The lookup map holds a set of descriptions for names that are exported by more than one resource. Such a set is
+	 * modified in place, thus it must not be shared between copies.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Object copyLookupValue(Object value) {
+		if (value instanceof Set<?>) {
+			return Sets.newLinkedHashSet((Set<Object>) value);
+		}
+		return value;
+	}
+
+	@Override
+	public ResourceDescriptionsData copy() {
+		return new CopyOnWriteResourceDescriptionsData(descriptionMap.copy(), lookupMap.copy());
+	}
+
+	@Override
+	public void addDescription(URI uri, IResourceDescription newDescription) {
+		beginModification();
+		try {
+			super.addDescription(uri, newDescription);
+		} finally {
+			endModification();
+		}
+	}
+
+	@Override
+	public void removeDescription(URI uri) {
+		beginModification();
+		try {
+			super.removeDescription(uri);
+		} finally {
+			endModification();
+		}
+	}
+
+	@Override
+	public void register(Delta delta) {
+		beginModification();
+		try {
+			super.register(delta);
+		} finally {
+			endModification();
+		}
+	}
+
+	/**
+	 * The values that are read while the data is modified may be modified in place. Hence their shards are copied
+	 * before they are read.
+	 */
+	private void beginModification() {
+		descriptionMap.modifications++;
+		lookupMap.modifications++;
+	}
+
+	private void endModification() {
+		descriptionMap.modifications--;
+		lookupMap.modifications--;
+	}
+
+	/**
+	 * A map that is split into shards which are shared with its copies. A shard is copied when it is modified for the
+	 * first time after the map was copied. The map does not support <code>null</code> values and its views are read
+	 * only.
+	 */
+	private static class ShardedMap<K, V> extends AbstractMap<K, V> {
+
+		private static final int SHARD_BITS = 10;
+
+		private static final int SHARDS = 1 << SHARD_BITS;
+
+		private final Map<K, V>[] shards;
+
+		/**
+		 * The shards that were copied by this map and are not shared with another one.
+		 */
+		private final BitSet ownedShards = new BitSet(SHARDS);
+
+		private final UnaryOperator<V> valueCopier;
+
+		private int size;
+
+		private int modifications;
+
+		@SuppressWarnings("unchecked")
+		ShardedMap(UnaryOperator<V> valueCopier) {
+			this((Map<K, V>[]) new Map<?, ?>[SHARDS], 0, valueCopier);
+		}
+
+		private ShardedMap(Map<K, V>[] shards, int size, UnaryOperator<V> valueCopier) {
+			this.shards = shards;
+			this.size = size;
+			this.valueCopier = valueCopier;
+		}
+
+		ShardedMap<K, V> copy() {
+			// the shards are shared from now on, so neither this map nor the copy may modify them
+			ownedShards.clear();
+			return new ShardedMap<K, V>(shards.clone(), size, valueCopier);
+		}
+
+		private int shardIndex(Object key) {
+			// use the high bits of the hash, the shards use the low ones
+			return (key.hashCode() * 0x9E3779B9) >>> (Integer.SIZE - SHARD_BITS);
+		}
+
+		private Map<K, V> getShardForWrite(Object key) {
+			int index = shardIndex(key);
+			Map<K, V> shard = shards[index];
+			if (!ownedShards.get(index)) {
+				Map<K, V> copy = Maps.newHashMapWithExpectedSize(shard != null ? shard.size() + 1 : 1);
+				if (shard != null) {
+					for (Map.Entry<K, V> entry : shard.entrySet()) {
+						copy.put(entry.getKey(), valueCopier.apply(entry.getValue()));
+					}
+				}
+				shards[index] = copy;
+				ownedShards.set(index);
+				shard = copy;
+			}
+			return shard;
+		}
+
+		@Override
+		public V get(Object key) {
+			if (modifications > 0) {
+				return getShardForWrite(key).get(key);
+			}
+			Map<K, V> shard = shards[shardIndex(key)];
+			return shard != null ? shard.get(key) : null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			Map<K, V> shard = shards[shardIndex(key)];
+			return shard != null && shard.containsKey(key);
+		}
+
+		@Override
+		public V put(K key, V value) {
+			V result = getShardForWrite(key).put(key, value);
+			if (result == null) {
+				size++;
+			}
+			return result;
+		}
+
+		@Override
+		public V remove(Object key) {
+			if (!containsKey(key)) {
+				return null;
+			}
+			size--;
+			return getShardForWrite(key).remove(key);
+		}
+
+		@Override
+		public void clear() {
+			Arrays.fill(shards, null);
+			ownedShards.clear();
+			size = 0;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public Set<Map.Entry<K, V>> entrySet() {
+			return new AbstractSet<Map.Entry<K, V>>() {
+				@Override
+				public Iterator<Map.Entry<K, V>> iterator() {
+					Iterator<Map<K, V>> nonEmptyShards = Iterators.filter(Iterators.forArray(shards), Predicates.notNull());
+					Iterator<Iterator<Map.Entry<K, V>>> entries = Iterators.transform(nonEmptyShards,
+							shard -> shard.entrySet().iterator());
+					return Iterators.unmodifiableIterator(Iterators.concat(entries));
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+	}
+
+}
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.builderState;
+
+import org.eclipse.xtext.builder.builderState.impl.ReferenceDescriptionImpl;
+import org.eclipse.xtext.ui.refactoring.ITextRegionAwareReferenceDescription;
+import org.eclipse.xtext.util.ITextRegion;
+import org.eclipse.xtext.util.TextRegion;
+
+/**
+ * A reference description of the builder state that also knows the text region of the reference. It is created by
+ * {@link BuilderStateUtil#create(org.eclipse.xtext.resource.IResourceDescription, org.eclipse.emf.ecore.resource.Resource)}
+ * while the referring resource is loaded for indexing.
+ * 
+ * The region is kept as two plain fields, so it adds as little as possible to the memory of the index. It is not
+ * persisted, so descriptions that are restored from the persisted builder state don't have one until their resource
+ * is built again.
+ * 
+ * @since 2.17
+ */
+public class TextRegionAwareReferenceDescription extends ReferenceDescriptionImpl implements ITextRegionAwareReferenceDescription {
+
+	private final int offset;
+
+	private final int length;
+
+	public TextRegionAwareReferenceDescription(ITextRegion textRegion) {
+		this(textRegion.getOffset(), textRegion.getLength());
+	}
+
+	public TextRegionAwareReferenceDescription(int offset, int length) {
+		this.offset = offset;
+		this.length = length;
+	}
+
+	@Override
+	public ITextRegion getTextRegion() {
+		return new TextRegion(offset, length);
+	}
+
+}
@@ -35,6 +35,7 @@ import org.eclipse.xtext.builder.builderState.BuilderStateUtil;
 import org.eclipse.xtext.builder.builderState.impl.ResourceDescriptionImpl;
 import org.eclipse.xtext.builder.debug.IBuildLogger;
 import org.eclipse.xtext.builder.impl.BuildData;
+import org.eclipse.xtext.builder.impl.SourceLevelURICache;
 import org.eclipse.xtext.builder.resourceloader.IResourceLoader;
 import org.eclipse.xtext.builder.resourceloader.IResourceLoader.LoadOperation;
 import org.eclipse.xtext.builder.resourceloader.IResourceLoader.LoadOperationException;
@@ -99,6 +100,9 @@ public class ClusteringBuilderState extends AbstractBuilderState {
     
     @Inject 
     private IBuildLogger buildLogger;
+
+    @Inject
+    private DependencyOrder dependencyOrder;
     
     /**
      * Actually do the build.
@@ -180,9 +184,10 @@ public class ClusteringBuilderState extends AbstractBuilderState {
         LoadOperation loadOperation = null;
         try {
             Queue<URI> queue = buildData.getURIQueue();
+            DependencyOrder.Ordering linkingOrder = createLinkingOrder(newState);
             
 			loadOperation = crossLinkingResourceLoader.create(resourceSet, currentProject);
-            loadOperation.load(queue);
+            loadOperation.load(sortForLinking(queue, linkingOrder));
 
             // Step 6: Iteratively got through the queue. For each resource, create a new resource description and queue all depending
             // resources that are not yet in the delta. Validate resources.
@@ -230,7 +235,7 @@ public class ClusteringBuilderState extends AbstractBuilderState {
                         	try {
 	                            EcoreUtil2.resolveLazyCrossReferences(resource, cancelMonitor);
 	                            final IResourceDescription description = manager.getResourceDescription(resource);
-	                            final IResourceDescription copiedDescription = BuilderStateUtil.create(description);
+	                            final IResourceDescription copiedDescription = BuilderStateUtil.create(description, resource);
 	                            newDelta = manager.createDelta(this.getResourceDescription(actualResourceURI), copiedDescription);
                         	} catch (OperationCanceledException e) {
                         		loadOperation.cancel();
@@ -300,7 +305,7 @@ public class ClusteringBuilderState extends AbstractBuilderState {
                 installSourceLevelURIs(buildData);
                 if(queue.size() > 0) {
                     loadOperation = crossLinkingResourceLoader.create(resourceSet, currentProject);
-                    loadOperation.load(queue);
+                    loadOperation.load(sortForLinking(queue, linkingOrder));
                 }
 
                 // Release memory
@@ -315,18 +320,43 @@ public class ClusteringBuilderState extends AbstractBuilderState {
         return allDeltas;
     }
 
+	/**
+	 * Returns the queued URIs in the order they should be loaded and linked. By default, resources are ordered such that
+	 * the resources they imported names from during the last build are processed first.
+	 *
+	 * @param linkingOrder
+	 *            the order that is used for all clusters of the current build, see {@link #createLinkingOrder(IResourceDescriptions)}.
+	 * @since 2.17
+	 */
+	protected Collection<URI> sortForLinking(Collection<URI> queue, DependencyOrder.Ordering linkingOrder) {
+		return linkingOrder.sort(queue);
+	}
+
+	/**
+	 * Creates the dependency order of a single build. It is computed for the initial queue and extended by the
+	 * resources that are queued later on, instead of being recomputed for each cluster.
+	 *
+	 * @since 2.17
+	 */
+	protected DependencyOrder.Ordering createLinkingOrder(IResourceDescriptions newState) {
+		return dependencyOrder.createOrdering(this, newState);
+	}
+
 	protected void installSourceLevelURIs(BuildData buildData) {
 		ResourceSet resourceSet = buildData.getResourceSet();
 		Iterable<URI> sourceLevelUris = Iterables.concat(buildData.getToBeUpdated(), buildData.getURIQueue());
 		Set<URI> sourceUris = newHashSet();
+		SourceLevelURICache cache = buildData.getSourceLevelURICache();
 		for (URI uri : sourceLevelUris) {
-			if (buildData.getSourceLevelURICache().getOrComputeIsSource(uri, resourceServiceProviderRegistry)) {
+			if (cache.getOrComputeIsSource(uri, resourceServiceProviderRegistry)) {
 				sourceUris.add(uri);
-				// unload resources loaded from storage previously
-				Resource resource = resourceSet.getResource(uri, false);
-				if (resource instanceof StorageAwareResource) {
-					if (((StorageAwareResource) resource).isLoadedFromStorage()) {
-						resource.unload();
+				// unload resources loaded from storage previously, once installed they are no longer loaded from storage
+				if (cache.markInstalled(uri)) {
+					Resource resource = resourceSet.getResource(uri, false);
+					if (resource instanceof StorageAwareResource) {
+						if (((StorageAwareResource) resource).isLoadedFromStorage()) {
+							resource.unload();
+						}
 					}
 				}
 			}
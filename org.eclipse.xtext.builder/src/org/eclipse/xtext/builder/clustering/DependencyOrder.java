@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.clustering;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
+
+/**
+ * Orders the build queue such that resources are loaded and linked after the resources they depend on.
+ *
+ * A resource depends on another queued resource if one of its imported names, as recorded in the previous index state,
+ * is exported by the other resource. The result is a topological order of that graph in which resources without any
+ * known dependency keep their relative order. Cycles are broken at a resource that is part of the cycle.
+ *
+ * The builder re-sorts its queue after each cluster. It uses an {@link Ordering} that computes the dependency order of
+ * the initially queued resources once and only ranks the resources that are queued later.
+ *
+ * @since 2.17
+ */
+public class DependencyOrder {
+
+	/**
+	 * @param uris
+	 *            the queued URIs.
+	 * @param previousState
+	 *            the index state before the build, used to obtain the imported names.
+	 * @param currentState
+	 *            the index state of the running build, used to obtain the exported names.
+	 * @return the URIs in dependency order.
+	 */
+	public List<URI> sort(Collection<URI> uris, IResourceDescriptions previousState, IResourceDescriptions currentState) {
+		return createOrdering(previousState, currentState).sort(uris);
+	}
+
+	/**
+	 * Creates an ordering that remembers the rank of every resource it has sorted, so it can be used for all sorts of a
+	 * single build.
+	 */
+	public Ordering createOrdering(IResourceDescriptions previousState, IResourceDescriptions currentState) {
+		return new Ordering(previousState, currentState);
+	}
+
+	/**
+	 * The dependency order of all resources that have been queued during a build so far. Resources that are sorted for
+	 * the first time are ranked after all known resources, in their own dependency order.
+	 */
+	public class Ordering {
+
+		private final IResourceDescriptions previousState;
+		private final IResourceDescriptions currentState;
+		private final Map<URI, Integer> ranks = Maps.newHashMap();
+		private final Map<QualifiedName, URI> exporters = Maps.newHashMap();
+
+		protected Ordering(IResourceDescriptions previousState, IResourceDescriptions currentState) {
+			this.previousState = previousState;
+			this.currentState = currentState;
+		}
+
+		/**
+		 * @return the given URIs in dependency order.
+		 */
+		public List<URI> sort(Collection<URI> uris) {
+			List<URI> queued = Lists.newArrayList(Sets.newLinkedHashSet(uris));
+			List<URI> unranked = Lists.newArrayList();
+			for (URI uri : queued) {
+				if (!ranks.containsKey(uri)) {
+					unranked.add(uri);
+				}
+			}
+			if (!unranked.isEmpty()) {
+				rank(unranked);
+			}
+			if (queued.size() > 1) {
+				Collections.sort(queued, new Comparator<URI>() {
+					@Override
+					public int compare(URI o1, URI o2) {
+						return Integer.compare(ranks.get(o1), ranks.get(o2));
+					}
+				});
+			}
+			return queued;
+		}
+
+		private void rank(List<URI> unranked) {
+			for (URI uri : unranked) {
+				IResourceDescription description = currentState.getResourceDescription(uri);
+				if (description != null) {
+					for (IEObjectDescription exported : description.getExportedObjects()) {
+						QualifiedName name = exported.getName().toLowerCase();
+						if (!exporters.containsKey(name)) {
+							exporters.put(name, uri);
+						}
+					}
+				}
+			}
+			Map<URI, Integer> inDegree = Maps.newHashMap();
+			Multimap<URI, URI> dependents = LinkedHashMultimap.create();
+			Multimap<URI, URI> dependencies = LinkedHashMultimap.create();
+			for (URI uri : unranked) {
+				inDegree.put(uri, 0);
+			}
+			for (URI uri : unranked) {
+				IResourceDescription description = previousState.getResourceDescription(uri);
+				if (description == null) {
+					continue;
+				}
+				for (QualifiedName importedName : description.getImportedNames()) {
+					URI exporter = exporters.get(importedName.toLowerCase());
+					// dependencies on resources that are already ranked are satisfied anyway
+					if (exporter != null && !exporter.equals(uri) && inDegree.containsKey(exporter)
+							&& dependents.put(exporter, uri)) {
+						dependencies.put(uri, exporter);
+						inDegree.put(uri, inDegree.get(uri) + 1);
+					}
+				}
+			}
+			int nextRank = ranks.size();
+			for (URI uri : topologicalOrder(unranked, inDegree, dependents, dependencies)) {
+				ranks.put(uri, nextRank++);
+			}
+		}
+	}
+
+	protected List<URI> topologicalOrder(List<URI> queued, Map<URI, Integer> inDegree, Multimap<URI, URI> dependents,
+			Multimap<URI, URI> dependencies) {
+		List<URI> result = Lists.newArrayListWithCapacity(queued.size());
+		Deque<URI> ready = new ArrayDeque<URI>();
+		for (URI uri : queued) {
+			if (inDegree.get(uri) == 0) {
+				ready.add(uri);
+			}
+		}
+		int next = 0;
+		while (result.size() < queued.size()) {
+			if (ready.isEmpty()) {
+				// all remaining resources are part of or depend on a cycle
+				while (inDegree.get(queued.get(next)) < 0) {
+					next++;
+				}
+				ready.add(findCycle(queued.get(next), inDegree, dependencies));
+			}
+			URI uri = ready.poll();
+			if (inDegree.get(uri) < 0) {
+				continue;
+			}
+			inDegree.put(uri, -1);
+			result.add(uri);
+			for (URI dependent : dependents.get(uri)) {
+				int degree = inDegree.get(dependent);
+				if (degree > 0) {
+					inDegree.put(dependent, degree - 1);
+					if (degree == 1) {
+						ready.add(dependent);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Follows the unprocessed dependencies of the given resource until a resource is visited twice. That resource is
+	 * part of a cycle.
+	 */
+	private URI findCycle(URI start, Map<URI, Integer> inDegree, Multimap<URI, URI> dependencies) {
+		Set<URI> visited = Sets.newHashSet();
+		URI current = start;
+		while (visited.add(current)) {
+			URI unprocessed = null;
+			for (URI dependency : dependencies.get(current)) {
+				if (inDegree.get(dependency) >= 0) {
+					unprocessed = dependency;
+					break;
+				}
+			}
+			if (unprocessed == null) {
+				return current;
+			}
+			current = unprocessed;
+		}
+		return current;
+	}
+
+}
@@ -14,6 +14,7 @@ import org.eclipse.ui.console.ConsolePlugin
 import org.eclipse.ui.console.IConsoleFactory
 import org.eclipse.ui.console.IOConsole
 import org.eclipse.xtext.builder.internal.Activator
+import org.eclipse.xtext.ui.util.StartupTracer
 
 import static extension com.google.common.base.Throwables.*
 
@@ -38,7 +39,10 @@ class XtextBuildConsole extends IOConsole {
 	static class Factory implements IConsoleFactory {
 		override void openConsole() {
 			var consoleManager = ConsolePlugin.^default.consoleManager
-			consoleManager.addConsoles(#[new XtextBuildConsole()])
+			val console = new XtextBuildConsole()
+			consoleManager.addConsoles(#[console])
+			if (StartupTracer.isEnabled)
+				console.println(StartupTracer.report)
 		}
 	}
 	
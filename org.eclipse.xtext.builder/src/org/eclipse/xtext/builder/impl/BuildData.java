@@ -32,12 +32,20 @@ public class BuildData {
 	}
 	
 	public BuildData(String projectName, ResourceSet resourceSet, ToBeBuilt toBeBuilt, QueuedBuildData queuedBuildData, boolean indexingOnly) {
+		this(projectName, resourceSet, toBeBuilt, queuedBuildData, indexingOnly, new SourceLevelURICache());
+	}
+
+	/**
+	 * @since 2.17
+	 */
+	public BuildData(String projectName, ResourceSet resourceSet, ToBeBuilt toBeBuilt, QueuedBuildData queuedBuildData,
+			boolean indexingOnly, SourceLevelURICache sourceLevelURICache) {
 		this.projectName = projectName;
 		this.resourceSet = resourceSet;
 		this.toBeBuilt = toBeBuilt;
 		this.queuedBuildData = queuedBuildData;
 		this.indexingOnly = indexingOnly;
-		this.sourceLevelURICache = new SourceLevelURICache();
+		this.sourceLevelURICache = sourceLevelURICache;
 	}
 
 	public boolean isEmpty() {
@@ -86,6 +86,11 @@ public class LinkedHashSetQueue<T> extends AbstractQueue<T> {
 	public boolean contains(Object o) {
 		return data.contains(o);
 	}
+
+	@Override
+	public boolean remove(Object o) {
+		return data.remove(o);
+	}
 	
 	@Override
 	public boolean containsAll(Collection<?> c) {
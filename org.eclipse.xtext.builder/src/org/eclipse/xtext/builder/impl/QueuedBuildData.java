@@ -328,6 +328,17 @@ public class QueuedBuildData {
 				return uris.peek();
 			}
 
+			@Override
+			public boolean remove(Object o) {
+				boolean removed = uris.remove(o);
+				return list.remove(o) || removed;
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return uris.contains(o) || list.contains(o);
+			}
+
 			@Override
 			public Iterator<URI> iterator() {
 				return Iterators.concat(uris.iterator(), list.iterator());
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.impl;
+
+import java.util.Map;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.IResourceServiceProviderExtension;
+
+import com.google.common.collect.Maps;
+import com.google.inject.Singleton;
+
+/**
+ * Remembers whether a URI denotes a source or an archive across builds, so each build only has to ask the
+ * {@link IResourceServiceProvider resource service providers} about URIs it has not seen before.
+ *
+ * The classification is kept per project, since it depends on the accessibility and the classpath of the project that
+ * contains the URI. The builder state invalidates the entries of deleted resources, and the builder invalidates the
+ * entries of a project on its full and clean builds. The cache is registered as a resource change listener and
+ * invalidates the entries of projects that are opened, closed, deleted or whose description changed. Classpath and
+ * output folder changes are reported by the
+ * {@link org.eclipse.xtext.builder.impl.javasupport.ProjectClasspathChangeListener}. URIs that don't belong to a
+ * project, e.g. those of external archives, are invalidated together with any project.
+ *
+ * @since 2.17
+ */
+@Singleton
+public class SharedSourceLevelURICache implements IResourceChangeListener {
+
+	private static final String NO_PROJECT = "";
+
+	private static final String PLATFORM_RESOURCE = "platform:/resource/";
+
+	private final Map<String, Map<URI, Boolean>> classifications = Maps.newHashMap();
+
+	private long generation;
+
+	public boolean getOrComputeIsSource(URI uri, IResourceServiceProvider.Registry resourceServiceProviderRegistry) {
+		String projectName = getProjectName(uri);
+		long computedGeneration;
+		synchronized (this) {
+			Map<URI, Boolean> projectClassifications = classifications.get(projectName);
+			if (projectClassifications != null) {
+				Boolean result = projectClassifications.get(uri);
+				if (result != null) {
+					return result.booleanValue();
+				}
+			}
+			computedGeneration = generation;
+		}
+		boolean isSource = computeIsSource(uri, resourceServiceProviderRegistry);
+		synchronized (this) {
+			// a project may have changed in the meantime, so the result may be outdated
+			if (computedGeneration == generation) {
+				Map<URI, Boolean> projectClassifications = classifications.get(projectName);
+				if (projectClassifications == null) {
+					projectClassifications = Maps.newHashMap();
+					classifications.put(projectName, projectClassifications);
+				}
+				projectClassifications.put(uri, isSource);
+			}
+		}
+		return isSource;
+	}
+
+	protected boolean computeIsSource(URI uri, IResourceServiceProvider.Registry resourceServiceProviderRegistry) {
+		IResourceServiceProvider provider = resourceServiceProviderRegistry.getResourceServiceProvider(uri);
+		if (provider instanceof IResourceServiceProviderExtension) {
+			return ((IResourceServiceProviderExtension) provider).isSource(uri);
+		}
+		return true;
+	}
+
+	public synchronized void invalidate(Iterable<URI> uris) {
+		for (URI uri : uris) {
+			Map<URI, Boolean> projectClassifications = classifications.get(getProjectName(uri));
+			if (projectClassifications != null) {
+				projectClassifications.remove(uri);
+			}
+		}
+	}
+
+	/**
+	 * Forgets the classification of all URIs of the given project and of all URIs that don't belong to a project.
+	 */
+	public synchronized void invalidate(IProject project) {
+		generation++;
+		classifications.remove(project.getName());
+		classifications.remove(NO_PROJECT);
+	}
+
+	/**
+	 * Forgets the classification of all URIs.
+	 */
+	public synchronized void clear() {
+		generation++;
+		classifications.clear();
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		if (event.getType() == IResourceChangeEvent.PRE_CLOSE || event.getType() == IResourceChangeEvent.PRE_DELETE) {
+			if (event.getResource() instanceof IProject) {
+				invalidate((IProject) event.getResource());
+			}
+		} else if (event.getType() == IResourceChangeEvent.POST_CHANGE && event.getDelta() != null) {
+			for (IResourceDelta delta : event.getDelta().getAffectedChildren()) {
+				if (delta.getResource() instanceof IProject && (delta.getKind() != IResourceDelta.CHANGED
+						|| (delta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0)) {
+					invalidate((IProject) delta.getResource());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the name of the project that contains the given URI or the archive of the given URI.
+	 */
+	protected String getProjectName(URI uri) {
+		if (uri.isPlatformResource() && uri.segmentCount() > 1) {
+			return URI.decode(uri.segment(1));
+		}
+		if (uri.isArchive()) {
+			String authority = uri.authority();
+			if (authority != null && authority.startsWith(PLATFORM_RESOURCE)) {
+				int end = authority.indexOf('/', PLATFORM_RESOURCE.length());
+				if (end > PLATFORM_RESOURCE.length()) {
+					return URI.decode(authority.substring(PLATFORM_RESOURCE.length(), end));
+				}
+			}
+		}
+		return NO_PROJECT;
+	}
+
+}
@@ -29,6 +29,20 @@ import com.google.common.collect.Sets;
 public class SourceLevelURICache {
 	private Set<URI> archives = Sets.newHashSet();
 	private Set<URI> sources = Sets.newHashSet();
+	private Set<URI> installed = Sets.newHashSet();
+	private final SharedSourceLevelURICache sharedCache;
+
+	public SourceLevelURICache() {
+		this(null);
+	}
+
+	/**
+	 * @param sharedCache the classification that is kept across builds, may be <code>null</code>.
+	 * @since 2.17
+	 */
+	public SourceLevelURICache(SharedSourceLevelURICache sharedCache) {
+		this.sharedCache = sharedCache;
+	}
 
 	/**
 	 * Return all the source URIs that have been encountered.
@@ -55,6 +69,14 @@ public class SourceLevelURICache {
 		if (sources.contains(uri)) {
 			return true;
 		}
+		if (sharedCache != null) {
+			if (!sharedCache.getOrComputeIsSource(uri, resourceServiceProviderRegistry)) {
+				archives.add(uri);
+				return false;
+			}
+			sources.add(uri);
+			return true;
+		}
 		IResourceServiceProvider provider = resourceServiceProviderRegistry.getResourceServiceProvider(uri);
 		if (provider instanceof IResourceServiceProviderExtension) {
 			if (!((IResourceServiceProviderExtension) provider).isSource(uri)) {
@@ -66,4 +88,14 @@ public class SourceLevelURICache {
 		return true;
 	}
 
+	/**
+	 * Records that the given source URI has been installed in the resource set of the build. Returns
+	 * <code>false</code> if it had already been installed before.
+	 * 
+	 * @since 2.17
+	 */
+	public boolean markInstalled(URI uri) {
+		return installed.add(uri);
+	}
+
 }
@@ -92,6 +92,9 @@ public class XtextBuilder extends IncrementalProjectBuilder {
 	
 	@Inject 
 	private OperationCanceledManager operationCanceledManager;
+
+	@Inject
+	private SharedSourceLevelURICache sharedSourceLevelURICache;
 	
 	public IResourceSetProvider getResourceSetProvider() {
 		return resourceSetProvider;
@@ -353,7 +356,8 @@ public class XtextBuilder extends IncrementalProjectBuilder {
 		SubMonitor progress = SubMonitor.convert(monitor, 2);
 		ResourceSet resourceSet = getResourceSetProvider().get(getProject());
 		resourceSet.getLoadOptions().put(ResourceDescriptionsProvider.NAMED_BUILDER_SCOPE, Boolean.TRUE);
-		BuildData buildData = new BuildData(getProject().getName(), resourceSet, toBeBuilt, queuedBuildData, indexingOnly);
+		BuildData buildData = new BuildData(getProject().getName(), resourceSet, toBeBuilt, queuedBuildData, indexingOnly,
+				new SourceLevelURICache(sharedSourceLevelURICache));
 		ImmutableList<Delta> deltas = builderState.update(buildData, progress.split(1));
 		if (participant != null && !indexingOnly) {
 			SourceLevelURICache sourceLevelURIs = buildData.getSourceLevelURICache();
@@ -384,6 +388,9 @@ public class XtextBuilder extends IncrementalProjectBuilder {
 	protected void fullBuild(final IProgressMonitor monitor, boolean isRecoveryBuild) throws CoreException {
 		SubMonitor progress = SubMonitor.convert(monitor, 10);
 
+		if (!isRecoveryBuild) {
+			sharedSourceLevelURICache.invalidate(getProject());
+		}
 		IProject project = getProject();
 		ToBeBuilt toBeBuilt = 
 			isRecoveryBuild
@@ -410,6 +417,7 @@ public class XtextBuilder extends IncrementalProjectBuilder {
 	protected void clean(IProgressMonitor monitor) throws CoreException {
 		SubMonitor progress = SubMonitor.convert(monitor, 10);
 		try {
+			sharedSourceLevelURICache.invalidate(getProject());
 			ToBeBuilt toBeBuilt = toBeBuiltComputer.removeProject(getProject(), progress.split(2));
 			if (monitor.isCanceled()) {
 				throw new OperationCanceledException();
@@ -19,6 +19,7 @@ import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.xtext.builder.impl.BuildScheduler;
 import org.eclipse.xtext.builder.impl.IBuildFlag;
+import org.eclipse.xtext.builder.impl.SharedSourceLevelURICache;
 import org.eclipse.xtext.resource.impl.CoarseGrainedChangeEvent;
 import org.eclipse.xtext.ui.editor.IDirtyStateManager;
 import org.eclipse.xtext.ui.util.JavaProjectClasspathChangeAnalyzer;
@@ -50,8 +51,12 @@ public class ProjectClasspathChangeListener implements IElementChangedListener {
 	@Inject 
 	private JavaProjectClasspathChangeAnalyzer javaProjectClasspathChangeAnalyzer;
 
+	@Inject
+	private SharedSourceLevelURICache sharedSourceLevelURICache;
+
 	@Override
 	public void elementChanged(ElementChangedEvent event) {
+		invalidateSourceLevelURIs(event);
 		if (workspace != null && workspace.isAutoBuilding()) {
 			try {
 				if (event.getDelta() != null) {
@@ -76,6 +81,23 @@ public class ProjectClasspathChangeListener implements IElementChangedListener {
 		}
 	}
 
+	/**
+	 * The classification of the URIs of a project depends on its classpath and output folders.
+	 * 
+	 * @since 2.17
+	 */
+	protected void invalidateSourceLevelURIs(ElementChangedEvent event) {
+		try {
+			if (event.getDelta() != null) {
+				for (IJavaProject javaProject : getJavaProjectsWithClasspathChange(event.getDelta())) {
+					sharedSourceLevelURICache.invalidate(javaProject.getProject());
+				}
+			}
+		} catch (RuntimeException e) {
+			log.error(e.getMessage(), e);
+		}
+	}
+
 	protected Set<IJavaProject> getJavaProjectsWithClasspathChange(IJavaElementDelta delta) {
 		return javaProjectClasspathChangeAnalyzer.getJavaProjectsWithClasspathChange(delta);
 	}
@@ -10,6 +10,7 @@ package org.eclipse.xtext.builder.internal;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
+import org.eclipse.xtext.ui.util.StartupTracer;
 import org.osgi.framework.BundleContext;
 
 public class Activator extends AbstractUIPlugin {
@@ -31,8 +32,10 @@ public class Activator extends AbstractUIPlugin {
 
 	@Override
 	public void start(BundleContext context) throws Exception {
-		super.start(context);
-		INSTANCE = this;
+		try (StartupTracer.Phase phase = StartupTracer.start("Activate " + PLUGIN_ID)) {
+			super.start(context);
+			INSTANCE = this;
+		}
 	}
 
 	@Override
@@ -11,16 +11,23 @@
 package org.eclipse.xtext.builder.resourceloader;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ManagedBlocker;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -39,6 +46,7 @@ import org.eclipse.xtext.ui.resource.IResourceSetProvider;
 import org.eclipse.xtext.util.Triple;
 import org.eclipse.xtext.util.Tuples;
 
+import com.google.common.base.Objects;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 
@@ -53,14 +61,37 @@ public class ParallelResourceLoader extends AbstractResourceLoader {
 
 	private static final long MAX_WAIT_TIME = TimeUnit.SECONDS.toMillis(60);
 
+	private static final Logger LOG = Logger.getLogger(ParallelResourceLoader.class);
+
 	private final int nThreads;
 	private final int queueSize;
+	private final ResourceLoaderPool pool;
+	private final ResourceLoadStatistics statistics = new ResourceLoadStatistics();
+	private final Deque<ResourceSet> reusableResourceSets = new ArrayDeque<ResourceSet>();
+	private WeakReference<ResourceSet> reusableParent;
+	private IProject reusableProject;
 	private long timeout;
 
+	/**
+	 * Creates a loader that runs its load jobs on the {@link ResourceLoaderPool#getSharedInstance() shared pool}.
+	 */
 	public ParallelResourceLoader(IResourceSetProvider resourceSetProvider, Sorter sorter, int nThreads, int queueSize) {
+		this(resourceSetProvider, sorter, nThreads, queueSize, ResourceLoaderPool.getSharedInstance());
+	}
+
+	/**
+	 * @param nThreads
+	 *            the maximum number of resources of a single load operation that are loaded concurrently.
+	 * @param pool
+	 *            the pool that runs the load jobs, usually shared by all loaders of the workspace.
+	 * @since 2.17
+	 */
+	public ParallelResourceLoader(IResourceSetProvider resourceSetProvider, Sorter sorter, int nThreads, int queueSize,
+			ResourceLoaderPool pool) {
 		super(resourceSetProvider, sorter);
 		this.nThreads = nThreads;
 		this.queueSize = queueSize;
+		this.pool = pool;
 		this.timeout = MAX_WAIT_TIME;
 	}
 
@@ -129,62 +160,168 @@ public class ParallelResourceLoader extends AbstractResourceLoader {
 		return super.loadResource(uri, localResourceSet, parentResourceSet);
 	}
 
+	/**
+	 * Returns a resource set that can be used to load resources of the given project in a worker thread. Resource sets
+	 * are reused by all load operations of the same parent resource set, e.g. for all clusters of a build.
+	 *
+	 * @since 2.17
+	 */
+	protected synchronized ResourceSet acquireResourceSet(ResourceSet parent, IProject project) {
+		if (!isReusable(parent, project)) {
+			reusableResourceSets.clear();
+			reusableParent = new WeakReference<ResourceSet>(parent);
+			reusableProject = project;
+		}
+		ResourceSet result = reusableResourceSets.poll();
+		if (result == null) {
+			result = getResourceSetProvider().get(project);
+		}
+		result.getLoadOptions().clear();
+		result.getLoadOptions().putAll(parent.getLoadOptions());
+		result.setURIConverter(parent.getURIConverter());
+		return result;
+	}
+
+	/**
+	 * @since 2.17
+	 */
+	protected synchronized void releaseResourceSet(ResourceSet parent, IProject project, ResourceSet resourceSet) {
+		resourceSet.getResources().clear();
+		if (isReusable(parent, project)) {
+			reusableResourceSets.push(resourceSet);
+		}
+	}
+
+	private boolean isReusable(ResourceSet parent, IProject project) {
+		return reusableParent != null && reusableParent.get() == parent && Objects.equal(reusableProject, project);
+	}
+
+	/**
+	 * Returns the accumulated statistics of all load operations of this loader.
+	 *
+	 * @since 2.17
+	 */
+	public ResourceLoadStatistics getStatistics() {
+		return statistics;
+	}
+
 	private class ParallelLoadOperation implements LoadOperation {
 
 		private final BlockingQueue<Triple<URI, Resource, Throwable>> resourceQueue;
-		private final ThreadLocal<ResourceSet> resourceSetProvider;
-		private final ExecutorService executor;
+		private final Queue<Work> workload = new ConcurrentLinkedQueue<Work>();
 		private final ResourceSet parent;
+		private final IProject project;
 		private final long waitTime;
+		private final ResourceLoadStatistics operationStatistics = new ResourceLoadStatistics();
+		private volatile boolean cancelled;
 		private int toProcess;
 
 		public ParallelLoadOperation(final ResourceSet parent, final IProject project) {
 			this.parent = parent;
+			this.project = project;
 			if(queueSize == 0) {
 				this.resourceQueue = new SynchronousQueue<Triple<URI, Resource, Throwable>>(true);
 			} else {
 				this.resourceQueue = new ArrayBlockingQueue<Triple<URI, Resource, Throwable>>(queueSize);
 			}
-			this.resourceSetProvider = new ThreadLocal<ResourceSet>() {
-				@Override
-				protected ResourceSet initialValue() {
-					ResourceSet resourceSet = getResourceSetProvider().get(project);
-					resourceSet.getLoadOptions().putAll(parent.getLoadOptions());
-					resourceSet.setURIConverter(parent.getURIConverter());
-					return resourceSet;
-				}
-			};
-			this.executor = Executors.newFixedThreadPool(nThreads);
 			this.waitTime = getTimeout();
 		}
 
-		private class ResourceLoadJob implements Runnable {
+		/**
+		 * A resource to load together with the time it was enqueued, which is the start of its queue wait.
+		 */
+		private class Work {
 			private final URI uri;
+			private final long enqueued;
 
-			public ResourceLoadJob(URI uri) {
+			private Work(URI uri, long enqueued) {
 				this.uri = uri;
+				this.enqueued = enqueued;
 			}
+		}
+
+		/**
+		 * Loads resources from the workload until it is empty or the operation is cancelled. Each worker uses its own
+		 * resource set.
+		 */
+		private class LoadWorker implements Runnable {
 
 			@Override
 			public void run() {
-				Throwable exception = null;
-				Resource resource = null;
-
-				// load resource
+				ResourceSet localResourceSet = null;
 				try {
-					ResourceSet localResourceSet = resourceSetProvider.get();
-					resource = loadResource(uri, localResourceSet, parent);
-					localResourceSet.getResources().clear();
-				} catch (Throwable t) {
-					exception = t;
+					Work work;
+					while (!cancelled && (work = workload.poll()) != null) {
+						URI uri = work.uri;
+						long started = System.nanoTime();
+						Throwable exception = null;
+						Resource resource = null;
+
+						// load resource
+						try {
+							if (localResourceSet == null) {
+								localResourceSet = acquireResourceSet(parent, project);
+							}
+							resource = loadResource(uri, localResourceSet, parent);
+							localResourceSet.getResources().clear();
+						} catch (Throwable t) {
+							exception = t;
+						}
+						long loadTime = System.nanoTime() - started;
+						operationStatistics.record(started - work.enqueued, loadTime);
+						statistics.record(started - work.enqueued, loadTime);
+
+						// push resource to the queue, wait if queue is full
+						if (!offer(Tuples.create(uri, resource, exception))) {
+							return;
+						}
+					}
+				} finally {
+					if (localResourceSet != null) {
+						releaseResourceSet(parent, project, localResourceSet);
+					}
 				}
+			}
 
-				// push resource to the queue, wait if queue is full
+			private boolean offer(Triple<URI, Resource, Throwable> result) {
+				OfferBlocker blocker = new OfferBlocker(result);
 				try {
-					resourceQueue.put(Tuples.create(uri, resource, exception));
+					// lets the fork join pool compensate for the blocked worker, so other load operations keep going
+					ForkJoinPool.managedBlock(blocker);
 				} catch (InterruptedException e) {
 					Thread.currentThread().interrupt();
 				}
+				return blocker.offered;
+			}
+		}
+
+		/**
+		 * Waits until the consumer takes the result or the operation is cancelled.
+		 */
+		private class OfferBlocker implements ManagedBlocker {
+
+			private final Triple<URI, Resource, Throwable> result;
+			private boolean offered;
+
+			private OfferBlocker(Triple<URI, Resource, Throwable> result) {
+				this.result = result;
+			}
+
+			@Override
+			public boolean block() throws InterruptedException {
+				// the shared pool is never shut down, so we have to poll for the cancellation
+				while (!offered && !cancelled) {
+					offered = resourceQueue.offer(result, 100, TimeUnit.MILLISECONDS);
+				}
+				return true;
+			}
+
+			@Override
+			public boolean isReleasable() {
+				if (!offered && !cancelled) {
+					offered = resourceQueue.offer(result);
+				}
+				return offered || cancelled;
 			}
 		}
 
@@ -202,6 +339,9 @@ public class ParallelResourceLoader extends AbstractResourceLoader {
 			if (result == null) {
 				throw new NullPointerException("Resource load job didn't return a result");
 			}
+			if (toProcess == 0) {
+				logStatistics();
+			}
 
 			URI uri = result.getFirst();
 			Resource resource = result.getSecond();
@@ -235,11 +375,15 @@ public class ParallelResourceLoader extends AbstractResourceLoader {
 			synchronizeResources(uris);
 			
 			toProcess += uris.size();
-			Collection<URI> workload = getSorter().sort(uris);
-			for(URI uri : workload) {
-				executor.execute(new ResourceLoadJob(uri));
+			long enqueued = System.nanoTime();
+			for (URI uri : getSorter().sort(uris)) {
+				workload.add(new Work(uri, enqueued));
+			}
+			ExecutorService executor = pool.getExecutor();
+			int nWorkers = Math.min(nThreads, workload.size());
+			for (int i = 0; i < nWorkers; i++) {
+				executor.execute(new LoadWorker());
 			}
-			executor.shutdown();
 		}
 		
 		/**
@@ -262,17 +406,23 @@ public class ParallelResourceLoader extends AbstractResourceLoader {
 
 		@Override
 		public Collection<URI> cancel() {
+			cancelled = true;
 			toProcess = 0;
-			List<Runnable> jobs = executor.shutdownNow();
 			List<URI> ret = Lists.newArrayList();
-			for (Runnable job : jobs) {
-				if (job instanceof ResourceLoadJob) {
-					ret.add(((ResourceLoadJob) job).uri);
-				}
+			Work work;
+			while ((work = workload.poll()) != null) {
+				ret.add(work.uri);
 			}
+			logStatistics();
 			return ret;
 		}
 
+		private void logStatistics() {
+			if (LOG.isDebugEnabled() && operationStatistics.getResourceCount() > 0) {
+				LOG.debug("Parallel load operation " + operationStatistics);
+			}
+		}
+
 	}
 
 }
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.resourceloader;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the time resources spent waiting for a loader thread and the time it took to load them.
+ *
+ * Instances are thread safe.
+ *
+ * @since 2.17
+ */
+public class ResourceLoadStatistics {
+
+	private final AtomicLong resources = new AtomicLong();
+	private final AtomicLong queueWaitNanos = new AtomicLong();
+	private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+	private final AtomicLong loadNanos = new AtomicLong();
+	private final AtomicLong maxLoadNanos = new AtomicLong();
+
+	public void record(long queueWait, long load) {
+		resources.incrementAndGet();
+		queueWaitNanos.addAndGet(queueWait);
+		loadNanos.addAndGet(load);
+		updateMax(maxQueueWaitNanos, queueWait);
+		updateMax(maxLoadNanos, load);
+	}
+
+	public void reset() {
+		resources.set(0);
+		queueWaitNanos.set(0);
+		maxQueueWaitNanos.set(0);
+		loadNanos.set(0);
+		maxLoadNanos.set(0);
+	}
+
+	public long getResourceCount() {
+		return resources.get();
+	}
+
+	public long getQueueWaitTime(TimeUnit unit) {
+		return unit.convert(queueWaitNanos.get(), TimeUnit.NANOSECONDS);
+	}
+
+	public long getMaxQueueWaitTime(TimeUnit unit) {
+		return unit.convert(maxQueueWaitNanos.get(), TimeUnit.NANOSECONDS);
+	}
+
+	public long getLoadTime(TimeUnit unit) {
+		return unit.convert(loadNanos.get(), TimeUnit.NANOSECONDS);
+	}
+
+	public long getMaxLoadTime(TimeUnit unit) {
+		return unit.convert(maxLoadNanos.get(), TimeUnit.NANOSECONDS);
+	}
+
+	private void updateMax(AtomicLong max, long value) {
+		long current = max.get();
+		while (value > current && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+
+	@Override
+	public String toString() {
+		long count = Math.max(1, getResourceCount());
+		return "loaded " + getResourceCount() + " resources"
+				+ ", queue wait " + getQueueWaitTime(TimeUnit.MILLISECONDS) + "ms"
+				+ " (avg " + getQueueWaitTime(TimeUnit.MICROSECONDS) / count + "us"
+				+ ", max " + getMaxQueueWaitTime(TimeUnit.MILLISECONDS) + "ms)"
+				+ ", load " + getLoadTime(TimeUnit.MILLISECONDS) + "ms"
+				+ " (avg " + getLoadTime(TimeUnit.MICROSECONDS) / count + "us"
+				+ ", max " + getMaxLoadTime(TimeUnit.MILLISECONDS) + "ms)";
+	}
+}
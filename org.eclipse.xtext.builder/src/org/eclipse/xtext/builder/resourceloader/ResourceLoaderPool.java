@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.builder.resourceloader;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.inject.Singleton;
+
+/**
+ * A long-lived, work-stealing pool that is shared by all {@link ParallelResourceLoader parallel loaders} of the
+ * workspace. The pool is created lazily and its idle workers terminate after a while, so an unused pool does not hold
+ * on to any threads.
+ *
+ * The parallelism defaults to the number of available processors and can be configured by means of the system
+ * property {@value #PARALLELISM_PROPERTY}.
+ *
+ * The shared Xtext injector binds the {@link #getSharedInstance() shared instance}, so loaders that are created
+ * without dependency injection use the same pool.
+ *
+ * @since 2.17
+ */
+@Singleton
+public class ResourceLoaderPool {
+
+	public static final String PARALLELISM_PROPERTY = "org.eclipse.xtext.builder.resourceloader.parallelism";
+
+	private static final ResourceLoaderPool SHARED_INSTANCE = new ResourceLoaderPool();
+
+	private ExecutorService executor;
+
+	/**
+	 * Returns the pool that is shared by all loaders of the workspace. It is shut down when the bundle
+	 * <code>org.eclipse.xtext.ui.shared</code> is stopped.
+	 */
+	public static ResourceLoaderPool getSharedInstance() {
+		return SHARED_INSTANCE;
+	}
+
+	/**
+	 * Returns the shared executor, creates it if necessary.
+	 */
+	public synchronized ExecutorService getExecutor() {
+		if (executor == null || executor.isShutdown()) {
+			executor = createExecutor();
+		}
+		return executor;
+	}
+
+	public synchronized void shutdown() {
+		if (executor != null) {
+			executor.shutdown();
+			executor = null;
+		}
+	}
+
+	public int getParallelism() {
+		return getConfiguredParallelism();
+	}
+
+	protected ExecutorService createExecutor() {
+		final AtomicInteger count = new AtomicInteger();
+		ForkJoinWorkerThreadFactory threadFactory = new ForkJoinWorkerThreadFactory() {
+			@Override
+			public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+				ForkJoinWorkerThread result = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+				result.setName("ResourceLoader-" + count.getAndIncrement());
+				result.setDaemon(true);
+				return result;
+			}
+		};
+		// async mode processes the submitted load jobs in FIFO order which preserves the order of the sorter
+		return new ForkJoinPool(getParallelism(), threadFactory, null, true);
+	}
+
+	/**
+	 * Returns the configured parallelism, that is the value of the system property {@value #PARALLELISM_PROPERTY}
+	 * or the number of available processors. The result is never greater than the number of available processors.
+	 */
+	public static int getConfiguredParallelism() {
+		int nProcessors = Runtime.getRuntime().availableProcessors();
+		Integer configured = Integer.getInteger(PARALLELISM_PROPERTY);
+		if (configured == null || configured.intValue() <= 0) {
+			return nProcessors;
+		}
+		return Math.min(configured.intValue(), nProcessors);
+	}
+
+}
@@ -33,16 +33,30 @@ public final class ResourceLoaderProviders {
 		@Inject
 		private Sorter resourceSorter;
 
+		@Inject
+		private ResourceLoaderPool resourceLoaderPool;
+
 		public IResourceSetProvider getResourceSetProvider() {
 			return resourceSetProvider;
 		}
 
+		/**
+		 * @since 2.17
+		 */
+		public ResourceLoaderPool getResourceLoaderPool() {
+			return resourceLoaderPool;
+		}
+
 		public Sorter getResourceSorter() {
 			return resourceSorter;
 		}
 	}
 
-	/** Returns a loader with a parallelization degree of 2 to 4 (depending on how many processors are available). */
+	/**
+	 * Returns a loader with a parallelization degree of 2 to 4 (depending on how many processors are available). If
+	 * the system property {@value ResourceLoaderPool#PARALLELISM_PROPERTY} is set, its value is used instead (up to the
+	 * number of available processors).
+	 */
 	public static Provider<IResourceLoader> getParallelLoader() {
 		int nThreads = getNumberOfThreads();
 		return getParallelLoader(nThreads, 0);
@@ -57,6 +71,9 @@ public final class ResourceLoaderProviders {
 	}
 
 	private static int getNumberOfThreads() {
+		if (System.getProperty(ResourceLoaderPool.PARALLELISM_PROPERTY) != null) {
+			return ResourceLoaderPool.getConfiguredParallelism();
+		}
 		int nProcessors = Runtime.getRuntime().availableProcessors();
 		int nThreads = Math.max(2, Math.min(4, nProcessors));
 		return nThreads;
@@ -70,7 +87,7 @@ public final class ResourceLoaderProviders {
 		return new AbstractResourceLoaderProvider() {
 			@Override
 			public IResourceLoader get() {
-				ParallelResourceLoader resourceLoader = new ParallelResourceLoader(getResourceSetProvider(), getResourceSorter(), nrOfThreads, bufferSize);
+				ParallelResourceLoader resourceLoader = new ParallelResourceLoader(getResourceSetProvider(), getResourceSorter(), nrOfThreads, bufferSize, getResourceLoaderPool());
 				return resourceLoader;
 			}
 		};
@@ -83,7 +100,7 @@ public final class ResourceLoaderProviders {
 		return new AbstractResourceLoaderProvider() {
 			@Override
 			public IResourceLoader get() {
-				ParallelResourceLoader resourceLoader = new ParallelResourceLoader(getResourceSetProvider(), getResourceSorter(), nrOfThreads, bufferSize);
+				ParallelResourceLoader resourceLoader = new ParallelResourceLoader(getResourceSetProvider(), getResourceSorter(), nrOfThreads, bufferSize, getResourceLoaderPool());
 				resourceLoader.setTimeout(timeoutTime, timeoutUnit);
 				return resourceLoader;
 			}
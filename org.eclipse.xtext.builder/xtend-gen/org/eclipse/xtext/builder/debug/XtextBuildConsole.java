@@ -20,6 +20,7 @@ import org.eclipse.ui.console.IOConsole;
 import org.eclipse.ui.console.IOConsoleOutputStream;
 import org.eclipse.xtext.builder.debug.IBuildLogger;
 import org.eclipse.xtext.builder.internal.Activator;
+import org.eclipse.xtext.ui.util.StartupTracer;
 import org.eclipse.xtext.xbase.lib.Conversions;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 
@@ -33,8 +34,12 @@ public class XtextBuildConsole extends IOConsole {
     @Override
     public void openConsole() {
       IConsoleManager consoleManager = ConsolePlugin.getDefault().getConsoleManager();
-      XtextBuildConsole _xtextBuildConsole = new XtextBuildConsole();
-      consoleManager.addConsoles(new IConsole[] { _xtextBuildConsole });
+      final XtextBuildConsole console = new XtextBuildConsole();
+      consoleManager.addConsoles(new IConsole[] { console });
+      boolean _isEnabled = StartupTracer.isEnabled();
+      if (_isEnabled) {
+        console.println(StartupTracer.getReport());
+      }
     }
   }
   
@@ -9,12 +9,20 @@
 package org.eclipse.xtext.ui.codemining;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.ITextViewer;
@@ -24,6 +32,7 @@ import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.codemining.LineContentCodeMining;
 import org.eclipse.jface.text.codemining.LineHeaderCodeMining;
 import org.eclipse.swt.events.MouseEvent;
+import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.ui.editor.model.XtextDocumentUtil;
 import org.eclipse.xtext.util.CancelIndicator;
@@ -31,10 +40,15 @@ import org.eclipse.xtext.util.IAcceptor;
 import org.eclipse.xtext.util.concurrent.CancelableUnitOfWork;
 
 import com.google.common.annotations.Beta;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Xtext integration for Code Mining support. Clients have to subclass and
  * compute minings for a given Xtext resource.
+ * <p>
+ * Minings are computed on a dedicated, bounded executor. Providers whose minings only depend on the element they are
+ * attached to may implement {@link IIncrementalCodeMiningProvider} to have the minings of unchanged root-level elements
+ * reused between reconciles.
  * 
  * @since 2.14
  * @author Ren Purrio - Initial contribution and API
@@ -65,6 +79,25 @@ public abstract class AbstractXtextCodeMiningProvider extends AbstractCodeMining
 		}
 	}
 
+	/*
+	 * Shared by all providers. Code minings are recomputed after each reconcile, so we do not want them to compete
+	 * with other clients of the common fork join pool.
+	 */
+	private static class ExecutorHolder {
+		private static final ExecutorService EXECUTOR = createExecutor();
+
+		private static ExecutorService createExecutor() {
+			int nThreads = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() / 2));
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(nThreads, nThreads, 30, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(),
+					new ThreadFactoryBuilder().setNameFormat("XtextCodeMining-%d").setDaemon(true).build());
+			executor.allowCoreThreadTimeOut(true);
+			return executor;
+		}
+	}
+
+	private final Map<IDocument, CodeMiningCache> caches = Collections.synchronizedMap(new WeakHashMap<>());
+
 	@Override
 	public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer,
 			IProgressMonitor monitor) {
@@ -73,15 +106,93 @@ public abstract class AbstractXtextCodeMiningProvider extends AbstractCodeMining
 				@Override
 				public List<ICodeMining> exec(XtextResource resource, CancelIndicator uowCancelIndicator) throws Exception {
 					CombinedCancelIndicator indicator = new CombinedCancelIndicator(monitor, uowCancelIndicator);
+					if (AbstractXtextCodeMiningProvider.this instanceof IIncrementalCodeMiningProvider) {
+						return createIncrementalCodeMinings(viewer.getDocument(), resource, indicator);
+					}
 					return createCodeMinings(viewer.getDocument(), resource, indicator);
 				}
 
 			};
 			return XtextDocumentUtil.get(viewer).readOnly(uow);
-		});
+		}, getExecutor());
 		return future;
 	}
-	
+
+	/**
+	 * The executor that is used to compute minings and to resolve their labels.
+	 * 
+	 * @since 2.17
+	 */
+	protected ExecutorService getExecutor() {
+		return ExecutorHolder.EXECUTOR;
+	}
+
+	/**
+	 * Creates the code minings for a document of an {@link IIncrementalCodeMiningProvider}. The specs of all unchanged
+	 * root-level elements are taken from the cache, and new minings are created from all specs.
+	 * 
+	 * @since 2.17
+	 */
+	protected List<ICodeMining> createIncrementalCodeMinings(IDocument document, XtextResource resource,
+			CancelIndicator cancelIndicator) throws BadLocationException {
+		IParseResult parseResult = resource.getParseResult();
+		if (parseResult == null || parseResult.getRootNode() == null) {
+			return Collections.emptyList();
+		}
+		IIncrementalCodeMiningProvider provider = (IIncrementalCodeMiningProvider) this;
+		CodeMiningCache cache = caches.computeIfAbsent(document, d -> new CodeMiningCache());
+		List<CodeMiningSpec> specs = cache.update(getCodeMiningRoots(resource), document, (element) -> {
+			List<CodeMiningSpec> specList = new ArrayList<>();
+			provider.createCodeMiningSpecs(document, element, cancelIndicator, (spec) -> {
+				if (cancelIndicator.isCanceled()) {
+					throw new CancellationException();
+				}
+				specList.add(spec);
+			});
+			return specList;
+		}, cancelIndicator);
+		List<ICodeMining> codeMiningList = new ArrayList<>(specs.size());
+		for (CodeMiningSpec spec : specs) {
+			if (cancelIndicator.isCanceled()) {
+				throw new CancellationException();
+			}
+			codeMiningList.add(createCodeMining(spec, document));
+		}
+		return codeMiningList;
+	}
+
+	/**
+	 * Creates a new mining from the given spec. Minings are owned and disposed by the viewer, so a new instance is
+	 * created for every reconcile, even if the spec was cached.
+	 * 
+	 * @since 2.17
+	 */
+	protected ICodeMining createCodeMining(CodeMiningSpec spec, IDocument document) throws BadLocationException {
+		if (spec.isLineHeader()) {
+			return createNewLineHeaderCodeMining(spec.getLine(), document, spec.getLabel(), spec.getAction());
+		}
+		return createNewLineContentCodeMining(spec.getOffset(), spec.getLabel(), spec.getAction());
+	}
+
+	/**
+	 * The elements whose minings are cached independently. Defaults to the children of the root element.
+	 * 
+	 * @since 2.17
+	 */
+	protected List<? extends EObject> getCodeMiningRoots(XtextResource resource) {
+		EObject root = resource.getParseResult().getRootASTElement();
+		if (root == null) {
+			return Collections.emptyList();
+		}
+		return root.eContents();
+	}
+
+	@Override
+	public void dispose() {
+		caches.clear();
+		super.dispose();
+	}
+
 	/**
 	 * Creates code minings for a document
 	 * @param document The document
@@ -111,7 +222,8 @@ public abstract class AbstractXtextCodeMiningProvider extends AbstractCodeMining
 	}
 
 	/**
-	 * Clients have to implement this method to provide code minings.
+	 * Clients have to implement this method to provide code minings. An {@link IIncrementalCodeMiningProvider} may
+	 * delegate to {@link #createCodeMiningsFromSpecs(IDocument, XtextResource, CancelIndicator, IAcceptor)}.
 	 * 
 	 * @param document The document
 	 * @param resource The resource for that document
@@ -122,6 +234,26 @@ public abstract class AbstractXtextCodeMiningProvider extends AbstractCodeMining
 	protected abstract void createCodeMinings(IDocument document, XtextResource resource,
 			CancelIndicator indicator, IAcceptor<? super ICodeMining> acceptor) throws BadLocationException;
 
+	/**
+	 * Creates the minings of all {@link #getCodeMiningRoots(XtextResource) root-level elements} of an
+	 * {@link IIncrementalCodeMiningProvider} without caching.
+	 * 
+	 * @since 2.17
+	 */
+	protected void createCodeMiningsFromSpecs(IDocument document, XtextResource resource,
+			CancelIndicator indicator, IAcceptor<? super ICodeMining> acceptor) throws BadLocationException {
+		if (resource.getParseResult() == null) {
+			return;
+		}
+		List<CodeMiningSpec> specs = new ArrayList<>();
+		for (EObject element : getCodeMiningRoots(resource)) {
+			((IIncrementalCodeMiningProvider) this).createCodeMiningSpecs(document, element, indicator, specs::add);
+		}
+		for (CodeMiningSpec spec : specs) {
+			acceptor.accept(createCodeMining(spec, document));
+		}
+	}
+
 	/**
 	 * Creates a {@link LineContentCodeMining} object for an inline annotation.
 	 * @param beforeCharacter inline annotation will be created before this character number.
@@ -146,7 +278,7 @@ public abstract class AbstractXtextCodeMiningProvider extends AbstractCodeMining
 			protected CompletableFuture<Void> doResolve(ITextViewer viewer, IProgressMonitor monitor) {
 				return CompletableFuture.runAsync(() -> {
 					super.setLabel(contentText);
-				});
+				}, getExecutor());
 			}
 		};
 	}
@@ -180,7 +312,7 @@ public abstract class AbstractXtextCodeMiningProvider extends AbstractCodeMining
 			protected CompletableFuture<Void> doResolve(ITextViewer viewer, IProgressMonitor monitor) {
 				return CompletableFuture.runAsync(() -> {
 					super.setLabel(headerText);
-				});
+				}, getExecutor());
 			}
 		};
 	}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.xtext.ui.codemining;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.util.CancelIndicator;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+
+/**
+ * Caches the {@link CodeMiningSpec}s of a document per root-level element. An element is identified by a fingerprint
+ * of its type, its text and the column it starts in. Specs of elements whose fingerprint did not change since the last
+ * computation are reused and moved to the new location of the element, all other elements are passed to the
+ * {@link Computation} again. The cached specs are immutable, so moving them never affects minings that have already
+ * been created from them.
+ *
+ * Instances are thread safe.
+ *
+ * @since 2.17
+ */
+@Beta
+public class CodeMiningCache {
+
+	/**
+	 * Computes the mining specs for a single root-level element.
+	 */
+	public interface Computation {
+		List<CodeMiningSpec> compute(EObject element) throws BadLocationException;
+	}
+
+	protected static final class Fingerprint {
+		private final EClass eClass;
+		private final String text;
+		private final int column;
+		private final int hashCode;
+
+		protected Fingerprint(EClass eClass, String text, int column) {
+			this.eClass = eClass;
+			this.text = text;
+			this.column = column;
+			this.hashCode = 31 * (31 * eClass.hashCode() + text.hashCode()) + column;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null || obj.getClass() != getClass())
+				return false;
+			Fingerprint other = (Fingerprint) obj;
+			return hashCode == other.hashCode && column == other.column && eClass == other.eClass
+					&& text.equals(other.text);
+		}
+	}
+
+	protected static final class Entry {
+		private final int offset;
+		private final int line;
+		private final List<CodeMiningSpec> specs;
+
+		protected Entry(int offset, int line, List<CodeMiningSpec> specs) {
+			this.offset = offset;
+			this.line = line;
+			this.specs = specs;
+		}
+
+		/**
+		 * Returns a new entry for the element at its new location, the specs of this entry are left untouched.
+		 */
+		protected Entry moveTo(int newOffset, int newLine) {
+			if (newOffset == offset && newLine == line) {
+				return this;
+			}
+			List<CodeMiningSpec> moved = new ArrayList<>(specs.size());
+			for (CodeMiningSpec spec : specs) {
+				moved.add(spec.moveBy(newOffset - offset, newLine - line));
+			}
+			return new Entry(newOffset, newLine, moved);
+		}
+
+		protected List<CodeMiningSpec> getSpecs() {
+			return specs;
+		}
+	}
+
+	private ListMultimap<Fingerprint, Entry> entries = ArrayListMultimap.create();
+
+	private int hits;
+
+	private int misses;
+
+	/**
+	 * Returns the mining specs for all the given elements. Specs of unchanged elements are taken from the cache, the
+	 * others are computed. Elements that are no longer part of the given list are evicted.
+	 *
+	 * @param elements
+	 *            the root-level elements of the resource in document order.
+	 * @param document
+	 *            the document of the resource, used to compute the columns and lines of the elements.
+	 */
+	public synchronized List<CodeMiningSpec> update(List<? extends EObject> elements, IDocument document,
+			Computation computation, CancelIndicator cancelIndicator) throws BadLocationException {
+		ListMultimap<Fingerprint, Entry> newEntries = ArrayListMultimap.create();
+		List<CodeMiningSpec> result = new ArrayList<>();
+		for (EObject element : elements) {
+			if (cancelIndicator.isCanceled()) {
+				throw new CancellationException();
+			}
+			ICompositeNode node = NodeModelUtils.getNode(element);
+			if (node == null) {
+				continue;
+			}
+			int offset = node.getOffset();
+			int line = document.getLineOfOffset(offset);
+			int column = offset - document.getLineOffset(line);
+			Fingerprint fingerprint = new Fingerprint(element.eClass(), node.getText(), column);
+			Entry entry = removeFirst(fingerprint);
+			if (entry == null) {
+				misses++;
+				entry = new Entry(offset, line, computation.compute(element));
+			} else {
+				hits++;
+				entry = entry.moveTo(offset, line);
+			}
+			newEntries.put(fingerprint, entry);
+			result.addAll(entry.getSpecs());
+		}
+		entries = newEntries;
+		return result;
+	}
+
+	/**
+	 * Discards all cached specs.
+	 */
+	public synchronized void clear() {
+		entries = ArrayListMultimap.create();
+	}
+
+	/**
+	 * The number of elements whose specs have been taken from the cache.
+	 */
+	public synchronized int getHits() {
+		return hits;
+	}
+
+	/**
+	 * The number of elements whose specs have been computed.
+	 */
+	public synchronized int getMisses() {
+		return misses;
+	}
+
+	private Entry removeFirst(Fingerprint fingerprint) {
+		List<Entry> candidates = entries.get(fingerprint);
+		if (candidates.isEmpty()) {
+			return null;
+		}
+		return candidates.remove(0);
+	}
+
+}
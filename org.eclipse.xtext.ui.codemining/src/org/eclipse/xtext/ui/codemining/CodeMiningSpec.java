@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.xtext.ui.codemining;
+
+import java.util.function.Consumer;
+
+import org.eclipse.swt.events.MouseEvent;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * An immutable description of a code mining. Unlike an {@link org.eclipse.jface.text.codemining.ICodeMining}, which is
+ * owned and eventually disposed by the viewer, a spec can be cached and turned into a new mining after each reconcile,
+ * see {@link IIncrementalCodeMiningProvider}.
+ *
+ * @since 2.17
+ */
+@Beta
+public final class CodeMiningSpec {
+
+	private final boolean lineHeader;
+	private final int offset;
+	private final int line;
+	private final String label;
+	private final Consumer<MouseEvent> action;
+
+	private CodeMiningSpec(boolean lineHeader, int offset, int line, String label, Consumer<MouseEvent> action) {
+		this.lineHeader = lineHeader;
+		this.offset = offset;
+		this.line = line;
+		this.label = label;
+		this.action = action;
+	}
+
+	/**
+	 * Describes an inline annotation before the character at the given offset.
+	 */
+	public static CodeMiningSpec lineContent(int offset, String label, Consumer<MouseEvent> action) {
+		return new CodeMiningSpec(false, offset, -1, label, action);
+	}
+
+	/**
+	 * Describes a header annotation above the given line.
+	 */
+	public static CodeMiningSpec lineHeader(int line, String label, Consumer<MouseEvent> action) {
+		return new CodeMiningSpec(true, -1, line, label, action);
+	}
+
+	public boolean isLineHeader() {
+		return lineHeader;
+	}
+
+	/**
+	 * The offset of an inline annotation, <code>-1</code> for a header annotation.
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	/**
+	 * The line of a header annotation, <code>-1</code> for an inline annotation.
+	 */
+	public int getLine() {
+		return line;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+
+	public Consumer<MouseEvent> getAction() {
+		return action;
+	}
+
+	/**
+	 * Returns a spec that is moved by the given number of characters or lines, respectively.
+	 */
+	public CodeMiningSpec moveBy(int offsetDelta, int lineDelta) {
+		if (lineHeader) {
+			return lineDelta == 0 ? this : new CodeMiningSpec(true, -1, line + lineDelta, label, action);
+		}
+		return offsetDelta == 0 ? this : new CodeMiningSpec(false, offset + offsetDelta, -1, label, action);
+	}
+
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package org.eclipse.xtext.ui.codemining;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.IAcceptor;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Implemented by an {@link AbstractXtextCodeMiningProvider} whose minings only depend on the root-level element they
+ * are attached to. The minings are described by {@link CodeMiningSpec}s that are cached per element in a
+ * {@link CodeMiningCache}, so only elements whose text changed are passed to this provider again. New mining instances
+ * are created from the specs after each reconcile.
+ *
+ * @since 2.17
+ */
+@Beta
+public interface IIncrementalCodeMiningProvider {
+
+	/**
+	 * Describes the code minings of a single root-level element and its children.
+	 *
+	 * @param document The document
+	 * @param element The root-level element, see {@link AbstractXtextCodeMiningProvider#getCodeMiningRoots(org.eclipse.xtext.resource.XtextResource)}
+	 * @param indicator Cancelation indicator
+	 * @param acceptor Accepts the specs of the minings, with offsets and lines of the given document
+	 * @throws BadLocationException when line number doesn't exists
+	 */
+	void createCodeMiningSpecs(IDocument document, EObject element, CancelIndicator indicator,
+			IAcceptor<? super CodeMiningSpec> acceptor) throws BadLocationException;
+
+}
@@ -11,6 +11,8 @@ import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.PlatformUI;
+import org.eclipse.xtext.builder.BuildExecutors;
+import org.eclipse.xtext.builder.DerivedResourceIndex;
 import org.eclipse.xtext.builder.DerivedResourceMarkers;
 import org.eclipse.xtext.builder.builderState.IBuilderState;
 import org.eclipse.xtext.builder.clustering.CurrentDescriptions;
@@ -126,6 +128,20 @@ public class SharedStateModule extends AbstractGenericModule {
 		return Access.getQueuedBuildData();
 	}
 
+	/**
+	 * @since 2.17
+	 */
+	public Provider<BuildExecutors> provideBuildExecutors() {
+		return Access.provider(BuildExecutors.class);
+	}
+	
+	/**
+	 * @since 2.17
+	 */
+	public Provider<DerivedResourceIndex> provideDerivedResourceIndex() {
+		return Access.provider(DerivedResourceIndex.class);
+	}
+	
 	public Provider<IWorkspace> provideIWorkspace() {
 		return new Provider<IWorkspace>() {
 			@Override
@@ -25,7 +25,10 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.osgi.util.ManifestElement;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.xtext.builder.BuildExecutors;
+import org.eclipse.xtext.builder.resourceloader.ResourceLoaderPool;
 import org.eclipse.xtext.common.types.ui.notification.TypeResourceUnloader;
+import org.eclipse.xtext.ui.util.StartupTracer;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.BundleException;
@@ -88,7 +91,7 @@ public class Activator extends Plugin {
 			}
 		}
 
-		try {
+		try (StartupTracer.Phase phase = StartupTracer.start("Create shared injector")) {
 			injector = Guice.createInjector(module);
 			injector.createChildInjector(new Module() {
 				@Override
@@ -207,11 +210,13 @@ public class Activator extends Plugin {
 
 	@Override
 	public void start(BundleContext context) throws Exception {
-		try {
+		try (StartupTracer.Phase phase = StartupTracer.start("Activate " + PLUGIN_ID)) {
 			super.start(context);
 			plugin = this;
 			initializeInjector(context);
-			initializer.initialize();
+			try (StartupTracer.Phase initializePhase = StartupTracer.start("Initialize eager contributions")) {
+				initializer.initialize();
+			}
 		} catch (CoreException e) {
 			throw e;
 		} catch (Exception e) {
@@ -222,6 +227,10 @@ public class Activator extends Plugin {
 	@Override
 	public void stop(BundleContext context) throws Exception {
 		plugin = null;
+		if (injector != null) {
+			injector.getInstance(ResourceLoaderPool.class).shutdown();
+			injector.getInstance(BuildExecutors.class).shutdown();
+		}
 		injector = null;
 		if (initializer != null) {
 			initializer.discard();
@@ -9,11 +9,18 @@ package org.eclipse.xtext.ui.shared.internal;
 
 import java.util.Arrays;
 
+import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.xtext.builder.DerivedResourceIndex;
 import org.eclipse.xtext.builder.builderState.IBuilderState;
 import org.eclipse.xtext.builder.impl.BuildScheduler;
 import org.eclipse.xtext.builder.impl.IBuildFlag;
 import org.eclipse.xtext.builder.impl.ProjectOpenedOrClosedListener;
+import org.eclipse.xtext.builder.impl.SharedSourceLevelURICache;
 import org.eclipse.xtext.ui.shared.contribution.IEagerContribution;
 
 import com.google.inject.Inject;
@@ -31,24 +38,44 @@ public class ListenerRegistrar implements IEagerContribution {
 	private BuildScheduler buildManager;
 	@Inject
 	private IBuilderState builderState;
+	@Inject
+	private DerivedResourceIndex derivedResourceIndex;
+	@Inject
+	private SharedSourceLevelURICache sharedSourceLevelURICache;
 	
 	@Override
 	public void initialize() {
 		workspace.addResourceChangeListener(listener);
+		workspace.addResourceChangeListener(derivedResourceIndex, IResourceChangeEvent.PRE_CLOSE
+				| IResourceChangeEvent.PRE_DELETE | IResourceChangeEvent.POST_CHANGE);
+		workspace.addResourceChangeListener(sharedSourceLevelURICache, IResourceChangeEvent.PRE_CLOSE
+				| IResourceChangeEvent.PRE_DELETE | IResourceChangeEvent.POST_CHANGE);
 		
-		// If there are no open projects in a workspace after a restart, a newly opened Xtext project will
-		// trigger the infrastructure's initialization procedure. Since the listeners are than registered
-		// after the fact, the project-open event is already done. Thus no build is triggered for the newly
-		// opened project and the index state is corrupt.
-		// thus we trigger a recovery build here
-		if (builderState.isEmpty()) {
-			buildManager.scheduleBuildIfNecessary(Arrays.asList(workspace.getRoot().getProjects()), IBuildFlag.RECOVERY_BUILD);
-		}
+		// Checking the builder state loads the persisted index, which may take a while. The initialization
+		// happens when the first Xtext editor is opened, so the index is loaded in the background.
+		Job job = new Job("Loading Xtext index") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				// If there are no open projects in a workspace after a restart, a newly opened Xtext project will
+				// trigger the infrastructure's initialization procedure. Since the listeners are than registered
+				// after the fact, the project-open event is already done. Thus no build is triggered for the newly
+				// opened project and the index state is corrupt.
+				// thus we trigger a recovery build here
+				if (builderState.isEmpty()) {
+					buildManager.scheduleBuildIfNecessary(Arrays.asList(workspace.getRoot().getProjects()), IBuildFlag.RECOVERY_BUILD);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
 	}
 
 	@Override
 	public void discard() {
 		workspace.removeResourceChangeListener(listener);
+		workspace.removeResourceChangeListener(derivedResourceIndex);
+		workspace.removeResourceChangeListener(sharedSourceLevelURICache);
 	}
 	
 }
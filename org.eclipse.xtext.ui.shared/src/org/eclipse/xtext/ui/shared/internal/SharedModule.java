@@ -14,6 +14,8 @@ import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.PlatformUI;
+import org.eclipse.xtext.builder.BuildExecutors;
+import org.eclipse.xtext.builder.DerivedResourceIndex;
 import org.eclipse.xtext.builder.builderState.IBuilderState;
 import org.eclipse.xtext.builder.builderState.IMarkerUpdater;
 import org.eclipse.xtext.builder.builderState.PersistedStateProvider;
@@ -22,9 +24,11 @@ import org.eclipse.xtext.builder.impl.BuildScheduler;
 import org.eclipse.xtext.builder.impl.DirtyStateAwareResourceDescriptions;
 import org.eclipse.xtext.builder.impl.QueuedBuildData;
 import org.eclipse.xtext.builder.impl.RegistryBuilderParticipant;
+import org.eclipse.xtext.builder.impl.SharedSourceLevelURICache;
 import org.eclipse.xtext.builder.impl.ToBeBuiltComputer;
 import org.eclipse.xtext.builder.impl.XtextBuilder;
 import org.eclipse.xtext.builder.resourceloader.IResourceLoader;
+import org.eclipse.xtext.builder.resourceloader.ResourceLoaderPool;
 import org.eclipse.xtext.builder.resourceloader.ResourceLoaderProviders;
 import org.eclipse.xtext.generator.trace.DefaultTraceURIConverter;
 import org.eclipse.xtext.generator.trace.ITraceForURIProvider;
@@ -187,6 +191,10 @@ public class SharedModule extends AbstractModule {
 		bind(CompilerPhases.class);
 		bind(RegistryBuilderParticipant.class);
 		bind(IResourceLoader.Sorter.class);
+		bind(ResourceLoaderPool.class).toInstance(ResourceLoaderPool.getSharedInstance());
+		bind(BuildExecutors.class);
+		bind(DerivedResourceIndex.class);
+		bind(SharedSourceLevelURICache.class);
 		bind(IURIEditorOpener.class);
 		bind(OpenXtextElementHandler.class);
 		bind(GlobalDescriptionLabelProvider.class);
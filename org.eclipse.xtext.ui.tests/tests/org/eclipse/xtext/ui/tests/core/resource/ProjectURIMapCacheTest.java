@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.tests.core.resource;
+
+import static org.eclipse.xtext.ui.testing.util.IResourcesSetupUtil.*;
+import static org.eclipse.xtext.ui.testing.util.JavaProjectSetupUtil.*;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IStorage;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.xtext.ui.resource.JarEntryLocator;
+import org.eclipse.xtext.ui.resource.ProjectURIMapCache;
+import org.eclipse.xtext.ui.resource.Storage2UriMapperJavaImpl;
+import org.eclipse.xtext.ui.resource.UriValidator;
+import org.eclipse.xtext.ui.testing.util.JavaProjectSetupUtil.TextFile;
+import org.eclipse.xtext.ui.util.JavaProjectClasspathChangeAnalyzer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+public class ProjectURIMapCacheTest extends Assert {
+
+	private final Map<URI, URI> uriMap = ImmutableMap.of(URI.createURI("archive:foo.jar!/a.indexed"),
+			URI.createURI("archive:file:/foo.jar!/a.indexed"));
+
+	private ProjectURIMapCache cache;
+
+	private Storage2UriMapperJavaImpl storage2UriMapperJava;
+
+	@Before
+	public void setUp() {
+		cache = new ProjectURIMapCache();
+		storage2UriMapperJava = new Storage2UriMapperJavaImpl();
+		storage2UriMapperJava.setUriValidator(new UriValidator() {
+			@Override
+			public boolean isPossiblyManaged(IStorage storage) {
+				return "indexed".equals(storage.getFullPath().getFileExtension());
+			}
+
+			@Override
+			public boolean isValid(URI uri, IStorage storage) {
+				return "indexed".equals(storage.getFullPath().getFileExtension());
+			}
+		});
+		storage2UriMapperJava.setLocator(new JarEntryLocator());
+		storage2UriMapperJava.setWorkspace(ResourcesPlugin.getWorkspace());
+		storage2UriMapperJava.setJavaProjectClasspathChangeAnalyzer(new JavaProjectClasspathChangeAnalyzer());
+		storage2UriMapperJava.setUriMapCache(cache);
+		JavaCore.addElementChangedListener(storage2UriMapperJava);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaCore.removeElementChangedListener(storage2UriMapperJava);
+		cleanWorkspace();
+	}
+
+	@Test
+	public void testInvalidateProject() {
+		IProject first = getProject("first");
+		IProject second = getProject("second");
+		cache.put(first, uriMap, Collections.singleton("first"), cache.getGeneration());
+		cache.put(second, uriMap, Collections.singleton("second"), cache.getGeneration());
+		cache.invalidate(Collections.singleton("first"));
+		assertNull(cache.get(first));
+		assertEquals(uriMap, cache.get(second));
+	}
+
+	@Test
+	public void testInvalidateContributingProject() {
+		IProject first = getProject("first");
+		IProject second = getProject("second");
+		cache.put(first, uriMap, ImmutableSet.of("first", "second"), cache.getGeneration());
+		cache.put(second, uriMap, Collections.singleton("second"), cache.getGeneration());
+		cache.invalidate(Collections.singleton("second"));
+		assertNull(cache.get(first));
+		assertNull(cache.get(second));
+	}
+
+	@Test
+	public void testStaleMapIsNotCached() {
+		IProject first = getProject("first");
+		long generation = cache.getGeneration();
+		cache.invalidate(Collections.singleton("second"));
+		assertEquals(uriMap, cache.put(first, uriMap, Collections.singleton("first"), generation));
+		assertNull(cache.get(first));
+	}
+
+	@Test
+	public void testAddedFileKeepsMap() throws Exception {
+		IJavaProject project = createJavaProject("testProject");
+		cache.put(project.getProject(), uriMap, Collections.singleton("testProject"), cache.getGeneration());
+		createFile("testProject/src/foo/bar.indexed", "//empty");
+		assertEquals(uriMap, cache.get(project.getProject()));
+	}
+
+	@Test
+	public void testClasspathChangeInvalidatesMap() throws Exception {
+		IJavaProject project = createJavaProject("testProject");
+		IJavaProject other = createJavaProject("otherProject");
+		cache.put(project.getProject(), uriMap, Collections.singleton("testProject"), cache.getGeneration());
+		cache.put(other.getProject(), uriMap, Collections.singleton("otherProject"), cache.getGeneration());
+		addJarToClasspath(project, createJar(project));
+		assertNull(cache.get(project.getProject()));
+		assertEquals(uriMap, cache.get(other.getProject()));
+	}
+
+	@Test
+	public void testClosedProjectInvalidatesMap() throws Exception {
+		IJavaProject project = createJavaProject("testProject");
+		cache.put(project.getProject(), uriMap, Collections.singleton("testProject"), cache.getGeneration());
+		project.getProject().close(monitor());
+		assertNull(cache.get(project.getProject()));
+	}
+
+	private IProject getProject(String name) {
+		return ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+	}
+
+	private IFile createJar(IJavaProject project) throws Exception {
+		IFile file = project.getProject().getFile("foo.jar");
+		file.create(jarInputStream(new TextFile("foo/bar.indexed", "//empty")), true, monitor());
+		return file;
+	}
+
+}
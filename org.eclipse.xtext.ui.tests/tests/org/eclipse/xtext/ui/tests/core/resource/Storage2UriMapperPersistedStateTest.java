@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.tests.core.resource;
+
+import static org.eclipse.xtext.ui.testing.util.IResourcesSetupUtil.*;
+import static org.eclipse.xtext.ui.testing.util.JavaProjectSetupUtil.*;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IStorage;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.xtext.resource.impl.ResourceServiceProviderRegistryImpl;
+import org.eclipse.xtext.ui.resource.JarEntryLocator;
+import org.eclipse.xtext.ui.resource.Storage2UriMapperJavaImpl;
+import org.eclipse.xtext.ui.resource.UriValidator;
+import org.eclipse.xtext.ui.testing.util.JavaProjectSetupUtil.TextFile;
+import org.eclipse.xtext.ui.util.JavaProjectClasspathChangeAnalyzer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class Storage2UriMapperPersistedStateTest extends Assert {
+
+	private static class TestedMapper extends Storage2UriMapperJavaImpl {
+
+		private final File stateFile;
+
+		private final List<String> traversedRoots = Lists.newArrayList();
+
+		private TestedMapper(File stateFile) {
+			this.stateFile = stateFile;
+		}
+
+		@Override
+		public File getPersistedStateFile() {
+			return stateFile;
+		}
+
+		@Override
+		protected PackageFragmentRootData initializeData(IPackageFragmentRoot root) {
+			synchronized (traversedRoots) {
+				traversedRoots.add(root.getElementName());
+			}
+			return super.initializeData(root);
+		}
+
+		private int getTraversals(String rootName) {
+			synchronized (traversedRoots) {
+				return Collections.frequency(traversedRoots, rootName);
+			}
+		}
+	}
+
+	private File stateFile;
+
+	private IPackageFragmentRoot jarRoot;
+
+	@Before
+	public void setUp() throws Exception {
+		stateFile = File.createTempFile("packageFragmentRoots", ".index");
+		stateFile.delete();
+		IJavaProject project = createJavaProject("testProject");
+		IFile jar = project.getProject().getFile("foo.jar");
+		jar.create(jarInputStream(new TextFile("foo/bar.indexed", "//empty")), true, monitor());
+		addJarToClasspath(project, jar);
+		jarRoot = project.getPackageFragmentRoot(jar);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		stateFile.delete();
+		cleanWorkspace();
+	}
+
+	@Test
+	public void testRestoredDataIsNotTraversed() throws Exception {
+		TestedMapper first = createInitializedMapper("indexed");
+		assertEquals(1, first.getTraversals("foo.jar"));
+		assertTrue(stateFile.exists());
+		assertFalse(new File(stateFile.getPath() + ".tmp").exists());
+		Map<URI, IStorage> entries = first.getAllEntries(jarRoot);
+		assertEquals(1, entries.size());
+
+		TestedMapper second = createInitializedMapper("indexed");
+		Map<URI, IStorage> restored = second.getAllEntries(jarRoot);
+		assertEquals(entries.size(), restored.size());
+		for (URI uri : entries.keySet()) {
+			assertTrue(uri.toString(), restored.containsKey(uri));
+		}
+		assertEquals(0, second.getTraversals("foo.jar"));
+		for (URI uri : entries.keySet()) {
+			assertNotNull(uri.toString(), restored.get(uri));
+		}
+		assertEquals(1, second.getTraversals("foo.jar"));
+	}
+
+	@Test
+	public void testModifiedArchiveIsTraversed() throws Exception {
+		createInitializedMapper("indexed");
+		File jarFile = jarRoot.getResource().getLocation().toFile();
+		assertTrue(jarFile.setLastModified(jarFile.lastModified() + 10000));
+		TestedMapper second = createInitializedMapper("indexed");
+		assertEquals(1, second.getTraversals("foo.jar"));
+		assertEquals(1, second.getAllEntries(jarRoot).size());
+	}
+
+	@Test
+	public void testChangedLanguagesDiscardState() throws Exception {
+		createInitializedMapper("indexed");
+		TestedMapper second = createInitializedMapper("indexed", "other");
+		assertEquals(1, second.getTraversals("foo.jar"));
+	}
+
+	@Test
+	public void testCorruptStateIsIgnored() throws Exception {
+		assertTrue(stateFile.createNewFile());
+		TestedMapper mapper = createInitializedMapper("indexed");
+		assertEquals(1, mapper.getTraversals("foo.jar"));
+		assertEquals(1, mapper.getAllEntries(jarRoot).size());
+	}
+
+	private TestedMapper createInitializedMapper(String... fileExtensions) throws Exception {
+		final TestedMapper mapper = new TestedMapper(stateFile);
+		mapper.setUriValidator(new UriValidator() {
+			@Override
+			public boolean isPossiblyManaged(IStorage storage) {
+				return "indexed".equals(storage.getFullPath().getFileExtension());
+			}
+
+			@Override
+			public boolean isValid(URI uri, IStorage storage) {
+				return "indexed".equals(storage.getFullPath().getFileExtension());
+			}
+		});
+		mapper.setLocator(new JarEntryLocator());
+		mapper.setWorkspace(ResourcesPlugin.getWorkspace());
+		mapper.setJavaProjectClasspathChangeAnalyzer(new JavaProjectClasspathChangeAnalyzer());
+		ResourceServiceProviderRegistryImpl registry = new ResourceServiceProviderRegistryImpl();
+		for (String fileExtension : fileExtensions) {
+			registry.getExtensionToFactoryMap().put(fileExtension, new Object());
+		}
+		mapper.setResourceServiceProviderRegistry(registry);
+		// initializes the cache synchronously, since the workspace lock is held
+		ResourcesPlugin.getWorkspace().run(monitor -> mapper.initializeCache(), null);
+		return mapper;
+	}
+
+}
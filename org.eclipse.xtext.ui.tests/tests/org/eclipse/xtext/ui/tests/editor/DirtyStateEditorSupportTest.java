@@ -33,9 +33,11 @@ import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.impl.DefaultResourceDescription;
 import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
 import org.eclipse.xtext.resource.impl.DefaultResourceServiceProvider;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionChangeEvent;
 import org.eclipse.xtext.resource.impl.ResourceServiceProviderRegistryImpl;
 import org.eclipse.xtext.ui.editor.DirtyStateEditorSupport;
 import org.eclipse.xtext.ui.editor.DirtyStateEditorSupport.IDirtyStateEditorSupportClient;
+import org.eclipse.xtext.ui.editor.DirtyStateEditorSupport.IDirtyStateEditorSupportClientExtension2;
 import org.eclipse.xtext.ui.editor.DirtyStateManager;
 import org.eclipse.xtext.ui.editor.DirtyStateResourceDescription;
 import org.eclipse.xtext.ui.editor.DocumentBasedDirtyResource;
@@ -53,7 +55,7 @@ import com.google.common.collect.Lists;
  * @author Sebastian Zarnekow - Initial contribution and API
  */
 public class DirtyStateEditorSupportTest extends AbstractDocumentSimulatingTest 
-	implements DirtyStateEditorSupport.IDirtyStateEditorSupportClient, DirtyStateEditorSupport.IConcurrentEditingCallback, IDirtyResource,
+	implements DirtyStateEditorSupport.IDirtyStateEditorSupportClient, IDirtyStateEditorSupportClientExtension2, DirtyStateEditorSupport.IConcurrentEditingCallback, IDirtyResource,
 		IResourceDescription.Manager, IResourceDescriptions {
 
 	private DirtyStateEditorSupport dirtyStateSupport;
@@ -67,6 +69,8 @@ public class DirtyStateEditorSupportTest extends AbstractDocumentSimulatingTest
 	private DocumentBasedDirtyResource dirtyResource;
 	private IXtextDocument document;
 	private List<IEObjectDescription> exportedObjects;
+	private volatile boolean visible;
+	private List<Collection<Delta>> processedDeltas;
 
 	@Override
 	public void setUp() throws Exception {
@@ -113,6 +117,8 @@ public class DirtyStateEditorSupportTest extends AbstractDocumentSimulatingTest
 		dirtyStateSupport.setResourceServiceProviderRegistry(registry);
 		ignoreConcurrentEditing = Lists.newLinkedList();
 		exportedObjects = Collections.emptyList();
+		visible = true;
+		processedDeltas = Collections.synchronizedList(Lists.newArrayList());
 	}
 	
 	@Test public void testInitialize_01(){
@@ -312,6 +318,69 @@ public class DirtyStateEditorSupportTest extends AbstractDocumentSimulatingTest
 		assertTrue(dirtyStateManager.hasContent(resourceURI));
 	}
 	
+	@Test public void testUpdateOfHiddenClientIsDeferred() throws InterruptedException {
+		dirtyStateSupport.initializeDirtyStateSupport(this);
+		visible = false;
+		IResourceDescription first = createOtherDescription();
+		dirtyStateSupport.scheduleUpdateEditorJob(new ResourceDescriptionChangeEvent(
+				Collections.singletonList(createDelta(first, createOtherDescription()))));
+		dirtyStateSupport.waitForUpdateEditorJob();
+		assertTrue(processedDeltas.isEmpty());
+		visible = true;
+		dirtyStateSupport.clientVisible(this);
+		dirtyStateSupport.waitForUpdateEditorJob();
+		assertEquals(1, processedDeltas.size());
+		assertSame(first, processedDeltas.get(0).iterator().next().getOld());
+	}
+	
+	@Test public void testDeferredDeltasAreMergedPerURI() throws InterruptedException {
+		dirtyStateSupport.initializeDirtyStateSupport(this);
+		visible = false;
+		IResourceDescription first = createOtherDescription();
+		IResourceDescription current = first;
+		for (int i = 0; i < 3; i++) {
+			IResourceDescription next = createOtherDescription();
+			dirtyStateSupport.scheduleUpdateEditorJob(new ResourceDescriptionChangeEvent(
+					Collections.singletonList(createDelta(current, next))));
+			dirtyStateSupport.waitForUpdateEditorJob();
+			current = next;
+		}
+		assertTrue(processedDeltas.isEmpty());
+		visible = true;
+		dirtyStateSupport.clientVisible(this);
+		dirtyStateSupport.waitForUpdateEditorJob();
+		assertEquals(1, processedDeltas.size());
+		Collection<Delta> deltas = processedDeltas.get(0);
+		assertEquals(1, deltas.size());
+		assertSame(first, deltas.iterator().next().getOld());
+		assertSame(current, deltas.iterator().next().getNew());
+	}
+	
+	@Test public void testVisibleClientWithoutPendingChangesIsNotUpdated() throws InterruptedException {
+		dirtyStateSupport.initializeDirtyStateSupport(this);
+		dirtyStateSupport.scheduleUpdateEditorJob(new ResourceDescriptionChangeEvent(
+				Collections.singletonList(createDelta(createOtherDescription(), createOtherDescription()))));
+		dirtyStateSupport.waitForUpdateEditorJob();
+		assertEquals(1, processedDeltas.size());
+		dirtyStateSupport.clientVisible(this);
+		dirtyStateSupport.waitForUpdateEditorJob();
+		assertEquals(1, processedDeltas.size());
+	}
+	
+	private IResourceDescription createOtherDescription() {
+		return new DefaultResourceDescription(new XtextResource(URI.createURI("scheme://other")), null) {
+			@Override
+			protected List<IEObjectDescription> computeExportedObjects() {
+				return Collections.emptyList();
+			}
+		};
+	}
+	
+	@Override
+	public boolean isVisible() {
+		return visible;
+	}
+	
 	@Override
 	public void addVerifyListener(VerifyListener listener) {
 		assertNull(this.verifyListener);
@@ -413,6 +482,7 @@ public class DirtyStateEditorSupportTest extends AbstractDocumentSimulatingTest
 	@Override
 	public boolean isAffected(Collection<Delta> deltas, IResourceDescription candidate,
 			IResourceDescriptions descriptions) throws IllegalArgumentException {
+		processedDeltas.add(Lists.newArrayList(deltas));
 		return false;
 	}
 
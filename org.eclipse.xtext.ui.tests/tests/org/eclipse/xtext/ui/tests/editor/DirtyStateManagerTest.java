@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.tests.editor;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
+import org.eclipse.xtext.ui.editor.DirtyStateManager;
+import org.eclipse.xtext.ui.editor.IDirtyResource;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+
+public class DirtyStateManagerTest {
+
+	private DirtyStateManager dirtyStateManager;
+
+	@Before
+	public void setUp() {
+		dirtyStateManager = new DirtyStateManager();
+	}
+
+	@Test
+	public void testLookupByName() {
+		TestDirtyResource foo = new TestDirtyResource("foo", EObjectDescription.create("Foo", EcoreFactory.eINSTANCE.createEClass()));
+		TestDirtyResource bar = new TestDirtyResource("bar", EObjectDescription.create("Bar", EcoreFactory.eINSTANCE.createEDataType()));
+		assertTrue(dirtyStateManager.manageDirtyState(foo));
+		assertTrue(dirtyStateManager.manageDirtyState(bar));
+		assertEquals(1, Iterables.size(dirtyStateManager.getExportedObjects(EcorePackage.Literals.ECLASSIFIER, QualifiedName.create("Foo"), false)));
+		assertEquals(1, Iterables.size(dirtyStateManager.getExportedObjects(EcorePackage.Literals.ECLASSIFIER, QualifiedName.create("foo"), true)));
+		assertEquals(0, Iterables.size(dirtyStateManager.getExportedObjects(EcorePackage.Literals.ECLASSIFIER, QualifiedName.create("foo"), false)));
+		assertEquals(0, Iterables.size(dirtyStateManager.getExportedObjects(EcorePackage.Literals.EDATA_TYPE, QualifiedName.create("Foo"), false)));
+	}
+
+	@Test
+	public void testLookupByType() {
+		TestDirtyResource foo = new TestDirtyResource("foo", EObjectDescription.create("Foo", EcoreFactory.eINSTANCE.createEClass()));
+		TestDirtyResource bar = new TestDirtyResource("bar", EObjectDescription.create("Bar", EcoreFactory.eINSTANCE.createEDataType()));
+		dirtyStateManager.manageDirtyState(foo);
+		dirtyStateManager.manageDirtyState(bar);
+		assertEquals(2, Iterables.size(dirtyStateManager.getExportedObjectsByType(EcorePackage.Literals.ECLASSIFIER)));
+		assertEquals(1, Iterables.size(dirtyStateManager.getExportedObjectsByType(EcorePackage.Literals.ECLASS)));
+		assertEquals(0, Iterables.size(dirtyStateManager.getExportedObjectsByType(EcorePackage.Literals.EPACKAGE)));
+	}
+
+	@Test
+	public void testIndexIsUpdated() {
+		TestDirtyResource foo = new TestDirtyResource("foo", EObjectDescription.create("Foo", EcoreFactory.eINSTANCE.createEClass()));
+		dirtyStateManager.manageDirtyState(foo);
+		foo.setExported(EObjectDescription.create("Baz", EcoreFactory.eINSTANCE.createEClass()));
+		dirtyStateManager.announceDirtyStateChanged(foo);
+		assertEquals(0, Iterables.size(dirtyStateManager.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("Foo"), false)));
+		assertEquals(1, Iterables.size(dirtyStateManager.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("Baz"), false)));
+		dirtyStateManager.discardDirtyState(foo);
+		assertEquals(0, Iterables.size(dirtyStateManager.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("Baz"), false)));
+		assertEquals(0, Iterables.size(dirtyStateManager.getExportedObjectsByType(EcorePackage.Literals.ECLASS)));
+	}
+
+	private static class TestDirtyResource implements IDirtyResource {
+
+		private final URI uri;
+		private IResourceDescription description;
+
+		TestDirtyResource(String name, IEObjectDescription... exported) {
+			this.uri = URI.createURI("dirty:/" + name);
+			setExported(exported);
+		}
+
+		void setExported(IEObjectDescription... exported) {
+			final List<IEObjectDescription> exportedObjects = ImmutableList.copyOf(exported);
+			description = new AbstractResourceDescription() {
+				@Override
+				protected List<IEObjectDescription> computeExportedObjects() {
+					return exportedObjects;
+				}
+
+				@Override
+				public Iterable<QualifiedName> getImportedNames() {
+					return Collections.emptyList();
+				}
+
+				@Override
+				public Iterable<IReferenceDescription> getReferenceDescriptions() {
+					return Collections.emptyList();
+				}
+
+				@Override
+				public URI getURI() {
+					return uri;
+				}
+			};
+		}
+
+		@Override
+		public String getContents() {
+			return "";
+		}
+
+		@Override
+		public String getActualContents() {
+			return "";
+		}
+
+		@Override
+		public IResourceDescription getDescription() {
+			return description;
+		}
+
+		@Override
+		public URI getURI() {
+			return uri;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.tests.editor.folding;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.xtext.ui.editor.folding.ChangedRegionTracker;
+import org.eclipse.xtext.util.TextRegion;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ChangedRegionTrackerTest extends Assert {
+
+	private Document document;
+
+	private ChangedRegionTracker tracker;
+
+	@Before
+	public void setUp() {
+		document = new Document("hello world");
+		tracker = new ChangedRegionTracker();
+		document.addDocumentListener(tracker);
+	}
+
+	@Test public void testNoChange() {
+		assertNull(tracker.getAndReset());
+	}
+
+	@Test public void testInsert() throws Exception {
+		document.replace(5, 0, "XX");
+		assertEquals(new TextRegion(5, 2), tracker.getAndReset());
+		assertNull(tracker.getAndReset());
+	}
+
+	@Test public void testDelete() throws Exception {
+		document.replace(5, 3, "");
+		assertEquals(new TextRegion(5, 0), tracker.getAndReset());
+	}
+
+	@Test public void testDeleteBeforeChangedRegion() throws Exception {
+		document.replace(5, 0, "XX");
+		document.replace(0, 1, "");
+		assertEquals("elloXX world", document.get());
+		assertEquals(new TextRegion(0, 6), tracker.getAndReset());
+	}
+
+	@Test public void testInsertAfterChangedRegion() throws Exception {
+		document.replace(5, 0, "XX");
+		document.replace(document.getLength(), 0, "YY");
+		assertEquals("helloXX worldYY", document.get());
+		assertEquals(new TextRegion(5, 10), tracker.getAndReset());
+	}
+
+	@Test public void testReplaceChangedRegion() throws Exception {
+		document.replace(5, 0, "XX");
+		document.replace(4, 4, "Z");
+		assertEquals("hellZworld", document.get());
+		assertEquals(new TextRegion(4, 1), tracker.getAndReset());
+	}
+
+	@Test public void testChangeInsideChangedRegion() throws Exception {
+		document.replace(2, 0, "XXXX");
+		document.replace(3, 1, "YYY");
+		assertEquals("heXYYYXXllo world", document.get());
+		assertEquals(new TextRegion(2, 6), tracker.getAndReset());
+	}
+
+}
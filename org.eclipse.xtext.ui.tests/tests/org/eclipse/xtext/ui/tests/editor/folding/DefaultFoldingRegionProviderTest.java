@@ -10,20 +10,27 @@ package org.eclipse.xtext.ui.tests.editor.folding;
 import static org.eclipse.xtext.ui.testing.util.IResourcesSetupUtil.*;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.xtext.resource.DefaultLocationInFileProvider;
+import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.ui.editor.XtextEditor;
 import org.eclipse.xtext.ui.editor.folding.DefaultFoldingRegionProvider;
 import org.eclipse.xtext.ui.editor.folding.FoldedPosition;
+import org.eclipse.xtext.ui.editor.folding.IFoldingRegionAcceptor;
 import org.eclipse.xtext.ui.editor.model.IXtextDocument;
 import org.eclipse.xtext.ui.testing.AbstractEditorTest;
 import org.eclipse.xtext.ui.tests.folding.Element;
+import org.eclipse.xtext.util.ITextRegion;
+import org.eclipse.xtext.util.Pair;
+import org.eclipse.xtext.util.TextRegion;
 import org.junit.Test;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 
 /**
  * @author Sven Efftinge - Initial contribution and API
@@ -292,6 +299,87 @@ public class DefaultFoldingRegionProviderTest extends AbstractEditorTest {
 		assertEquals("element foo \n".length(), regions.iterator().next().getOffset());
 	}
 	
+	@Test public void testIncrementalFoldingRegionsOfElement() throws Exception {
+		String model = "element foo\nend\nelement bar\nelement baz\nend\nend\nelement qux\nend\n";
+		IFile iFile = createFile("foo/bar.foldingtestlanguage", model);
+		IXtextDocument document = openFileAndReturnDocument(iFile);
+		DefaultFoldingRegionProvider reg = createFoldingRegionProvider();
+		Pair<ITextRegion, Collection<FoldedPosition>> result = reg.getFoldingRegions(document,
+				new TextRegion(model.indexOf("baz"), 3));
+		assertNotNull(result);
+		int start = model.indexOf("element bar");
+		int end = model.indexOf("element qux");
+		assertEquals(new TextRegion(start, end - start), result.getFirst());
+		assertEquals(2, result.getSecond().size());
+		assertEquals(toString(getFoldingRegionsIn(reg.getFoldingRegions(document), result.getFirst())),
+				toString(result.getSecond()));
+	}
+
+	@Test public void testIncrementalFoldingRegionsOfComment() throws Exception {
+		String model = "element foo\nend\n/**\n*/\nelement bar\nend\n";
+		IFile iFile = createFile("foo/bar.foldingtestlanguage", model);
+		IXtextDocument document = openFileAndReturnDocument(iFile);
+		DefaultFoldingRegionProvider reg = createFoldingRegionProvider();
+		Pair<ITextRegion, Collection<FoldedPosition>> result = reg.getFoldingRegions(document,
+				new TextRegion(model.indexOf("*/"), 0));
+		assertNotNull(result);
+		int start = model.indexOf("/**");
+		assertTrue(result.getFirst().getOffset() <= start);
+		List<Integer> offsets = Lists.newArrayList();
+		for (FoldedPosition position : result.getSecond()) {
+			offsets.add(position.getOffset());
+		}
+		assertTrue(offsets.contains(start));
+		assertEquals(toString(getFoldingRegionsIn(reg.getFoldingRegions(document), result.getFirst())),
+				toString(result.getSecond()));
+	}
+
+	@SuppressWarnings("deprecation")
+	@Test public void testIncrementalFoldingIsDisabledForCustomizedDocumentFolding() throws Exception {
+		IFile iFile = createFile("foo/bar.foldingtestlanguage", "element foo\nend\n");
+		IXtextDocument document = openFileAndReturnDocument(iFile);
+		DefaultFoldingRegionProvider reg = new DefaultFoldingRegionProvider(new DefaultLocationInFileProvider()) {
+			@Override
+			public Collection<FoldedPosition> getFoldingRegions(IXtextDocument xtextDocument) {
+				return super.getFoldingRegions(xtextDocument);
+			}
+		};
+		assertNull(reg.getFoldingRegions(document, new TextRegion(0, 1)));
+	}
+
+	@SuppressWarnings("deprecation")
+	@Test public void testIncrementalFoldingIsDisabledForCustomizedObjectFolding() throws Exception {
+		IFile iFile = createFile("foo/bar.foldingtestlanguage", "element foo\nend\n");
+		IXtextDocument document = openFileAndReturnDocument(iFile);
+		DefaultFoldingRegionProvider reg = new DefaultFoldingRegionProvider(new DefaultLocationInFileProvider()) {
+			@Override
+			protected void computeObjectFolding(XtextResource xtextResource,
+					IFoldingRegionAcceptor<ITextRegion> foldingRegionAcceptor) {
+				super.computeObjectFolding(xtextResource, foldingRegionAcceptor);
+			}
+		};
+		assertNull(reg.getFoldingRegions(document, new TextRegion(0, 1)));
+	}
+
+	private List<FoldedPosition> getFoldingRegionsIn(Collection<FoldedPosition> positions, ITextRegion region) {
+		List<FoldedPosition> result = Lists.newArrayList();
+		for (FoldedPosition position : positions) {
+			if (position.getOffset() >= region.getOffset()
+					&& position.getOffset() + position.getLength() <= region.getOffset() + region.getLength()) {
+				result.add(position);
+			}
+		}
+		return result;
+	}
+
+	private String toString(Collection<FoldedPosition> positions) {
+		StringBuilder result = new StringBuilder();
+		for (FoldedPosition position : positions) {
+			result.append(position.getOffset()).append(':').append(position.getLength()).append('\n');
+		}
+		return result.toString();
+	}
+
 	protected IXtextDocument openFileAndReturnDocument(IFile iFile) throws Exception {
 		XtextEditor editor = openEditor(iFile);
 		IXtextDocument document = editor.getDocument();
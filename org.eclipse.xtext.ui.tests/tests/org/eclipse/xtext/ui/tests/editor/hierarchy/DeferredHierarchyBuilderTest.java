@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.tests.editor.hierarchy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.xtext.ide.editor.hierarchy.IHierarchyBuilder;
+import org.eclipse.xtext.ide.editor.hierarchy.IHierarchyNode;
+import org.eclipse.xtext.ide.editor.hierarchy.IHierarchyNodeReference;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.ui.editor.hierarchy.DeferredHierarchyBuilder;
+import org.eclipse.xtext.ui.editor.hierarchy.DeferredHierarchyBuilder.DeferredHierarchyNode;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ConcurrentHashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.inject.Guice;
+
+public class DeferredHierarchyBuilderTest extends Assert {
+
+	private static class TestNode implements IHierarchyNode {
+
+		private final IHierarchyNode parent;
+		private final IEObjectDescription element;
+		private final boolean mayHaveChildren;
+
+		private TestNode(IHierarchyNode parent, String name, boolean mayHaveChildren) {
+			this.parent = parent;
+			InternalEObject proxy = (InternalEObject) EcoreFactory.eINSTANCE.createEObject();
+			proxy.eSetProxyURI(URI.createURI("platform:/resource/test/test.ecore#" + name));
+			this.element = EObjectDescription.create(QualifiedName.create(name), proxy);
+			this.mayHaveChildren = mayHaveChildren;
+		}
+
+		@Override
+		public IEObjectDescription getElement() {
+			return element;
+		}
+
+		@Override
+		public IHierarchyNode getParent() {
+			return parent;
+		}
+
+		@Override
+		public Collection<IHierarchyNodeReference> getReferences() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public boolean isRecursive() {
+			return false;
+		}
+
+		@Override
+		public boolean mayHaveChildren() {
+			return mayHaveChildren;
+		}
+
+		@Override
+		public Object getNavigationElement() {
+			return element;
+		}
+
+		private String getName() {
+			return element.getName().toString();
+		}
+	}
+
+	private static class TestHierarchyBuilder implements IHierarchyBuilder {
+
+		private final Multiset<String> builtChildren = ConcurrentHashMultiset.create();
+
+		private boolean childrenMayHaveChildren;
+
+		@Override
+		public Collection<IHierarchyNode> buildRoots(URI rootURI, IProgressMonitor monitor) {
+			return Collections.singletonList(new TestNode(null, "root", true));
+		}
+
+		@Override
+		public Collection<IHierarchyNode> buildChildren(IHierarchyNode node, IProgressMonitor monitor) {
+			String name = ((TestNode) node).getName();
+			builtChildren.add(name);
+			List<IHierarchyNode> result = new ArrayList<>();
+			for (int i = 0; i < 2; i++) {
+				result.add(new TestNode(node, name + "." + i, childrenMayHaveChildren));
+			}
+			return result;
+		}
+	}
+
+	private TestHierarchyBuilder hierarchyBuilder;
+
+	private DeferredHierarchyBuilder deferredBuilder;
+
+	@Before
+	public void setUp() {
+		hierarchyBuilder = new TestHierarchyBuilder();
+		deferredBuilder = Guice.createInjector().getInstance(DeferredHierarchyBuilder.class);
+		deferredBuilder.setHierarchyBuilder(hierarchyBuilder);
+	}
+
+	@Test
+	public void testCachedChildrenKeepTheirType() {
+		TestNode root = new TestNode(null, "root", true);
+		List<IHierarchyNode> first = getDelegates(deferredBuilder.buildChildren(root, new NullProgressMonitor()));
+		List<IHierarchyNode> second = getDelegates(deferredBuilder.buildChildren(root, new NullProgressMonitor()));
+		assertEquals(1, hierarchyBuilder.builtChildren.count("root"));
+		assertEquals(first, second);
+		for (IHierarchyNode child : second) {
+			assertTrue(child instanceof TestNode);
+			assertSame(root, child.getParent());
+		}
+	}
+
+	@Test
+	public void testChildrenOfOtherParentInstanceAreRebuilt() {
+		TestNode root = new TestNode(null, "root", true);
+		deferredBuilder.buildChildren(root, new NullProgressMonitor());
+		TestNode refreshedRoot = new TestNode(null, "root", true);
+		List<IHierarchyNode> children = getDelegates(
+				deferredBuilder.buildChildren(refreshedRoot, new NullProgressMonitor()));
+		assertEquals(2, hierarchyBuilder.builtChildren.count("root"));
+		for (IHierarchyNode child : children) {
+			assertSame(refreshedRoot, child.getParent());
+		}
+	}
+
+	@Test
+	public void testRebuiltRootsClearTheCache() {
+		TestNode root = new TestNode(null, "root", true);
+		deferredBuilder.buildChildren(root, new NullProgressMonitor());
+		deferredBuilder.buildRoots(URI.createURI("platform:/resource/test/test.ecore"), new NullProgressMonitor());
+		deferredBuilder.buildChildren(root, new NullProgressMonitor());
+		assertEquals(2, hierarchyBuilder.builtChildren.count("root"));
+	}
+
+	@Test
+	public void testPrefetchedChildrenAreCached() throws Exception {
+		hierarchyBuilder.childrenMayHaveChildren = true;
+		TestNode root = new TestNode(null, "root", true);
+		List<IHierarchyNode> children = getDelegates(deferredBuilder.buildChildren(root, new NullProgressMonitor()));
+		Job.getJobManager().join(deferredBuilder, null);
+		assertEquals(1, hierarchyBuilder.builtChildren.count("root.0"));
+		deferredBuilder.buildChildren(children.get(0), new NullProgressMonitor());
+		assertEquals(1, hierarchyBuilder.builtChildren.count("root.0"));
+	}
+
+	@Test
+	public void testCancelPrefetching() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch canceled = new CountDownLatch(1);
+		deferredBuilder.setHierarchyBuilder(new TestHierarchyBuilder() {
+			@Override
+			public Collection<IHierarchyNode> buildChildren(IHierarchyNode node, IProgressMonitor monitor) {
+				if (node.getParent() == null) {
+					return Collections.singletonList(new TestNode(node, "child", true));
+				}
+				started.countDown();
+				while (!monitor.isCanceled()) {
+					try {
+						Thread.sleep(10);
+					} catch (InterruptedException e) {
+						return Collections.emptyList();
+					}
+				}
+				canceled.countDown();
+				return Collections.emptyList();
+			}
+		});
+		deferredBuilder.buildChildren(new TestNode(null, "root", true), new NullProgressMonitor());
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		deferredBuilder.cancelPrefetching();
+		assertTrue(canceled.await(10, TimeUnit.SECONDS));
+		Job.getJobManager().join(deferredBuilder, null);
+		assertEquals(0, Job.getJobManager().find(deferredBuilder).length);
+	}
+
+	private List<IHierarchyNode> getDelegates(Collection<IHierarchyNode> nodes) {
+		List<IHierarchyNode> result = new ArrayList<>();
+		for (IHierarchyNode node : nodes) {
+			result.add(((DeferredHierarchyNode) node).getDelegate());
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.tests.editor.hover.html;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.ui.editor.hover.html.HoverDocumentationCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.base.Function;
+
+public class HoverDocumentationCacheTest extends Assert {
+
+	private final AtomicInteger computations = new AtomicInteger();
+
+	private final Function<EObject, String> computation = (EObject element) -> "doc" + computations.incrementAndGet();
+
+	@Test public void testCachedPerModificationStamp() {
+		HoverDocumentationCache cache = new HoverDocumentationCache();
+		XtextResource resource = createResource();
+		EObject element = resource.getContents().get(0);
+		assertEquals("doc1", cache.getDocumentation(element, computation));
+		assertEquals("doc1", cache.getDocumentation(element, computation));
+		resource.setModificationStamp(resource.getModificationStamp() + 1);
+		assertEquals("doc2", cache.getDocumentation(element, computation));
+		assertEquals(2, computations.get());
+	}
+
+	@Test public void testReloadedResourceIsNotCached() {
+		HoverDocumentationCache cache = new HoverDocumentationCache();
+		assertEquals("doc1", cache.getDocumentation(createResource().getContents().get(0), computation));
+		assertEquals("doc2", cache.getDocumentation(createResource().getContents().get(0), computation));
+	}
+
+	@Test public void testDetachedElementIsNotCached() {
+		HoverDocumentationCache cache = new HoverDocumentationCache();
+		EObject element = EcoreFactory.eINSTANCE.createEClass();
+		assertEquals("doc1", cache.getDocumentation(element, computation));
+		assertEquals("doc2", cache.getDocumentation(element, computation));
+	}
+
+	private XtextResource createResource() {
+		XtextResource resource = new XtextResource(URI.createURI("test.ecore"));
+		resource.getContents().add(EcoreFactory.eINSTANCE.createEClass());
+		return resource;
+	}
+
+}
@@ -10,11 +10,15 @@ package org.eclipse.xtext.ui.tests.editor.occurrences;
 import static com.google.common.collect.Lists.*;
 import static org.eclipse.xtext.ui.editor.occurrences.DefaultOccurrenceComputer.*;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.TextSelection;
@@ -127,6 +131,32 @@ public class MarkOccurrencesTest extends AbstractEditorTest {
 		listener.verify(TIMEOUT);
 	}
 
+	@Test public void testReferenceIndexIsRebuiltAfterModification() throws Exception {
+		String model = "Foo { Bar(Foo) {} }";
+		IFile modelFile = IResourcesSetupUtil.createFile("test/src/Test.outlinetestlanguage", model);
+		XtextEditor editor = openEditor(modelFile);
+		TextSelection selection = new TextSelection(0, 1);
+		assertEquals(newArrayList(model.indexOf("Foo", 3)), getOccurrenceOffsets(editor, selection));
+		
+		editor.getDocument().replace(model.lastIndexOf("}"), 0, "Baz(Foo) {} ");
+		String newModel = editor.getDocument().get();
+		assertEquals(newArrayList(newModel.indexOf("Foo", 3), newModel.lastIndexOf("Foo")),
+				getOccurrenceOffsets(editor, selection));
+	}
+
+	private List<Integer> getOccurrenceOffsets(XtextEditor editor, TextSelection selection) {
+		Map<Annotation, Position> annotations = occurrenceComputer.createAnnotationMap(editor, selection,
+				SubMonitor.convert(new NullProgressMonitor()));
+		List<Integer> result = newArrayList();
+		for (Map.Entry<Annotation, Position> entry : annotations.entrySet()) {
+			if (OCCURRENCE_ANNOTATION_TYPE.equals(entry.getKey().getType())) {
+				result.add(entry.getValue().getOffset());
+			}
+		}
+		Collections.sort(result);
+		return result;
+	}
+
 	protected void setMarkOccurrences(boolean isMarkOccurrences) {
 		preferenceStoreAccess.getWritablePreferenceStore().setValue(contributor.getPreferenceKey(), isMarkOccurrences);
 	}
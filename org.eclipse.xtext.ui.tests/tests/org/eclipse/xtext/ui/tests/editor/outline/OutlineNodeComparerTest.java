@@ -17,11 +17,15 @@ import org.eclipse.xtext.ISetup;
 import org.eclipse.xtext.junit4.AbstractXtextTests;
 import org.eclipse.xtext.ui.editor.outline.impl.DocumentRootNode;
 import org.eclipse.xtext.ui.editor.outline.impl.EObjectNode;
+import org.eclipse.xtext.ui.editor.outline.IOutlineNode;
 import org.eclipse.xtext.ui.editor.outline.impl.IOutlineNodeComparer;
+import org.eclipse.xtext.ui.editor.outline.impl.OutlineRefreshJob;
 import org.eclipse.xtext.ui.tests.internal.TestsActivator;
 import org.eclipse.xtext.ui.tests.editor.outline.outlineTest.OutlineTestFactory;
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Guice;
 import com.google.inject.Injector;
 
 /**
@@ -87,4 +91,65 @@ public class OutlineNodeComparerTest extends AbstractXtextTests {
 		assertFalse(comparer.equals(node, node5));
 	}
 
+	@Test public void testHashIsConsistentWithEquals() {
+		DocumentRootNode rootNode = new DocumentRootNode(image, "Root", null, null);
+		EObjectNode node = new EObjectNode(eObject, rootNode, image, new StyledString("Node"), false);
+		DocumentRootNode rootNode2 = new DocumentRootNode(image, "Root", null, null);
+		EObjectNode node2 = new EObjectNode(OutlineTestFactory.eINSTANCE.createElement(), rootNode2, image, "Node", false);
+		assertTrue(comparer.equals(node, node2));
+		assertEquals(comparer.hash(node), comparer.hash(node2));
+		EObjectNode node3 = new EObjectNode(eObject, rootNode2, image, "OtherNode", false);
+		assertFalse(comparer.hash(node) == comparer.hash(node3));
+	}
+
+	@Test public void testHashLookupWithDefaultComparer() {
+		TestRefreshJob job = createRefreshJob(new IOutlineNodeComparer.Default());
+		assertNotNull(job.getHashing());
+		EObjectNode node = new EObjectNode(eObject, null, image, "Node", false);
+		assertTrue(job.contains(ImmutableList.of(node), new EObjectNode(eObject, null, image, "Node", false)));
+		assertFalse(job.contains(ImmutableList.of(node), new EObjectNode(eObject, null, image, "Other", false)));
+	}
+
+	@Test public void testNoHashLookupWithRelaxedSubclass() {
+		TestRefreshJob job = createRefreshJob(new IgnoringTextComparer());
+		assertNull(job.getHashing());
+		EObjectNode node = new EObjectNode(eObject, null, image, "Node", false);
+		assertTrue(job.contains(ImmutableList.of(node), new EObjectNode(eObject, null, image, "Renamed", false)));
+	}
+
+	@Test public void testHashLookupWithOptedInSubclass() {
+		TestRefreshJob job = createRefreshJob(new HashingComparer());
+		assertNotNull(job.getHashing());
+		EObjectNode node = new EObjectNode(eObject, null, image, "Node", false);
+		assertTrue(job.contains(ImmutableList.of(node), new EObjectNode(eObject, null, image, "Node", false)));
+	}
+
+	private TestRefreshJob createRefreshJob(IOutlineNodeComparer nodeComparer) {
+		return Guice.createInjector(binder -> binder.bind(IOutlineNodeComparer.class).toInstance(nodeComparer))
+				.getInstance(TestRefreshJob.class);
+	}
+
+	public static class TestRefreshJob extends OutlineRefreshJob {
+		@Override
+		public IOutlineNodeComparer.Extension getHashing() {
+			return super.getHashing();
+		}
+
+		public boolean contains(Iterable<IOutlineNode> list, IOutlineNode node) {
+			return containsUsingComparer(list, node);
+		}
+	}
+
+	private static class IgnoringTextComparer extends IOutlineNodeComparer.Default {
+		@Override
+		public boolean equals(IOutlineNode node1, IOutlineNode node2) {
+			if (node1 == null || node2 == null)
+				return node1 == null && node2 == null;
+			return node1.getClass() == node2.getClass() && equals(node1.getParent(), node2.getParent());
+		}
+	}
+
+	private static class HashingComparer extends IOutlineNodeComparer.Default implements IOutlineNodeComparer.Extension {
+	}
+
 }
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.tests.editor.reconciler;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.xtext.XtextStandaloneSetup;
+import org.eclipse.xtext.junit4.AbstractXtextTests;
+import org.eclipse.xtext.parser.antlr.Lexer;
+import org.eclipse.xtext.parser.antlr.internal.InternalXtextLexer;
+import org.eclipse.xtext.resource.OutdatedStateManager;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.service.OperationCanceledManager;
+import org.eclipse.xtext.ui.editor.model.DocumentTokenSource;
+import org.eclipse.xtext.ui.editor.model.XtextDocument;
+import org.eclipse.xtext.ui.editor.reconciler.ReconcilerReplaceRegion;
+import org.eclipse.xtext.ui.editor.reconciler.XtextDocumentReconcileStrategy;
+import org.eclipse.xtext.ui.editor.reconciler.XtextReconciler;
+import org.eclipse.xtext.util.StringInputStream;
+import org.junit.Test;
+
+import com.google.inject.Provider;
+
+public class PhasedReconciliationTest extends AbstractXtextTests {
+
+	private static final String MODEL = "grammar foo.Foo generate foo \"foo://foo/42\" Foo: name=ID;";
+
+	private static class TestedReconciler extends XtextReconciler {
+
+		private TestedReconciler(XtextDocumentReconcileStrategy strategy) {
+			super(strategy);
+		}
+
+		@Override
+		protected boolean isPhasedReconciliation(XtextDocument document) {
+			return true;
+		}
+
+		@Override
+		public IStatus run(IProgressMonitor monitor) {
+			return super.run(monitor);
+		}
+	}
+
+	private final List<ReconcilerReplaceRegion> completedRegions = new ArrayList<ReconcilerReplaceRegion>();
+
+	private NullProgressMonitor canceledAfterParse;
+
+	private XtextDocument document;
+
+	private XtextResource resource;
+
+	private TestedReconciler reconciler;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(XtextStandaloneSetup.class);
+		resource = getResource(new StringInputStream(MODEL));
+		DocumentTokenSource tokenSource = new DocumentTokenSource();
+		tokenSource.setLexer(new Provider<Lexer>() {
+			@Override
+			public Lexer get() {
+				return new InternalXtextLexer();
+			}
+		});
+		document = new XtextDocument(tokenSource, null, new OutdatedStateManager(), new OperationCanceledManager());
+		document.set(MODEL);
+		document.setInput(resource);
+		reconciler = new TestedReconciler(new XtextDocumentReconcileStrategy() {
+			@Override
+			public void reconcileParse(IRegion region) {
+				super.reconcileParse(region);
+				if (canceledAfterParse != null) {
+					canceledAfterParse.setCanceled(true);
+				}
+			}
+
+			@Override
+			public void reconcileAfterParse(IRegion region) {
+				completedRegions.add((ReconcilerReplaceRegion) region);
+				super.reconcileAfterParse(region);
+			}
+		});
+		// changes are reconciled by calling run explicitly
+		reconciler.setDelay(Integer.MAX_VALUE);
+		reconciler.install((ITextViewer) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { ITextViewer.class }, (proxy, method, args) -> {
+					if ("getDocument".equals(method.getName())) {
+						return document;
+					}
+					return null;
+				}));
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		reconciler.uninstall();
+		super.tearDown();
+	}
+
+	@Test public void testCompletedRegion() throws Exception {
+		document.replace(MODEL.indexOf("Foo:"), 3, "Bar");
+		reconciler.run(new NullProgressMonitor());
+		assertEquals(document.get(), resource.getParseResult().getRootNode().getText());
+		assertEquals(1, completedRegions.size());
+		assertRegion(MODEL.indexOf("Foo:"), 3, "Bar", completedRegions.get(0));
+	}
+
+	@Test public void testUnfinishedRegionIsMergedIntoNextRun() throws Exception {
+		document.replace(MODEL.indexOf("Foo:"), 3, "Bar");
+		canceledAfterParse = new NullProgressMonitor();
+		reconciler.run(canceledAfterParse);
+		assertTrue(completedRegions.isEmpty());
+		assertEquals(document.get(), resource.getParseResult().getRootNode().getText());
+
+		canceledAfterParse = null;
+		document.replace(MODEL.indexOf("ID"), 2, "STRING");
+		reconciler.run(new NullProgressMonitor());
+		assertEquals(document.get(), resource.getParseResult().getRootNode().getText());
+		assertEquals(1, completedRegions.size());
+		ReconcilerReplaceRegion completed = completedRegions.get(0);
+		int offset = MODEL.indexOf("Foo:");
+		assertRegion(offset, MODEL.indexOf("ID") + 2 - offset, "Bar: name=STRING", completed);
+		StringBuilder text = new StringBuilder(MODEL);
+		completed.applyTo(text);
+		assertEquals(document.get(), text.toString());
+	}
+
+	@Test public void testUnfinishedRegionIsCompletedWithoutNewChanges() throws Exception {
+		document.replace(MODEL.indexOf("Foo:"), 3, "Bar");
+		canceledAfterParse = new NullProgressMonitor();
+		reconciler.run(canceledAfterParse);
+		assertTrue(completedRegions.isEmpty());
+
+		canceledAfterParse = null;
+		reconciler.run(new NullProgressMonitor());
+		assertEquals(1, completedRegions.size());
+		assertRegion(MODEL.indexOf("Foo:"), 3, "Bar", completedRegions.get(0));
+	}
+
+	private void assertRegion(int offset, int length, String text, ReconcilerReplaceRegion region) {
+		assertEquals(offset, region.getOffset());
+		assertEquals(length, region.getLength());
+		assertEquals(text, region.getText());
+	}
+
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.tests.refactoring;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.xtext.builder.builderState.BuilderStateUtil;
+import org.eclipse.xtext.junit4.AbstractXtextTests;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.impl.DefaultReferenceDescription;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.ui.refactoring.ElementRenameArguments;
+import org.eclipse.xtext.ui.refactoring.IRefactoringUpdateAcceptor;
+import org.eclipse.xtext.ui.refactoring.IRenameStrategy;
+import org.eclipse.xtext.ui.refactoring.impl.DefaultReferenceUpdater;
+import org.eclipse.xtext.ui.refactoring.impl.IRefactoringDocument;
+import org.eclipse.xtext.ui.refactoring.impl.StatusWrapper;
+import org.eclipse.xtext.ui.tests.internal.TestsActivator;
+import org.eclipse.xtext.ui.tests.refactoring.refactoring.RefactoringPackage;
+import org.eclipse.xtext.util.TextRegion;
+import org.junit.Test;
+
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+
+public class DefaultReferenceUpdaterTest extends AbstractXtextTests implements IRefactoringUpdateAcceptor {
+
+	public static class TestUpdater extends DefaultReferenceUpdater {
+
+		private IResourceDescriptions index = new ResourceDescriptionsData(Collections.<IResourceDescription>emptyList());
+
+		@Override
+		public Set<URI> createIndexOnlyReferenceUpdates(ElementRenameArguments elementRenameArguments,
+				Multimap<URI, IReferenceDescription> resource2references, IRefactoringUpdateAcceptor updateAcceptor,
+				IProgressMonitor monitor) {
+			return super.createIndexOnlyReferenceUpdates(elementRenameArguments, resource2references, updateAcceptor,
+					monitor);
+		}
+
+		@Override
+		protected IResourceDescriptions getResourceDescriptions() {
+			return index;
+		}
+	}
+
+	private static class RenameStrategy implements IRenameStrategy {
+
+		@Override
+		public String getOriginalName() {
+			return "A";
+		}
+
+		@Override
+		public RefactoringStatus validateNewName(String newName) {
+			return new RefactoringStatus();
+		}
+
+		@Override
+		public void applyDeclarationChange(String newName, ResourceSet resourceSet) {
+		}
+
+		@Override
+		public void revertDeclarationChange(ResourceSet resourceSet) {
+		}
+
+		@Override
+		public void createDeclarationUpdates(String newName, ResourceSet resourceSet,
+				IRefactoringUpdateAcceptor updateAcceptor) {
+		}
+	}
+
+	private static final URI TARGET = URI.createURI("platform:/resource/test/target.refactoringtestlanguage#//@elements.0");
+
+	private static final URI REFERRING = URI.createURI("platform:/resource/test/referring.refactoringtestlanguage");
+
+	private static final String REFERRING_TEXT = "X { ref A ref A }";
+
+	private final Map<URI, String> contents = Maps.newHashMap();
+
+	private final List<TextEdit> edits = Lists.newArrayList();
+
+	private TestUpdater updater;
+
+	private StatusWrapper status;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		setInjector(TestsActivator.getInstance().getInjector("org.eclipse.xtext.ui.tests.refactoring.RefactoringTestLanguage"));
+		updater = get(TestUpdater.class);
+		status = get(StatusWrapper.class);
+		contents.put(REFERRING, REFERRING_TEXT);
+	}
+
+	@Test public void testIndexOnlyUpdate() {
+		Set<URI> updated = updateReferences("B", indexedReference(REFERRING_TEXT.indexOf('A'), 0),
+				indexedReference(REFERRING_TEXT.lastIndexOf('A'), 1));
+		assertEquals(Collections.singleton(REFERRING), updated);
+		assertEquals(2, edits.size());
+		for (TextEdit edit : edits) {
+			assertTrue(edit instanceof ReplaceEdit);
+			assertEquals("B", ((ReplaceEdit) edit).getText());
+			assertEquals(1, edit.getLength());
+			assertEquals("A", REFERRING_TEXT.substring(edit.getOffset(), edit.getOffset() + 1));
+		}
+	}
+
+	@Test public void testReferenceWithoutRegionIsLoaded() {
+		IReferenceDescription withoutRegion = new DefaultReferenceDescription(REFERRING.appendFragment("//@elements.0"),
+				TARGET, RefactoringPackage.Literals.ELEMENT__REFERENCED, 1, null);
+		assertTrue(updateReferences("B", indexedReference(REFERRING_TEXT.indexOf('A'), 0), withoutRegion).isEmpty());
+		assertTrue(edits.isEmpty());
+	}
+
+	@Test public void testOutdatedRegionIsLoaded() {
+		contents.put(REFERRING, "X { ref AA ref A }");
+		assertTrue(updateReferences("B", indexedReference(REFERRING_TEXT.indexOf('A'), 0)).isEmpty());
+		assertTrue(edits.isEmpty());
+	}
+
+	@Test public void testReferenceToOtherElementIsLoaded() {
+		IReferenceDescription toChild = BuilderStateUtil.create(
+				new DefaultReferenceDescription(REFERRING.appendFragment("//@elements.0"),
+						TARGET.trimFragment().appendFragment("//@elements.0/@contained.0"),
+						RefactoringPackage.Literals.ELEMENT__REFERENCED, 0, null),
+				new TextRegion(REFERRING_TEXT.indexOf('A'), 1));
+		assertTrue(updateReferences("B", toChild).isEmpty());
+		assertTrue(edits.isEmpty());
+	}
+
+	@Test public void testKeywordIsLoaded() {
+		assertTrue(updateReferences("ref", indexedReference(REFERRING_TEXT.indexOf('A'), 0)).isEmpty());
+		assertTrue(edits.isEmpty());
+	}
+
+	@Test public void testNewNameInReferringResourceIsLoaded() {
+		String text = "X { ref A B }";
+		contents.put(REFERRING, text);
+		assertTrue(updateReferences("B", indexedReference(text.indexOf('A'), 0)).isEmpty());
+		assertTrue(edits.isEmpty());
+	}
+
+	@Test public void testExportedNewNameIsLoaded() throws Exception {
+		// the renamed element A and an element with its new name
+		XtextResource resource = getResourceFromString("A B");
+		resource.setURI(TARGET.trimFragment());
+		IResourceDescription description = get(IResourceDescription.Manager.class).getResourceDescription(resource);
+		updater.index = new ResourceDescriptionsData(Collections.singletonList(description));
+		assertTrue(updateReferences("B", indexedReference(REFERRING_TEXT.indexOf('A'), 0)).isEmpty());
+		assertTrue(edits.isEmpty());
+		assertEquals(Collections.singleton(REFERRING),
+				updateReferences("C", indexedReference(REFERRING_TEXT.indexOf('A'), 0)));
+	}
+
+	private IReferenceDescription indexedReference(int offset, int index) {
+		return BuilderStateUtil.create(new DefaultReferenceDescription(REFERRING.appendFragment("//@elements.0"),
+				TARGET, RefactoringPackage.Literals.ELEMENT__REFERENCED, index, null), new TextRegion(offset, 1));
+	}
+
+	private Set<URI> updateReferences(String newName, IReferenceDescription... references) {
+		ElementRenameArguments arguments = new ElementRenameArguments(TARGET, newName, new RenameStrategy(),
+				Collections.singletonMap(TARGET, TARGET), null);
+		Multimap<URI, IReferenceDescription> resource2references = LinkedHashMultimap.create();
+		for (IReferenceDescription reference : references) {
+			resource2references.put(reference.getSourceEObjectUri().trimFragment(), reference);
+		}
+		return updater.createIndexOnlyReferenceUpdates(arguments, resource2references, this, new NullProgressMonitor());
+	}
+
+	@Override
+	public void accept(URI resourceURI, TextEdit textEdit) {
+		edits.add(textEdit);
+	}
+
+	@Override
+	public void accept(URI resourceURI, Change change) {
+		fail("Unexpected change");
+	}
+
+	@Override
+	public StatusWrapper getRefactoringStatus() {
+		return status;
+	}
+
+	@Override
+	public IRefactoringDocument getDocument(URI resourceURI) {
+		return new MockRefactoringDocument(resourceURI, contents.get(resourceURI));
+	}
+
+	@Override
+	public Change createCompositeChange(String name, IProgressMonitor monitor) {
+		return null;
+	}
+
+}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.tests.refactoring;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.xtext.junit4.AbstractXtextTests;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.impl.DefaultReferenceDescription;
+import org.eclipse.xtext.ui.refactoring.ElementRenameArguments;
+import org.eclipse.xtext.ui.refactoring.IRefactoringUpdateAcceptor;
+import org.eclipse.xtext.ui.refactoring.impl.AbstractReferenceUpdater;
+import org.eclipse.xtext.ui.refactoring.impl.IRefactoringDocument;
+import org.eclipse.xtext.ui.refactoring.impl.RefactoringResourceSetProvider;
+import org.eclipse.xtext.ui.refactoring.impl.StatusWrapper;
+import org.eclipse.xtext.ui.tests.internal.TestsActivator;
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
+
+public class ParallelReferenceUpdaterTest extends AbstractXtextTests implements IRefactoringUpdateAcceptor {
+
+	public static class TestUpdater extends AbstractReferenceUpdater {
+
+		private final List<URI> processed = Collections.synchronizedList(Lists.<URI>newArrayList());
+
+		private final Set<Thread> threads = Collections.synchronizedSet(Sets.<Thread>newHashSet());
+
+		private final Set<ResourceSet> resourceSets = Collections.synchronizedSet(Sets.<ResourceSet>newHashSet());
+
+		@Override
+		public int getParallelism() {
+			return super.getParallelism();
+		}
+
+		@Override
+		protected int getClusterSize() {
+			return 2;
+		}
+
+		@Override
+		public void createParallelClusteredReferenceUpdates(ElementRenameArguments elementRenameArguments,
+				Multimap<URI, IReferenceDescription> resource2references, IProject project,
+				RefactoringResourceSetProvider resourceSetProvider, IRefactoringUpdateAcceptor updateAcceptor,
+				StatusWrapper status, IProgressMonitor monitor) {
+			super.createParallelClusteredReferenceUpdates(elementRenameArguments, resource2references, project,
+					resourceSetProvider, updateAcceptor, status, monitor);
+		}
+
+		@Override
+		protected boolean loadTargetResources(ResourceSet resourceSet, ElementRenameArguments elementRenameArguments,
+				StatusWrapper status, IProgressMonitor monitor) {
+			return true;
+		}
+
+		@Override
+		protected void createReferenceUpdatesForCluster(ElementRenameArguments elementRenameArguments,
+				Multimap<URI, IReferenceDescription> resource2references, ResourceSet resourceSet,
+				IRefactoringUpdateAcceptor updateAcceptor, StatusWrapper status, IProgressMonitor monitor) {
+			threads.add(Thread.currentThread());
+			resourceSets.add(resourceSet);
+			for (URI uri : resource2references.keySet()) {
+				processed.add(uri);
+				updateAcceptor.accept(uri, new ReplaceEdit(0, 1, elementRenameArguments.getNewName()));
+				if (uri.lastSegment().startsWith("ref3")) {
+					updateAcceptor.getRefactoringStatus().add(RefactoringStatus.WARNING, "Warning for {0}", uri);
+				}
+			}
+		}
+
+		@Override
+		protected void createReferenceUpdates(ElementRenameArguments elementRenameArguments,
+				Multimap<URI, IReferenceDescription> resource2references, ResourceSet resourceSet,
+				IRefactoringUpdateAcceptor updateAcceptor, IProgressMonitor monitor) {
+		}
+	}
+
+	private final List<URI> acceptedEdits = Lists.newArrayList();
+
+	private StatusWrapper status;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		setInjector(TestsActivator.getInstance().getInjector("org.eclipse.xtext.ui.tests.refactoring.RefactoringTestLanguage"));
+		status = get(StatusWrapper.class);
+	}
+
+	@After
+	public void clearProperty() {
+		System.clearProperty(AbstractReferenceUpdater.PARALLELISM_PROPERTY);
+	}
+
+	@Test public void testSequentialByDefault() {
+		assertEquals(1, get(TestUpdater.class).getParallelism());
+	}
+
+	@Test public void testParallelismIsConfigurable() {
+		System.setProperty(AbstractReferenceUpdater.PARALLELISM_PROPERTY, "3");
+		assertEquals(3, get(TestUpdater.class).getParallelism());
+	}
+
+	@Test public void testParallelClusters() {
+		System.setProperty(AbstractReferenceUpdater.PARALLELISM_PROPERTY, "3");
+		TestUpdater updater = get(TestUpdater.class);
+		URI target = URI.createURI("platform:/resource/test/target.refactoringtestlanguage#/0");
+		Multimap<URI, IReferenceDescription> resource2references = LinkedHashMultimap.create();
+		List<URI> referring = Lists.newArrayList();
+		for (int i = 0; i < 9; i++) {
+			URI uri = URI.createURI("platform:/resource/test/ref" + i + ".refactoringtestlanguage");
+			referring.add(uri);
+			resource2references.put(uri, new DefaultReferenceDescription(uri.appendFragment("/0"), target, null, -1, null));
+		}
+		final Set<ResourceSet> providedResourceSets = Sets.newHashSet();
+		RefactoringResourceSetProvider resourceSetProvider = new RefactoringResourceSetProvider() {
+			@Override
+			public synchronized ResourceSet get(IProject project) {
+				ResourceSet result = new ResourceSetImpl();
+				providedResourceSets.add(result);
+				return result;
+			}
+		};
+		ElementRenameArguments arguments = new ElementRenameArguments(target, "B", null,
+				Collections.singletonMap(target, target), resourceSetProvider);
+		updater.createParallelClusteredReferenceUpdates(arguments, resource2references, null, resourceSetProvider, this,
+				status, new NullProgressMonitor());
+
+		assertEquals(Sets.newHashSet(referring), Sets.newHashSet(updater.processed));
+		assertEquals(referring.size(), updater.processed.size());
+		assertEquals(Sets.newHashSet(referring), Sets.newHashSet(acceptedEdits));
+		assertEquals(referring.size(), acceptedEdits.size());
+		assertFalse(updater.threads.contains(Thread.currentThread()));
+		// one resource set for the target resources of the calling thread, one per worker
+		assertTrue(providedResourceSets.size() > 1 && providedResourceSets.size() <= 4);
+		assertTrue(providedResourceSets.containsAll(updater.resourceSets));
+		assertTrue(updater.resourceSets.size() < providedResourceSets.size());
+		assertEquals(RefactoringStatus.WARNING, status.getRefactoringStatus().getSeverity());
+	}
+
+	@Override
+	public void accept(URI resourceURI, TextEdit textEdit) {
+		// calls are serialized by the updater
+		acceptedEdits.add(resourceURI);
+	}
+
+	@Override
+	public void accept(URI resourceURI, Change change) {
+		fail("Unexpected change");
+	}
+
+	@Override
+	public StatusWrapper getRefactoringStatus() {
+		return status;
+	}
+
+	@Override
+	public IRefactoringDocument getDocument(URI resourceURI) {
+		return null;
+	}
+
+	@Override
+	public Change createCompositeChange(String name, IProgressMonitor monitor) {
+		return null;
+	}
+
+}
@@ -7,17 +7,24 @@
  *******************************************************************************/
 package org.eclipse.xtext.ui.tests.tasks
 
+import com.google.inject.Guice
 import com.google.inject.Inject
+import com.google.inject.Module
 import org.eclipse.core.resources.IFile
 import org.eclipse.core.resources.IMarker
 import org.eclipse.core.resources.IResource
+import org.eclipse.core.runtime.IProgressMonitor
 import org.eclipse.core.runtime.NullProgressMonitor
 import org.eclipse.emf.common.util.URI
 import org.eclipse.xtext.junit4.AbstractXtextTests
 import org.eclipse.xtext.junit4.internal.LineDelimiters
+import org.eclipse.xtext.tasks.ITaskFinder
+import org.eclipse.xtext.tasks.Task
 import org.eclipse.xtext.ui.tasks.TaskMarkerContributor
+import org.eclipse.xtext.ui.tasks.TaskMarkerCreator
 import org.eclipse.xtext.ui.tasks.TaskMarkerTypeProvider
 import org.eclipse.xtext.ui.tests.internal.TestsActivator
+import org.eclipse.xtext.util.StringInputStream
 import org.junit.After
 import org.junit.Before
 import org.junit.Test
@@ -66,6 +73,112 @@ class TaskMarkerContributorTest extends AbstractXtextTests {
 		assertEquals("line 3", markers.get(1).getAttribute(IMarker.LOCATION))
 	}
 
+	@Test
+	def void testUnchangedTasksKeepMarkers() {
+		val file = createFile("foo/foo.domainModelTest",
+			LineDelimiters.toUnix('''
+				/*
+				 * TODO foo
+				 * FIXME bar
+				 */
+			'''))
+		markerContributor.updateMarkers(file, file.resource, new NullProgressMonitor())
+		val before = file.markerIds
+		markerContributor.updateMarkers(file, file.resource, new NullProgressMonitor())
+		assertEquals(2, before.size)
+		assertEquals(before, file.markerIds)
+	}
+
+	@Test
+	def void testMovedTaskOnlyUpdatesOffsets() {
+		val file = createFile("foo/foo.domainModelTest",
+			LineDelimiters.toUnix('''
+				/*
+				 * TODO foo
+				 * FIXME bar
+				 */
+			'''))
+		markerContributor.updateMarkers(file, file.resource, new NullProgressMonitor())
+		val before = file.markerIds
+		file.setContents(new StringInputStream(LineDelimiters.toUnix('''
+			/*
+			 *  TODO foo
+			 * FIXME baz
+			 */
+		''')), true, true, null)
+		markerContributor.updateMarkers(file, file.resource, new NullProgressMonitor())
+		val markers = file.sortedMarkers
+		assertEquals(2, markers.size)
+		assertEquals(before.head, markers.head.id)
+		assertEquals(7, markers.head.getAttribute(IMarker.CHAR_START))
+		assertEquals(15, markers.head.getAttribute(IMarker.CHAR_END))
+		assertFalse(before.contains(markers.get(1).id))
+		assertEquals("FIXME baz", markers.get(1).getAttribute(IMarker.MESSAGE))
+	}
+
+	@Test
+	def void testCustomizedDeletionRecreatesMarkers() {
+		val contributor = new TaskMarkerContributor() {
+			override deleteMarkers(IFile file, IProgressMonitor monitor) {
+				super.deleteMarkers(file, monitor)
+			}
+		}
+		injectMembers(contributor)
+		val file = createFile("foo/foo.domainModelTest",
+			LineDelimiters.toUnix('''
+				/*
+				 * TODO foo
+				 */
+			'''))
+		contributor.updateMarkers(file, file.resource, new NullProgressMonitor())
+		val before = file.markerIds
+		contributor.updateMarkers(file, file.resource, new NullProgressMonitor())
+		assertEquals(1, file.markerIds.size)
+		assertFalse(before == file.markerIds)
+	}
+
+	@Test
+	def void testCustomizedMarkerAttributesAreUpdated() {
+		val markerCreator = new TaskMarkerCreator() {
+			override protected setMarkerAttributes(Task task, IResource resource, IMarker marker) {
+				super.setMarkerAttributes(task, resource, marker)
+				marker.setAttribute("customOffset", task.offset)
+			}
+		}
+		val taskFinder = get(ITaskFinder)
+		val typeProvider = get(TaskMarkerTypeProvider)
+		val Module module = [
+			bind(TaskMarkerCreator).toInstance(markerCreator)
+			bind(ITaskFinder).toInstance(taskFinder)
+			bind(TaskMarkerTypeProvider).toInstance(typeProvider)
+		]
+		val contributor = Guice.createInjector(module).getInstance(TaskMarkerContributor)
+		val file = createFile("foo/foo.domainModelTest",
+			LineDelimiters.toUnix('''
+				/*
+				 * TODO foo
+				 */
+			'''))
+		contributor.updateMarkers(file, file.resource, new NullProgressMonitor())
+		file.setContents(new StringInputStream(LineDelimiters.toUnix('''
+			/*
+			 *  TODO foo
+			 */
+		''')), true, true, null)
+		contributor.updateMarkers(file, file.resource, new NullProgressMonitor())
+		val markers = file.sortedMarkers
+		assertEquals(1, markers.size)
+		assertEquals(7, markers.head.getAttribute("customOffset"))
+	}
+
+	def private getSortedMarkers(IFile file) {
+		file.findMarkers(TaskMarkerTypeProvider.XTEXT_TASK_TYPE, true, IResource.DEPTH_ZERO).sortBy[getAttribute(IMarker.LINE_NUMBER).toString]
+	}
+
+	def private getMarkerIds(IFile file) {
+		file.sortedMarkers.map[id].toList
+	}
+
 	def getResource(IFile file) {
 		getResource(fileToString(file), URI.createFileURI(file.fullPath.toString).toString)
 	}
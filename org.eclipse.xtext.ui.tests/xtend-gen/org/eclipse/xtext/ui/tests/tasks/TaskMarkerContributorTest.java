@@ -7,25 +7,35 @@
  */
 package org.eclipse.xtext.ui.tests.tasks;
 
+import com.google.common.base.Objects;
+import com.google.inject.Binder;
+import com.google.inject.Guice;
 import com.google.inject.Inject;
+import com.google.inject.Module;
 import java.util.List;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtext.junit4.AbstractXtextTests;
 import org.eclipse.xtext.junit4.internal.LineDelimiters;
 import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.tasks.ITaskFinder;
+import org.eclipse.xtext.tasks.Task;
 import org.eclipse.xtext.ui.tasks.TaskMarkerContributor;
+import org.eclipse.xtext.ui.tasks.TaskMarkerCreator;
 import org.eclipse.xtext.ui.tasks.TaskMarkerTypeProvider;
 import org.eclipse.xtext.ui.testing.util.IResourcesSetupUtil;
 import org.eclipse.xtext.ui.tests.internal.TestsActivator;
+import org.eclipse.xtext.util.StringInputStream;
 import org.eclipse.xtext.xbase.lib.Conversions;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ListExtensions;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -92,6 +102,207 @@ public class TaskMarkerContributorTest extends AbstractXtextTests {
     }
   }
   
+  @Test
+  public void testUnchangedTasksKeepMarkers() {
+    try {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("/*");
+      _builder.newLine();
+      _builder.append(" ");
+      _builder.append("* TODO foo");
+      _builder.newLine();
+      _builder.append(" ");
+      _builder.append("* FIXME bar");
+      _builder.newLine();
+      _builder.append(" ");
+      _builder.append("*/");
+      _builder.newLine();
+      final IFile file = IResourcesSetupUtil.createFile("foo/foo.domainModelTest", 
+        LineDelimiters.toUnix(_builder.toString()));
+      XtextResource _resource = this.getResource(file);
+      NullProgressMonitor _nullProgressMonitor = new NullProgressMonitor();
+      this.markerContributor.updateMarkers(file, _resource, _nullProgressMonitor);
+      final List<Long> before = this.getMarkerIds(file);
+      XtextResource _resource_1 = this.getResource(file);
+      NullProgressMonitor _nullProgressMonitor_1 = new NullProgressMonitor();
+      this.markerContributor.updateMarkers(file, _resource_1, _nullProgressMonitor_1);
+      Assert.assertEquals(2, before.size());
+      Assert.assertEquals(before, this.getMarkerIds(file));
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testMovedTaskOnlyUpdatesOffsets() {
+    try {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("/*");
+      _builder.newLine();
+      _builder.append(" ");
+      _builder.append("* TODO foo");
+      _builder.newLine();
+      _builder.append(" ");
+      _builder.append("* FIXME bar");
+      _builder.newLine();
+      _builder.append(" ");
+      _builder.append("*/");
+      _builder.newLine();
+      final IFile file = IResourcesSetupUtil.createFile("foo/foo.domainModelTest", 
+        LineDelimiters.toUnix(_builder.toString()));
+      XtextResource _resource = this.getResource(file);
+      NullProgressMonitor _nullProgressMonitor = new NullProgressMonitor();
+      this.markerContributor.updateMarkers(file, _resource, _nullProgressMonitor);
+      final List<Long> before = this.getMarkerIds(file);
+      StringConcatenation _builder_1 = new StringConcatenation();
+      _builder_1.append("/*");
+      _builder_1.newLine();
+      _builder_1.append(" ");
+      _builder_1.append("*  TODO foo");
+      _builder_1.newLine();
+      _builder_1.append(" ");
+      _builder_1.append("* FIXME baz");
+      _builder_1.newLine();
+      _builder_1.append(" ");
+      _builder_1.append("*/");
+      _builder_1.newLine();
+      String _unix = LineDelimiters.toUnix(_builder_1.toString());
+      StringInputStream _stringInputStream = new StringInputStream(_unix);
+      file.setContents(_stringInputStream, true, true, null);
+      XtextResource _resource_1 = this.getResource(file);
+      NullProgressMonitor _nullProgressMonitor_1 = new NullProgressMonitor();
+      this.markerContributor.updateMarkers(file, _resource_1, _nullProgressMonitor_1);
+      final List<IMarker> markers = this.getSortedMarkers(file);
+      Assert.assertEquals(2, markers.size());
+      Assert.assertEquals(IterableExtensions.<Long>head(before), Long.valueOf(IterableExtensions.<IMarker>head(markers).getId()));
+      Assert.assertEquals(Integer.valueOf(7), IterableExtensions.<IMarker>head(markers).getAttribute(IMarker.CHAR_START));
+      Assert.assertEquals(Integer.valueOf(15), IterableExtensions.<IMarker>head(markers).getAttribute(IMarker.CHAR_END));
+      Assert.assertFalse(before.contains(Long.valueOf(markers.get(1).getId())));
+      Assert.assertEquals("FIXME baz", markers.get(1).getAttribute(IMarker.MESSAGE));
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testCustomizedDeletionRecreatesMarkers() {
+    try {
+      final TaskMarkerContributor contributor = new TaskMarkerContributor() {
+        @Override
+        public void deleteMarkers(final IFile file, final IProgressMonitor monitor) {
+          super.deleteMarkers(file, monitor);
+        }
+      };
+      this.injectMembers(contributor);
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("/*");
+      _builder.newLine();
+      _builder.append(" ");
+      _builder.append("* TODO foo");
+      _builder.newLine();
+      _builder.append(" ");
+      _builder.append("*/");
+      _builder.newLine();
+      final IFile file = IResourcesSetupUtil.createFile("foo/foo.domainModelTest", 
+        LineDelimiters.toUnix(_builder.toString()));
+      XtextResource _resource = this.getResource(file);
+      NullProgressMonitor _nullProgressMonitor = new NullProgressMonitor();
+      contributor.updateMarkers(file, _resource, _nullProgressMonitor);
+      final List<Long> before = this.getMarkerIds(file);
+      XtextResource _resource_1 = this.getResource(file);
+      NullProgressMonitor _nullProgressMonitor_1 = new NullProgressMonitor();
+      contributor.updateMarkers(file, _resource_1, _nullProgressMonitor_1);
+      Assert.assertEquals(1, this.getMarkerIds(file).size());
+      List<Long> _markerIds = this.getMarkerIds(file);
+      boolean _equals = Objects.equal(before, _markerIds);
+      Assert.assertFalse(_equals);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testCustomizedMarkerAttributesAreUpdated() {
+    try {
+      final TaskMarkerCreator markerCreator = new TaskMarkerCreator() {
+        @Override
+        protected void setMarkerAttributes(final Task task, final IResource resource, final IMarker marker) {
+          try {
+            super.setMarkerAttributes(task, resource, marker);
+            marker.setAttribute("customOffset", task.getOffset());
+          } catch (Throwable _e) {
+            throw Exceptions.sneakyThrow(_e);
+          }
+        }
+      };
+      final ITaskFinder taskFinder = this.<ITaskFinder>get(ITaskFinder.class);
+      final TaskMarkerTypeProvider typeProvider = this.<TaskMarkerTypeProvider>get(TaskMarkerTypeProvider.class);
+      final Module _function = (Binder it) -> {
+        it.<TaskMarkerCreator>bind(TaskMarkerCreator.class).toInstance(markerCreator);
+        it.<ITaskFinder>bind(ITaskFinder.class).toInstance(taskFinder);
+        it.<TaskMarkerTypeProvider>bind(TaskMarkerTypeProvider.class).toInstance(typeProvider);
+      };
+      final Module module = _function;
+      final TaskMarkerContributor contributor = Guice.createInjector(module).<TaskMarkerContributor>getInstance(TaskMarkerContributor.class);
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("/*");
+      _builder.newLine();
+      _builder.append(" ");
+      _builder.append("* TODO foo");
+      _builder.newLine();
+      _builder.append(" ");
+      _builder.append("*/");
+      _builder.newLine();
+      final IFile file = IResourcesSetupUtil.createFile("foo/foo.domainModelTest", 
+        LineDelimiters.toUnix(_builder.toString()));
+      XtextResource _resource = this.getResource(file);
+      NullProgressMonitor _nullProgressMonitor = new NullProgressMonitor();
+      contributor.updateMarkers(file, _resource, _nullProgressMonitor);
+      StringConcatenation _builder_1 = new StringConcatenation();
+      _builder_1.append("/*");
+      _builder_1.newLine();
+      _builder_1.append(" ");
+      _builder_1.append("*  TODO foo");
+      _builder_1.newLine();
+      _builder_1.append(" ");
+      _builder_1.append("*/");
+      _builder_1.newLine();
+      String _unix = LineDelimiters.toUnix(_builder_1.toString());
+      StringInputStream _stringInputStream = new StringInputStream(_unix);
+      file.setContents(_stringInputStream, true, true, null);
+      XtextResource _resource_1 = this.getResource(file);
+      NullProgressMonitor _nullProgressMonitor_1 = new NullProgressMonitor();
+      contributor.updateMarkers(file, _resource_1, _nullProgressMonitor_1);
+      final List<IMarker> markers = this.getSortedMarkers(file);
+      Assert.assertEquals(1, markers.size());
+      Assert.assertEquals(Integer.valueOf(7), IterableExtensions.<IMarker>head(markers).getAttribute("customOffset"));
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private List<IMarker> getSortedMarkers(final IFile file) {
+    try {
+      final Function1<IMarker, String> _function = (IMarker it) -> {
+        try {
+          return it.getAttribute(IMarker.LINE_NUMBER).toString();
+        } catch (Throwable _e) {
+          throw Exceptions.sneakyThrow(_e);
+        }
+      };
+      return IterableExtensions.<IMarker, String>sortBy(((Iterable<IMarker>)Conversions.doWrapArray(file.findMarkers(TaskMarkerTypeProvider.XTEXT_TASK_TYPE, true, IResource.DEPTH_ZERO))), _function);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private List<Long> getMarkerIds(final IFile file) {
+    final Function1<IMarker, Long> _function = (IMarker it) -> {
+      return Long.valueOf(it.getId());
+    };
+    return IterableExtensions.<Long>toList(ListExtensions.<IMarker, Long>map(this.getSortedMarkers(file), _function));
+  }
+  
   public XtextResource getResource(final IFile file) {
     try {
       return this.getResource(IResourcesSetupUtil.fileToString(file), URI.createFileURI(file.getFullPath().toString()).toString());
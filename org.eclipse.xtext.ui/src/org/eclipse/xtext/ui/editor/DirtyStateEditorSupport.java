@@ -97,8 +97,11 @@ public class DirtyStateEditorSupport implements IResourceDescription.Event.Liste
 			cancel();
 			if (event instanceof IResourceDescription.CoarseGrainedEvent)
 				coarseGrainedChanges.incrementAndGet();
-			else
-				pendingChanges.addAll(event.getDeltas());
+			else {
+				synchronized (pendingChanges) {
+					pendingChanges.addAll(event.getDeltas());
+				}
+			}
 			schedule(getDelay());
 		}
 
@@ -138,6 +141,11 @@ public class DirtyStateEditorSupport implements IResourceDescription.Event.Liste
 				if (document == null) {
 					return Status.OK_STATUS;
 				}
+				if (isDeferred(myClient)) {
+					// keep the pending changes until the editor becomes visible again, see DirtyStateEditorSupport.clientVisible
+					compactPendingChanges();
+					return Status.OK_STATUS;
+				}
 				if (monitor.isCanceled())
 					return Status.CANCEL_STATUS;
 				int coarseGrainedChangesSeen = coarseGrainedChanges.get();
@@ -181,6 +189,44 @@ public class DirtyStateEditorSupport implements IResourceDescription.Event.Liste
 			}
 		}
 
+		/**
+		 * Updates of editors that are currently not visible are deferred until they become visible again, so hidden
+		 * editors do not relink or reparse their resource for every change in another editor.
+		 * 
+		 * @since 2.17
+		 */
+		protected boolean isDeferred(IDirtyStateEditorSupportClient client) {
+			return client instanceof IDirtyStateEditorSupportClientExtension2
+					&& !((IDirtyStateEditorSupportClientExtension2) client).isVisible();
+		}
+
+		/**
+		 * Replaces the pending deltas by a single merged delta per URI, so the deltas of a deferred update do not
+		 * pile up.
+		 * 
+		 * @since 2.17
+		 */
+		protected void compactPendingChanges() {
+			synchronized (pendingChanges) {
+				IResourceDescription.Event merged = mergePendingDeltas().getFirst();
+				pendingChanges.clear();
+				pendingChanges.addAll(merged.getDeltas());
+			}
+		}
+
+		/**
+		 * Schedules the job if there are changes that have not been processed yet. Pending changes are only removed
+		 * once they have been processed for a visible client, so this cannot miss the changes of a concurrently
+		 * deferred run.
+		 * 
+		 * @since 2.17
+		 */
+		protected void scheduleIfPending() {
+			if (!pendingChanges.isEmpty() || coarseGrainedChanges.get() > 0) {
+				schedule();
+			}
+		}
+
 		private void unloadAffectedResourcesAndReparseDocument(final IXtextDocument document,
 				final Collection<Resource> affectedResources, boolean reparseRequired) {
 			if ((affectedResources == null || affectedResources.isEmpty()) && !reparseRequired) {
@@ -270,6 +316,20 @@ public class DirtyStateEditorSupport implements IResourceDescription.Event.Liste
 		void forceReconcile();
 	}
 
+	/**
+	 * Clients implementing this interface allow to defer the update of their state while they are hidden. They have
+	 * to call {@link DirtyStateEditorSupport#clientVisible(IDirtyStateEditorSupportClient)} when they become visible
+	 * again.
+	 * 
+	 * @since 2.17
+	 */
+	public interface IDirtyStateEditorSupportClientExtension2 {
+		/**
+		 * Will be called from a background thread.
+		 */
+		boolean isVisible();
+	}
+
 	/**
 	 * Simple delegate which can remove itself from the dirty
 	 * state manager. It is used to discard unmodified
@@ -499,6 +559,20 @@ public class DirtyStateEditorSupport implements IResourceDescription.Event.Liste
 		job.scheduleFor(event); 
 	}
 	
+	/**
+	 * Processes the changes that have been deferred while the client was not visible.
+	 * 
+	 * @since 2.17
+	 */
+	public void clientVisible(IDirtyStateEditorSupportClient client) {
+		if (this.currentClient == null || this.currentClient != client)
+			return;
+		UpdateEditorStateJob job = updateEditorStateJob;
+		if (job != null) {
+			job.scheduleIfPending();
+		}
+	}
+	
 	/**
 	 * @since 2.7
 	 */
@@ -7,9 +7,11 @@
  *******************************************************************************/
 package org.eclipse.xtext.ui.editor;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.emf.common.util.URI;
@@ -24,9 +26,14 @@ import org.eclipse.xtext.resource.impl.AbstractResourceDescriptionChangeEventSou
 import org.eclipse.xtext.resource.impl.ResourceDescriptionChangeEvent;
 import org.eclipse.xtext.resource.persistence.ResourceStorageLoadable;
 import com.google.common.base.Function;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
 
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
@@ -36,6 +43,15 @@ public class DirtyStateManager extends AbstractResourceDescriptionChangeEventSou
 
 	private ConcurrentMap<URI, IDirtyResource> managedResources;
 	
+	/*
+	 * Index of the exported objects of the managed resources. Maps the lower case names and the types of 
+	 * the exported objects to the URIs of the resources that export them. Guarded by indexLock.
+	 */
+	private final Object indexLock = new Object();
+	private final Map<URI, IResourceDescription> indexedDescriptions = Maps.newHashMap();
+	private final SetMultimap<QualifiedName, URI> urisByName = HashMultimap.create();
+	private final SetMultimap<EClass, URI> urisByType = HashMultimap.create();
+	
 	public DirtyStateManager() {
 		managedResources = new MapMaker().makeMap();
 	}
@@ -44,6 +60,7 @@ public class DirtyStateManager extends AbstractResourceDescriptionChangeEventSou
 	public void announceDirtyStateChanged(IDirtyResource dirtyResource) {
 		// avoid putting a dirtyResource into the map that wasn't managed before
 		if (managedResources.replace(dirtyResource.getURI(), dirtyResource) != null) {
+			index(dirtyResource.getURI(), dirtyResource);
 			notifyListeners(dirtyResource, true);
 		}
 	}
@@ -51,9 +68,93 @@ public class DirtyStateManager extends AbstractResourceDescriptionChangeEventSou
 	@Override
 	public void discardDirtyState(IDirtyResource dirtyResource) {
 		if (managedResources.remove(dirtyResource.getURI(), dirtyResource)) {
+			unindex(dirtyResource.getURI());
 			notifyListeners(dirtyResource, false);
 		}
 	}
+	
+	/**
+	 * @since 2.17
+	 */
+	protected void index(URI uri, IDirtyResource dirtyResource) {
+		IResourceDescription description = getDescriptionIfInitialized(dirtyResource);
+		synchronized (indexLock) {
+			if (indexedDescriptions.get(uri) == description)
+				return;
+			unindexInternal(uri);
+			if (description != null) {
+				indexedDescriptions.put(uri, description);
+				for (IEObjectDescription exported : description.getExportedObjects()) {
+					urisByName.put(exported.getName().toLowerCase(), uri);
+					urisByType.put(exported.getEClass(), uri);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @since 2.17
+	 */
+	protected void unindex(URI uri) {
+		synchronized (indexLock) {
+			unindexInternal(uri);
+		}
+	}
+	
+	private void unindexInternal(URI uri) {
+		IResourceDescription description = indexedDescriptions.remove(uri);
+		if (description != null) {
+			for (IEObjectDescription exported : description.getExportedObjects()) {
+				urisByName.remove(exported.getName().toLowerCase(), uri);
+				urisByType.remove(exported.getEClass(), uri);
+			}
+		}
+	}
+	
+	private IResourceDescription getDescriptionIfInitialized(IDirtyResource dirtyResource) {
+		if (dirtyResource instanceof IDirtyResource.InitializationAware) {
+			return ((IDirtyResource.InitializationAware) dirtyResource).getDescriptionIfInitialized();
+		}
+		return dirtyResource.getDescription();
+	}
+	
+	/**
+	 * Returns the URIs of the managed resources that export an object with the given name, ignoring the case.
+	 * 
+	 * @since 2.17
+	 */
+	protected Collection<URI> getIndexedURIs(QualifiedName name) {
+		synchronized (indexLock) {
+			return ImmutableList.copyOf(urisByName.get(name.toLowerCase()));
+		}
+	}
+	
+	/**
+	 * Returns the URIs of the managed resources that export an object of the given type or one of its subtypes.
+	 * 
+	 * @since 2.17
+	 */
+	protected Collection<URI> getIndexedURIs(EClass type) {
+		synchronized (indexLock) {
+			Collection<URI> result = Sets.newLinkedHashSet();
+			for (EClass indexedType : urisByType.keySet()) {
+				if (EcoreUtil2.isAssignableFrom(type, indexedType)) {
+					result.addAll(urisByType.get(indexedType));
+				}
+			}
+			return result;
+		}
+	}
+	
+	private Iterable<IDirtyResource> getManagedResources(Collection<URI> uris) {
+		List<IDirtyResource> result = Lists.newArrayListWithCapacity(uris.size());
+		for (URI uri : uris) {
+			IDirtyResource dirtyResource = managedResources.get(uri);
+			if (dirtyResource != null)
+				result.add(dirtyResource);
+		}
+		return result;
+	}
 
 	protected void notifyListeners(final IDirtyResource dirtyResource, boolean managed) {
 		if (managed) {
@@ -107,6 +208,9 @@ public class DirtyStateManager extends AbstractResourceDescriptionChangeEventSou
 	@Override
 	public boolean manageDirtyState(IDirtyResource dirtyResource) {
 		IDirtyResource prevValue = managedResources.putIfAbsent(dirtyResource.getURI(), dirtyResource);
+		if (prevValue == null) {
+			index(dirtyResource.getURI(), dirtyResource);
+		}
 		return prevValue == null || prevValue == dirtyResource;
 	}
 	
@@ -223,7 +327,7 @@ public class DirtyStateManager extends AbstractResourceDescriptionChangeEventSou
 	
 	@Override
 	public Iterable<IEObjectDescription> getExportedObjects(final EClass type, final QualifiedName name, final boolean ignoreCase) {
-		return Iterables.concat(Iterables.transform(managedResources.values(), new Function<IDirtyResource, Iterable<IEObjectDescription>>() {
+		return Iterables.concat(Iterables.transform(getManagedResources(getIndexedURIs(name)), new Function<IDirtyResource, Iterable<IEObjectDescription>>() {
 			@Override
 			public Iterable<IEObjectDescription> apply(IDirtyResource from) {
 				if (from != null)
@@ -245,7 +349,7 @@ public class DirtyStateManager extends AbstractResourceDescriptionChangeEventSou
 	
 	@Override
 	public Iterable<IEObjectDescription> getExportedObjectsByType(final EClass type) {
-		return Iterables.concat(Iterables.transform(managedResources.values(), new Function<IDirtyResource, Iterable<IEObjectDescription>>() {
+		return Iterables.concat(Iterables.transform(getManagedResources(getIndexedURIs(type)), new Function<IDirtyResource, Iterable<IEObjectDescription>>() {
 			@Override
 			public Iterable<IEObjectDescription> apply(IDirtyResource from) {
 				if (from != null)
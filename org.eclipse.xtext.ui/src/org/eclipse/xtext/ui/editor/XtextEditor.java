@@ -69,7 +69,9 @@ import org.eclipse.ui.IEditorDescriptor;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorRegistry;
 import org.eclipse.ui.IEditorSite;
+import org.eclipse.ui.IPartListener2;
 import org.eclipse.ui.IPropertyListener;
+import org.eclipse.ui.IWorkbenchPartReference;
 import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.editors.text.TextEditor;
@@ -89,6 +91,7 @@ import org.eclipse.xtext.ui.IImageHelper;
 import org.eclipse.xtext.ui.XtextUIMessages;
 import org.eclipse.xtext.ui.editor.DirtyStateEditorSupport.IDirtyStateEditorSupportClient;
 import org.eclipse.xtext.ui.editor.DirtyStateEditorSupport.IDirtyStateEditorSupportClientExtension;
+import org.eclipse.xtext.ui.editor.DirtyStateEditorSupport.IDirtyStateEditorSupportClientExtension2;
 import org.eclipse.xtext.ui.editor.actions.IActionContributor;
 import org.eclipse.xtext.ui.editor.bracketmatching.BracketMatchingPreferencesInitializer;
 import org.eclipse.xtext.ui.editor.folding.IFoldingStructureProvider;
@@ -106,6 +109,7 @@ import org.eclipse.xtext.ui.editor.syntaxcoloring.TextAttributeProvider;
 import org.eclipse.xtext.ui.editor.toggleComments.ToggleSLCommentAction;
 import org.eclipse.xtext.ui.internal.Activator;
 import org.eclipse.xtext.ui.util.DisplayRunnable;
+import org.eclipse.xtext.ui.util.StartupTracer;
 
 import com.google.common.collect.ObjectArrays;
 import com.google.inject.Inject;
@@ -119,7 +123,7 @@ import com.google.inject.name.Named;
  * @author Michael Clay
  * @author Dan Stefanescu - Fix for bug 278279
  */
-public class XtextEditor extends TextEditor implements IDirtyStateEditorSupportClient, IDirtyStateEditorSupportClientExtension {
+public class XtextEditor extends TextEditor implements IDirtyStateEditorSupportClient, IDirtyStateEditorSupportClientExtension, IDirtyStateEditorSupportClientExtension2 {
 	public static final String ERROR_ANNOTATION_TYPE = "org.eclipse.xtext.ui.editor.error";
 	public static final String WARNING_ANNOTATION_TYPE = "org.eclipse.xtext.ui.editor.warning";
 	/**
@@ -203,6 +207,49 @@ public class XtextEditor extends TextEditor implements IDirtyStateEditorSupportC
 
 	private String languageName;
 	
+	private volatile boolean visible = true;
+	
+	private IPartListener2 visibilityListener = new IPartListener2() {
+		@Override
+		public void partVisible(IWorkbenchPartReference partRef) {
+			if (partRef.getPart(false) == XtextEditor.this) {
+				visible = true;
+				dirtyStateEditorSupport.clientVisible(XtextEditor.this);
+			}
+		}
+
+		@Override
+		public void partHidden(IWorkbenchPartReference partRef) {
+			if (partRef.getPart(false) == XtextEditor.this) {
+				visible = false;
+			}
+		}
+
+		@Override
+		public void partActivated(IWorkbenchPartReference partRef) {
+		}
+
+		@Override
+		public void partBroughtToTop(IWorkbenchPartReference partRef) {
+		}
+
+		@Override
+		public void partClosed(IWorkbenchPartReference partRef) {
+		}
+
+		@Override
+		public void partDeactivated(IWorkbenchPartReference partRef) {
+		}
+
+		@Override
+		public void partOpened(IWorkbenchPartReference partRef) {
+		}
+
+		@Override
+		public void partInputChanged(IWorkbenchPartReference partRef) {
+		}
+	};
+	
 
 	public XtextEditor() {
 		if (log.isDebugEnabled())
@@ -291,7 +338,9 @@ public class XtextEditor extends TextEditor implements IDirtyStateEditorSupportC
 		// NOTE: Outline CANNOT be initialized here, since we do not have access
 		// to the source viewer yet (it will be created later).
 
-		super.init(site, input);
+		try (StartupTracer.Phase phase = StartupTracer.startOnce("Open first editor: init")) {
+			super.init(site, input);
+		}
 	}
 
 	@Override
@@ -527,14 +576,17 @@ public class XtextEditor extends TextEditor implements IDirtyStateEditorSupportC
 
 	@Override
 	public void createPartControl(Composite parent) {
-		super.createPartControl(parent);
-		ProjectionViewer projectionViewer = (ProjectionViewer) getSourceViewer();
-		projectionSupport = installProjectionSupport(projectionViewer);
-		installFoldingSupport(projectionViewer);
-		installHighlightingHelper();
-		installSelectionChangedListener();
-		initializeDirtyStateSupport();
-		callback.afterCreatePartControl(this);
+		try (StartupTracer.Phase phase = StartupTracer.startOnce("Open first editor: create part control")) {
+			super.createPartControl(parent);
+			ProjectionViewer projectionViewer = (ProjectionViewer) getSourceViewer();
+			projectionSupport = installProjectionSupport(projectionViewer);
+			installFoldingSupport(projectionViewer);
+			installHighlightingHelper();
+			installSelectionChangedListener();
+			initializeDirtyStateSupport();
+			getSite().getPage().addPartListener(visibilityListener);
+			callback.afterCreatePartControl(this);
+		}
 	}
 
 	protected ProjectionSupport installProjectionSupport(ProjectionViewer projectionViewer) {
@@ -581,6 +633,8 @@ public class XtextEditor extends TextEditor implements IDirtyStateEditorSupportC
 
 	@Override
 	public void dispose() {
+		if (getSite() != null && getSite().getPage() != null)
+			getSite().getPage().removePartListener(visibilityListener);
 		dirtyStateEditorSupport.removeDirtyStateSupport(this);
 		callback.beforeDispose(this);
 		actioncontributor.editorDisposed(this);
@@ -1464,6 +1518,14 @@ public class XtextEditor extends TextEditor implements IDirtyStateEditorSupportC
 			((XtextReconciler)reconciler).forceReconcile();
 	}
 	
+	/**
+	 * @since 2.17
+	 */
+	@Override
+	public boolean isVisible() {
+		return visible;
+	}
+	
 	/**
 	 * @since 2.7
 	 */
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.editor.folding;
+
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.xtext.util.ITextRegion;
+import org.eclipse.xtext.util.TextRegion;
+
+/**
+ * Accumulates the region of a document that was changed since the folding structure was computed last. The region is
+ * given in the coordinates of the current document and covers at least all inserted text and the positions of removed
+ * text.
+ * 
+ * @since 2.17
+ */
+public class ChangedRegionTracker implements IDocumentListener {
+	private int start = -1;
+	private int end = -1;
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+	}
+
+	@Override
+	public synchronized void documentChanged(DocumentEvent event) {
+		int offset = event.getOffset();
+		int replacedEnd = offset + event.getLength();
+		int insertedLength = event.getText() == null ? 0 : event.getText().length();
+		if (start == -1) {
+			start = offset;
+			end = offset + insertedLength;
+		} else {
+			if (end > replacedEnd) {
+				end += insertedLength - event.getLength();
+			} else if (end > offset) {
+				end = offset + insertedLength;
+			}
+			start = Math.min(start, offset);
+			end = Math.max(end, offset + insertedLength);
+		}
+	}
+
+	/**
+	 * Returns the changed region or <code>null</code> if nothing was tracked, and starts over.
+	 */
+	public synchronized ITextRegion getAndReset() {
+		if (start == -1) {
+			return null;
+		}
+		ITextRegion result = new TextRegion(start, end - start);
+		start = -1;
+		end = -1;
+		return result;
+	}
+}
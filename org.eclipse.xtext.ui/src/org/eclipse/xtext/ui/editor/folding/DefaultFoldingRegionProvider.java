@@ -10,6 +10,7 @@ package org.eclipse.xtext.ui.editor.folding;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -32,10 +33,13 @@ import org.eclipse.xtext.ui.editor.model.IXtextDocument;
 import org.eclipse.xtext.ui.editor.model.TerminalsTokenTypeToPartitionMapper;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.ITextRegion;
+import org.eclipse.xtext.util.Pair;
 import org.eclipse.xtext.util.TextRegion;
+import org.eclipse.xtext.util.Tuples;
 import org.eclipse.xtext.util.concurrent.CancelableUnitOfWork;
 import org.eclipse.xtext.util.concurrent.IUnitOfWork;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 
@@ -43,7 +47,7 @@ import com.google.inject.Inject;
  * @author Michael Clay - Initial contribution and API
  * @author Sebastian Zarnekow - Introduced FoldedRegion, use ILocationInFileProvider
  */
-public class DefaultFoldingRegionProvider implements IFoldingRegionProvider {
+public class DefaultFoldingRegionProvider implements IFoldingRegionProvider, IFoldingRegionProviderExtension {
 	
 	private static final Logger log = Logger.getLogger(DefaultFoldingRegionProvider.class);
 	
@@ -51,6 +55,8 @@ public class DefaultFoldingRegionProvider implements IFoldingRegionProvider {
 	private ILocationInFileProvider locationInFileProvider;
 	
 	private CancelIndicator cancelIndicator;
+
+	private Boolean isIncrementalFoldingSupported;
 	
 	/**
 	 * @since 2.4
@@ -101,6 +107,151 @@ public class DefaultFoldingRegionProvider implements IFoldingRegionProvider {
 		return result;
 	}
 
+	/**
+	 * @since 2.17
+	 */
+	@Override
+	public Pair<ITextRegion, Collection<FoldedPosition>> getFoldingRegions(final IXtextDocument xtextDocument,
+			final ITextRegion changedRegion) {
+		if (!isIncrementalFoldingSupported()) {
+			return null;
+		}
+		return xtextDocument.readOnly(new CancelableUnitOfWork<Pair<ITextRegion, Collection<FoldedPosition>>, XtextResource>() {
+			@Override
+			public Pair<ITextRegion, Collection<FoldedPosition>> exec(XtextResource xtextResource,
+					CancelIndicator cancelIndicator) throws Exception {
+				if (xtextResource == null)
+					return null;
+				try {
+					DefaultFoldingRegionProvider.this.cancelIndicator = cancelIndicator;
+					return doGetFoldingRegions(xtextDocument, xtextResource, changedRegion);
+				} finally {
+					DefaultFoldingRegionProvider.this.cancelIndicator = null;
+				}
+			}
+		});
+	}
+
+	/**
+	 * Recomputes the folding regions of the root level elements that intersect the changed region and of the comments
+	 * in between. Elements are only handled as a whole, so the recomputed region is the union of the changed region,
+	 * the affected elements and the affected comments, extended to whole lines.
+	 * 
+	 * @return <code>null</code> if the whole document should be processed instead.
+	 * @since 2.17
+	 */
+	protected Pair<ITextRegion, Collection<FoldedPosition>> doGetFoldingRegions(IXtextDocument xtextDocument,
+			XtextResource xtextResource, ITextRegion changedRegion) {
+		IParseResult parseResult = xtextResource.getParseResult();
+		EObject rootASTElement = parseResult != null ? parseResult.getRootASTElement() : null;
+		if (rootASTElement == null || isHandled(rootASTElement) || !shouldProcessContent(rootASTElement)) {
+			return null;
+		}
+		int start = changedRegion.getOffset();
+		int end = changedRegion.getOffset() + changedRegion.getLength();
+		List<EObject> affectedElements = Lists.newArrayList();
+		for (EObject element : rootASTElement.eContents()) {
+			ITextRegion region = locationInFileProvider.getFullTextRegion(element);
+			if (region != null && region.getOffset() <= changedRegion.getOffset() + changedRegion.getLength()
+					&& region.getOffset() + region.getLength() >= changedRegion.getOffset()) {
+				affectedElements.add(element);
+				start = Math.min(start, region.getOffset());
+				end = Math.max(end, region.getOffset() + region.getLength());
+			}
+		}
+		List<ITypedRegion> affectedComments = Lists.newArrayList();
+		try {
+			ITypedRegion[] typedRegions = xtextDocument.computePartitioning(
+					IDocumentExtension3.DEFAULT_PARTITIONING, start, end - start, false);
+			for (ITypedRegion typedRegion : typedRegions) {
+				if (tokenTypeToPartitionTypeMapperExtension.isMultiLineComment(typedRegion.getType())) {
+					// the partitions at the boundaries are clipped to the requested range
+					ITypedRegion comment = xtextDocument.getPartition(IDocumentExtension3.DEFAULT_PARTITIONING,
+							typedRegion.getOffset(), false);
+					affectedComments.add(comment);
+					start = Math.min(start, comment.getOffset());
+					end = Math.max(end, comment.getOffset() + comment.getLength());
+				}
+			}
+			int startLine = xtextDocument.getLineOfOffset(start);
+			int endLine = xtextDocument.getLineOfOffset(end);
+			start = xtextDocument.getLineOffset(startLine);
+			end = xtextDocument.getLineOffset(endLine) + xtextDocument.getLineLength(endLine);
+			Collection<FoldedPosition> result = Sets.newLinkedHashSet();
+			IFoldingRegionAcceptor<ITextRegion> foldingRegionAcceptor = createAcceptor(xtextDocument, result);
+			for (EObject element : affectedElements) {
+				computeObjectFoldingWithContents(element, foldingRegionAcceptor);
+			}
+			for (ITypedRegion typedRegion : affectedComments) {
+				if (cancelIndicator.isCanceled())
+					throw new OperationCanceledException();
+				computeCommentFolding(xtextDocument, foldingRegionAcceptor, typedRegion, false);
+			}
+			return Tuples.<ITextRegion, Collection<FoldedPosition>>create(new TextRegion(start, end - start), result);
+		} catch (BadLocationException e) {
+			log.error(e, e);
+		} catch (BadPartitioningException e) {
+			log.error(e, e);
+		} catch (AssertionFailedException e) {
+			// partioning failed
+			log.error(e, e);
+		}
+		return null;
+	}
+
+	/**
+	 * Computes the folding regions of the given element and its contents.
+	 */
+	private void computeObjectFoldingWithContents(EObject element, IFoldingRegionAcceptor<ITextRegion> foldingRegionAcceptor) {
+		if (cancelIndicator.isCanceled())
+			throw new OperationCanceledException();
+		if (isHandled(element)) {
+			computeObjectFolding(element, foldingRegionAcceptor);
+		}
+		if (shouldProcessContent(element)) {
+			TreeIterator<EObject> allContents = element.eAllContents();
+			while (allContents.hasNext()) {
+				if (cancelIndicator.isCanceled())
+					throw new OperationCanceledException();
+				EObject eObject = allContents.next();
+				if (isHandled(eObject)) {
+					computeObjectFolding(eObject, foldingRegionAcceptor);
+				}
+				if (!shouldProcessContent(eObject)) {
+					allContents.prune();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Incremental folding only reuses the per element and per comment hooks. It is disabled if a subclass customizes
+	 * the computation for the whole document, since its additional regions would get lost.
+	 * 
+	 * @since 2.17
+	 */
+	protected boolean isIncrementalFoldingSupported() {
+		if (isIncrementalFoldingSupported == null) {
+			isIncrementalFoldingSupported = isNotOverridden("getFoldingRegions", IXtextDocument.class)
+					&& isNotOverridden("doGetFoldingRegions", IXtextDocument.class, XtextResource.class)
+					&& isNotOverridden("computeObjectFolding", XtextResource.class, IFoldingRegionAcceptor.class)
+					&& isNotOverridden("computeCommentFolding", IXtextDocument.class, IFoldingRegionAcceptor.class);
+		}
+		return isIncrementalFoldingSupported;
+	}
+
+	private boolean isNotOverridden(String methodName, Class<?>... parameterTypes) {
+		for (Class<?> type = getClass(); type != DefaultFoldingRegionProvider.class; type = type.getSuperclass()) {
+			try {
+				type.getDeclaredMethod(methodName, parameterTypes);
+				return false;
+			} catch (NoSuchMethodException e) {
+				// continue with the super class
+			}
+		}
+		return true;
+	}
+
 	protected IFoldingRegionAcceptor<ITextRegion> createAcceptor(IXtextDocument xtextDocument, Collection<FoldedPosition> foldedPositions) {
 		return new DefaultFoldingRegionAcceptor(xtextDocument, foldedPositions);
 	}
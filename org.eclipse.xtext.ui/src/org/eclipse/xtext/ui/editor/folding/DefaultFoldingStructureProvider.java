@@ -19,6 +19,7 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.emf.ecore.resource.Resource.Diagnostic;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.projection.IProjectionListener;
@@ -30,6 +31,7 @@ import org.eclipse.xtext.resource.XtextSyntaxDiagnostic;
 import org.eclipse.xtext.ui.editor.XtextEditor;
 import org.eclipse.xtext.ui.editor.model.IXtextDocument;
 import org.eclipse.xtext.ui.editor.model.IXtextModelListener;
+import org.eclipse.xtext.util.ITextRegion;
 import org.eclipse.xtext.util.Pair;
 import org.eclipse.xtext.util.Tuples;
 
@@ -50,6 +52,7 @@ public class DefaultFoldingStructureProvider implements IFoldingStructureProvide
 	private XtextEditor editor;
 	private ProjectionViewer viewer;
 	private ProjectionChangeListener projectionListener;
+	private final ChangedRegionTracker changedRegionTracker = new ChangedRegionTracker();
 
 	@Override
 	public void install(XtextEditor editor, ProjectionViewer viewer) {
@@ -63,6 +66,7 @@ public class DefaultFoldingStructureProvider implements IFoldingStructureProvide
 
 	@Override
 	public void initialize() {
+		changedRegionTracker.getAndReset();
 		calculateProjectionAnnotationModel(true);
 	}
 
@@ -100,10 +104,32 @@ public class DefaultFoldingStructureProvider implements IFoldingStructureProvide
 		});
 
 		if (!existingSyntaxErrors) {
-			calculateProjectionAnnotationModel(false);
+			if (isDocumentChangedAfterParse(resource)) {
+				// the model does not reflect all tracked changes yet, so they are kept for the next notification
+				calculateProjectionAnnotationModel(false);
+			} else {
+				ITextRegion changedRegion = changedRegionTracker.getAndReset();
+				if (changedRegion == null || !calculateProjectionAnnotationModel(changedRegion)) {
+					calculateProjectionAnnotationModel(false);
+				}
+			}
 		}
 	}
 
+	/**
+	 * Model listeners are notified asynchronously, so the document may have been changed after the given resource was
+	 * parsed. The tracked changed region cannot be applied to such a resource.
+	 * 
+	 * @since 2.17
+	 */
+	protected boolean isDocumentChangedAfterParse(XtextResource resource) {
+		IXtextDocument document = editor.getDocument();
+		if (document instanceof IDocumentExtension4) {
+			return ((IDocumentExtension4) document).getModificationStamp() != resource.getModificationStamp();
+		}
+		return true;
+	}
+
 	protected void handleProjectionEnabled() {
 		handleProjectionDisabled();
 		if (isInstalled()) {
@@ -111,6 +137,7 @@ public class DefaultFoldingStructureProvider implements IFoldingStructureProvide
 			IXtextDocument document = editor.getDocument();
 			if (document != null) {
 				document.addModelListener(this);
+				document.addDocumentListener(changedRegionTracker);
 			}
 		}
 	}
@@ -120,6 +147,7 @@ public class DefaultFoldingStructureProvider implements IFoldingStructureProvide
 			IXtextDocument document = editor.getDocument();
 			if (document != null) {
 				document.removeModelListener(this);
+				document.removeDocumentListener(changedRegionTracker);
 			}
 		}
 	}
@@ -135,6 +163,54 @@ public class DefaultFoldingStructureProvider implements IFoldingStructureProvide
 		}
 	}
 
+	/**
+	 * Recomputes the folding regions of the part of the document that was affected by the changes in the given region
+	 * and applies the differences to the annotation model. Annotations outside of the recomputed region are kept as
+	 * they are.
+	 * 
+	 * @return <code>false</code> if the folding structure of the whole document has to be recomputed instead.
+	 * @since 2.17
+	 */
+	protected boolean calculateProjectionAnnotationModel(ITextRegion changedRegion) {
+		if (!(foldingRegionProvider instanceof IFoldingRegionProviderExtension)) {
+			return false;
+		}
+		ProjectionAnnotationModel projectionAnnotationModel = this.viewer.getProjectionAnnotationModel();
+		if (projectionAnnotationModel == null) {
+			return true;
+		}
+		Pair<ITextRegion, Collection<FoldedPosition>> recomputed = ((IFoldingRegionProviderExtension) foldingRegionProvider)
+				.getFoldingRegions(editor.getDocument(), changedRegion);
+		if (recomputed == null) {
+			return false;
+		}
+		int start = recomputed.getFirst().getOffset();
+		int end = start + recomputed.getFirst().getLength();
+		Collection<FoldedPosition> foldedPositions = filterFoldedPositions(Sets.newLinkedHashSet(recomputed.getSecond()));
+		List<Annotation> deletions = new ArrayList<Annotation>();
+		for (Iterator<Annotation> iterator = projectionAnnotationModel.getAnnotationIterator(); iterator.hasNext();) {
+			Annotation annotation = iterator.next();
+			if (annotation instanceof ProjectionAnnotation) {
+				Position position = projectionAnnotationModel.getPosition(annotation);
+				if (position == null) {
+					continue;
+				}
+				int positionEnd = position.getOffset() + position.getLength();
+				if (position.getOffset() >= start && positionEnd <= end) {
+					if (!foldedPositions.remove(position)) {
+						deletions.add(annotation);
+					}
+				} else if (position.getOffset() < end && positionEnd > start) {
+					// an annotation that only partially overlaps cannot be matched against the recomputed regions
+					return false;
+				}
+			}
+		}
+		updateFoldingRegions(false, projectionAnnotationModel, foldedPositions,
+				deletions.toArray(new Annotation[deletions.size()]));
+		return true;
+	}
+
 	/**
 	 * @since 2.17
 	 */
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.editor.folding;
+
+import java.util.Collection;
+
+import org.eclipse.xtext.ui.editor.model.IXtextDocument;
+import org.eclipse.xtext.util.ITextRegion;
+import org.eclipse.xtext.util.Pair;
+
+/**
+ * Allows to recompute the folding regions of the part of a document that was affected by an edit.
+ * 
+ * @since 2.17
+ */
+public interface IFoldingRegionProviderExtension {
+
+	/**
+	 * Computes the folding regions that may have changed due to a modification of the given region.
+	 * 
+	 * @return the recomputed region of the document along with all folding regions that are enclosed by it, or
+	 *         <code>null</code> if the folding regions of the whole document have to be recomputed. The recomputed
+	 *         region spans whole lines.
+	 */
+	Pair<ITextRegion, Collection<FoldedPosition>> getFoldingRegions(IXtextDocument xtextDocument, ITextRegion changedRegion);
+
+}
@@ -69,4 +69,11 @@ abstract class AbstractHierarchyViewPart extends ViewPart {
 		}
 	}
 
+	override dispose() {
+		val builder = this.builder
+		if (builder instanceof DeferredHierarchyBuilder)
+			builder.cancelPrefetching
+		super.dispose
+	}
+
 }
@@ -7,8 +7,13 @@
  *******************************************************************************/
 package org.eclipse.xtext.ui.editor.hierarchy
 
+import com.google.inject.Inject
+import java.util.Collection
 import org.eclipse.core.runtime.IAdaptable
 import org.eclipse.core.runtime.IProgressMonitor
+import org.eclipse.core.runtime.OperationCanceledException
+import org.eclipse.core.runtime.Status
+import org.eclipse.core.runtime.jobs.Job
 import org.eclipse.emf.common.util.URI
 import org.eclipse.ui.progress.IDeferredWorkbenchAdapter
 import org.eclipse.ui.progress.IElementCollector
@@ -24,15 +29,86 @@ import org.eclipse.xtext.ide.editor.hierarchy.IHierarchyNode
  */
 class DeferredHierarchyBuilder implements IHierarchyBuilder {
 
+	/**
+	 * @since 2.17
+	 */
+	public static val MAX_PREFETCHED_NODES = 32
+
 	@Accessors
 	IHierarchyBuilder hierarchyBuilder
 
+	@Inject(optional=true)
+	HierarchyChildrenCache cache
+
 	override buildRoots(URI rootURI, IProgressMonitor monitor) {
+		cancelPrefetching
+		cache?.clear
 		hierarchyBuilder.buildRoots(rootURI, monitor).map[defer].filterNull.toList
 	}
 
 	override buildChildren(IHierarchyNode node, IProgressMonitor monitor) {
-		hierarchyBuilder.buildChildren(node, monitor).map[defer].filterNull.toList
+		val children = buildCachedChildren(node, monitor)
+		if (cache !== null)
+			prefetchChildren(children)
+		children.map[defer].filterNull.toList
+	}
+
+	/**
+	 * @since 2.17
+	 */
+	protected def Collection<IHierarchyNode> buildCachedChildren(IHierarchyNode node, IProgressMonitor monitor) {
+		if (cache === null)
+			return hierarchyBuilder.buildChildren(node, monitor)
+		val cachedChildren = cache.get(node)
+		if (cachedChildren !== null)
+			return cachedChildren
+		val children = hierarchyBuilder.buildChildren(node, monitor)
+		if (!monitor.canceled)
+			cache.put(node, children)
+		return children
+	}
+
+	/**
+	 * Computes the children of the given nodes in the background, so they are available from the cache as soon as
+	 * the nodes are expanded. The jobs belong to the family of this builder, see {@link #cancelPrefetching()}.
+	 * 
+	 * @since 2.17
+	 */
+	protected def void prefetchChildren(Collection<IHierarchyNode> nodes) {
+		val candidates = nodes.filter[mayHaveChildren].take(MAX_PREFETCHED_NODES).toList
+		if (candidates.empty)
+			return;
+		val job = new Job('Prefetching hierarchy') {
+			override protected run(IProgressMonitor monitor) {
+				try {
+					for (node : candidates) {
+						if (monitor.canceled)
+							return Status.CANCEL_STATUS
+						buildCachedChildren(node, monitor)
+					}
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS
+				}
+				return Status.OK_STATUS
+			}
+
+			override belongsTo(Object family) {
+				family === DeferredHierarchyBuilder.this
+			}
+		}
+		job.system = true
+		job.priority = Job.DECORATE
+		job.schedule
+	}
+
+	/**
+	 * Cancels the prefetching of children that is still pending, e.g. because the hierarchy is rebuilt or the view is
+	 * closed.
+	 * 
+	 * @since 2.17
+	 */
+	def void cancelPrefetching() {
+		Job.jobManager.cancel(this)
 	}
 
 	protected def IHierarchyNode defer(IHierarchyNode node) {
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.editor.hierarchy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.xtext.ide.editor.hierarchy.IHierarchyNode;
+
+/**
+ * Holds the children that a hierarchy builder computed for the nodes of a single hierarchy, so a node whose children
+ * were prefetched doesn't search for references again when it is expanded.
+ *
+ * The children are created by the builder and refer to their parent, so they are only returned for the very node
+ * instance they were computed for. Each {@link DeferredHierarchyBuilder} has its own instance, which it clears as soon
+ * as the roots of its hierarchy are rebuilt.
+ *
+ * @since 2.17
+ */
+public class HierarchyChildrenCache {
+
+	private final Map<IHierarchyNode, List<IHierarchyNode>> children = new IdentityHashMap<IHierarchyNode, List<IHierarchyNode>>();
+
+	/**
+	 * Returns the children that were computed for the given node, or <code>null</code> if they are not known.
+	 */
+	public synchronized List<IHierarchyNode> get(IHierarchyNode parent) {
+		return children.get(parent);
+	}
+
+	public synchronized void put(IHierarchyNode parent, Collection<IHierarchyNode> children) {
+		this.children.put(parent, Collections.unmodifiableList(new ArrayList<IHierarchyNode>(children)));
+	}
+
+	public synchronized void clear() {
+		children.clear();
+	}
+
+}
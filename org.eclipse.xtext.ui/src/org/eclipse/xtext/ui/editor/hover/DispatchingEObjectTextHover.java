@@ -12,7 +12,10 @@ import org.eclipse.jface.text.IInformationControlCreator;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.xtext.resource.IGlobalServiceProvider;
+import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.ui.editor.hover.IEObjectHoverProvider.IInformationControlCreatorProvider;
+import org.eclipse.xtext.ui.editor.hover.html.DefaultEObjectHoverProvider;
+import org.eclipse.xtext.util.Pair;
 
 import com.google.inject.Inject;
 
@@ -41,6 +44,22 @@ public class DispatchingEObjectTextHover extends AbstractEObjectHover {
 		return lastCreatorProvider.getInfo();
 	}
 
+	/**
+	 * Computes the parts of the hover for the element at the given offset in advance that the hover provider caches.
+	 * Call this method only from within an IUnitOfWork.
+	 * 
+	 * @since 2.17
+	 */
+	public void prefetchHoverInfo(XtextResource resource, int offset) {
+		Pair<EObject, IRegion> element = getXtextElementAt(resource, offset);
+		if (element == null || element.getFirst() == null)
+			return;
+		IEObjectHoverProvider hoverProvider = serviceProvider.findService(element.getFirst(), IEObjectHoverProvider.class);
+		if (hoverProvider instanceof DefaultEObjectHoverProvider) {
+			((DefaultEObjectHoverProvider) hoverProvider).prefetchDocumentation(element.getFirst());
+		}
+	}
+
 	@Override
 	public IInformationControlCreator getHoverControlCreator() {
 		return this.lastCreatorProvider==null?null:lastCreatorProvider.getHoverControlCreator();
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.editor.hover;
+
+import static com.google.common.collect.Lists.*;
+import static com.google.common.collect.Maps.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextSelection;
+import org.eclipse.jface.viewers.IPostSelectionProvider;
+import org.eclipse.jface.viewers.ISelectionChangedListener;
+import org.eclipse.jface.viewers.SelectionChangedEvent;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.ILeafNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.service.OperationCanceledManager;
+import org.eclipse.xtext.ui.editor.XtextEditor;
+import org.eclipse.xtext.ui.editor.actions.IActionContributor;
+import org.eclipse.xtext.ui.editor.hover.html.HoverDocumentationCache;
+import org.eclipse.xtext.ui.editor.model.IXtextDocument;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.Pair;
+import org.eclipse.xtext.util.Tuples;
+import org.eclipse.xtext.util.concurrent.CancelableUnitOfWork;
+import org.eclipse.xtext.util.concurrent.IUnitOfWork;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+
+/**
+ * Computes the documentation of the elements on the line of the caret in the background, once the caret rests for a
+ * moment, so it is already in the {@link HoverDocumentationCache} when one of them is hovered. The computation is
+ * canceled as soon as the caret moves on or the document is modified. The read lock of the document is only held
+ * while the documentation of a single element is computed.
+ * <p>
+ * The prefetcher is not registered by default. A language enables it in its UI module:
+ *
+ * <pre>
+ * public void configureHoverDocumentationPrefetcher(Binder binder) {
+ * 	binder.bind(IActionContributor.class).annotatedWith(Names.named("hoverDocumentationPrefetcher"))
+ * 			.to(HoverDocumentationPrefetcher.class);
+ * }
+ * </pre>
+ *
+ * @since 2.17
+ */
+@Singleton
+public class HoverDocumentationPrefetcher implements IActionContributor {
+
+	private static final Logger LOG = Logger.getLogger(HoverDocumentationPrefetcher.class);
+
+	public static final long DELAY = 300;
+
+	public static final int MAX_PREFETCHED_ELEMENTS = 16;
+
+	@Inject
+	private Provider<IEObjectHover> hoverProvider;
+
+	@Inject
+	private OperationCanceledManager operationCanceledManager;
+
+	private final Map<XtextEditor, PrefetchJob> editor2job = newHashMap();
+
+	@Override
+	public void contributeActions(XtextEditor editor) {
+		if (editor2job.containsKey(editor)) {
+			return;
+		}
+		IEObjectHover hover = hoverProvider.get();
+		if (hover instanceof DispatchingEObjectTextHover) {
+			PrefetchJob job = new PrefetchJob(editor, (DispatchingEObjectTextHover) hover);
+			((IPostSelectionProvider) editor.getSelectionProvider()).addPostSelectionChangedListener(job);
+			editor2job.put(editor, job);
+		}
+	}
+
+	@Override
+	public void editorDisposed(XtextEditor editor) {
+		PrefetchJob job = editor2job.remove(editor);
+		if (job != null) {
+			((IPostSelectionProvider) editor.getSelectionProvider()).removePostSelectionChangedListener(job);
+			job.cancel();
+		}
+	}
+
+	/**
+	 * Returns the offsets of the elements on the line of the given offset whose documentation is prefetched.
+	 */
+	protected List<Integer> getPrefetchOffsets(XtextResource resource, IXtextDocument document, int offset)
+			throws BadLocationException {
+		List<Integer> result = newArrayList();
+		if (resource == null || resource.getParseResult() == null || offset > document.getLength()) {
+			return result;
+		}
+		ICompositeNode rootNode = resource.getParseResult().getRootNode();
+		IRegion line = document.getLineInformationOfOffset(offset);
+		int end = line.getOffset() + line.getLength();
+		int current = line.getOffset();
+		while (current < end && result.size() < MAX_PREFETCHED_ELEMENTS) {
+			ILeafNode leaf = NodeModelUtils.findLeafNodeAtOffset(rootNode, current);
+			if (leaf == null) {
+				return result;
+			}
+			if (!leaf.isHidden()) {
+				result.add(leaf.getOffset());
+			}
+			current = Math.max(current + 1, leaf.getEndOffset());
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the documentation of the element at the given offset. Called with the read lock of the document held.
+	 */
+	protected void prefetch(XtextResource resource, int offset, DispatchingEObjectTextHover hover) {
+		try {
+			hover.prefetchHoverInfo(resource, offset);
+		} catch (RuntimeException e) {
+			operationCanceledManager.propagateIfCancelException(e);
+			LOG.debug("Error prefetching the hover at offset " + offset, e);
+		}
+	}
+
+	protected class PrefetchJob extends Job implements ISelectionChangedListener {
+
+		private final XtextEditor editor;
+
+		private final DispatchingEObjectTextHover hover;
+
+		private volatile int offset = -1;
+
+		protected PrefetchJob(XtextEditor editor, DispatchingEObjectTextHover hover) {
+			super("Prefetch hover documentation");
+			this.editor = editor;
+			this.hover = hover;
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		public void selectionChanged(SelectionChangedEvent event) {
+			if (event.getSelection() instanceof ITextSelection) {
+				offset = ((ITextSelection) event.getSelection()).getOffset();
+				cancel();
+				schedule(DELAY);
+			}
+		}
+
+		@Override
+		protected IStatus run(final IProgressMonitor monitor) {
+			final IXtextDocument document = editor.getDocument();
+			final int currentOffset = offset;
+			if (document == null || currentOffset < 0 || monitor.isCanceled()) {
+				return Status.OK_STATUS;
+			}
+			try {
+				final Pair<Long, List<Integer>> stampAndOffsets = document
+						.readOnly(new IUnitOfWork<Pair<Long, List<Integer>>, XtextResource>() {
+							@Override
+							public Pair<Long, List<Integer>> exec(XtextResource resource) throws Exception {
+								if (resource == null) {
+									return null;
+								}
+								return Tuples.create(resource.getModificationStamp(),
+										getPrefetchOffsets(resource, document, currentOffset));
+							}
+						});
+				if (stampAndOffsets == null) {
+					return Status.OK_STATUS;
+				}
+				// the read lock is acquired per element, so pending modifications of the document are not blocked
+				for (final Integer elementOffset : stampAndOffsets.getSecond()) {
+					if (monitor.isCanceled()) {
+						break;
+					}
+					Boolean upToDate = document.readOnly(new CancelableUnitOfWork<Boolean, XtextResource>() {
+						@Override
+						public Boolean exec(XtextResource resource, CancelIndicator cancelIndicator) throws Exception {
+							if (resource == null || resource.getModificationStamp() != stampAndOffsets.getFirst()) {
+								return false;
+							}
+							operationCanceledManager.checkCanceled(cancelIndicator);
+							prefetch(resource, elementOffset, hover);
+							return true;
+						}
+					});
+					if (!Boolean.TRUE.equals(upToDate)) {
+						break;
+					}
+				}
+			} catch (RuntimeException e) {
+				if (!operationCanceledManager.isOperationCanceledException(e)) {
+					LOG.error("Error prefetching the hover documentation", e);
+				}
+			}
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+	}
+
+}
@@ -75,12 +75,15 @@ public class DefaultEObjectHoverProvider implements IEObjectHoverProvider {
 	@Inject
 	private IQualifiedNameProvider nameProvider;
 
+	@Inject(optional = true)
+	private HoverDocumentationCache documentationCache;
+
 	protected String getHoverInfoAsHtml(EObject o) {
 		if (!hasHover(o))
 			return null;
 		StringBuffer buffer = new StringBuffer();
 		buffer.append (getFirstLine(o));
-		String documentation = getDocumentation(o);
+		String documentation = getCachedDocumentation(o);
 		if (documentation!=null && documentation.length()>0) {
 			buffer.append("<p>");
 			buffer.append(documentation);
@@ -117,6 +120,31 @@ public class DefaultEObjectHoverProvider implements IEObjectHoverProvider {
 		return decoratedProvider.getDocumentation(o);
 	}
 
+	/**
+	 * Returns the {@link #getDocumentation(EObject) documentation} of the given element from the
+	 * {@link HoverDocumentationCache}, so it is only computed once per state of the element's resource.
+	 * 
+	 * @since 2.17
+	 */
+	protected String getCachedDocumentation(EObject o) {
+		if (documentationCache == null) {
+			return getDocumentation(o);
+		}
+		return documentationCache.getDocumentation(o, (EObject element) -> getDocumentation(element));
+	}
+
+	/**
+	 * Computes the documentation of the given hovered element in advance, e.g. for the elements near the caret, so it
+	 * is already cached when the hover is shown. Call this method only from within an IUnitOfWork.
+	 * 
+	 * @since 2.17
+	 */
+	public void prefetchDocumentation(EObject element) {
+		if (documentationCache != null && hasHover(element)) {
+			getCachedDocumentation(element);
+		}
+	}
+
 	protected String getFirstLine(EObject o) {
 		String label = getLabel(o);
 		return o.eClass().getName()+ ((label != null) ? " <b>"+label+"</b>" : "");
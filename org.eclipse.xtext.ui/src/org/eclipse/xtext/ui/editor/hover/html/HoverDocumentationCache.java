@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.editor.hover.html;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.resource.XtextResource;
+
+import com.google.common.base.Function;
+import com.google.inject.Singleton;
+
+/**
+ * A bounded cache of the documentation that is shown in the hover of an element. The least recently used entry is
+ * evicted first.
+ *
+ * An entry is keyed by the URI of the element. It is only reused for the same instance of the element's resource and
+ * as long as the modification stamp of that resource did not change, so editing or reloading the resource invalidates
+ * it.
+ *
+ * @since 2.17
+ */
+@Singleton
+public class HoverDocumentationCache {
+
+	public static final int DEFAULT_MAX_SIZE = 256;
+
+	private static class Entry {
+		private final WeakReference<Resource> resource;
+		private final long modificationStamp;
+		private final String documentation;
+
+		private Entry(Resource resource, long modificationStamp, String documentation) {
+			this.resource = new WeakReference<Resource>(resource);
+			this.modificationStamp = modificationStamp;
+			this.documentation = documentation;
+		}
+	}
+
+	private final Map<URI, Entry> entries = new LinkedHashMap<URI, Entry>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<URI, Entry> eldest) {
+			return size() > getMaxSize();
+		}
+	};
+
+	/**
+	 * Returns the cached documentation of the given element, computes it if it is not cached or if its resource has
+	 * been modified since.
+	 */
+	public String getDocumentation(EObject element, Function<EObject, String> computation) {
+		Resource resource = element.eResource();
+		if (resource == null || resource.getURI() == null) {
+			return computation.apply(element);
+		}
+		URI uri = EcoreUtil.getURI(element);
+		long modificationStamp = getModificationStamp(resource);
+		synchronized (this) {
+			Entry entry = entries.get(uri);
+			if (entry != null && entry.resource.get() == resource && entry.modificationStamp == modificationStamp) {
+				return entry.documentation;
+			}
+		}
+		// compute outside of the lock, so a slow element does not block lookups of other elements
+		String documentation = computation.apply(element);
+		synchronized (this) {
+			entries.put(uri, new Entry(resource, modificationStamp, documentation));
+		}
+		return documentation;
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	protected long getModificationStamp(Resource resource) {
+		if (resource instanceof XtextResource) {
+			return ((XtextResource) resource).getModificationStamp();
+		}
+		return resource.getTimeStamp();
+	}
+
+	protected int getMaxSize() {
+		return DEFAULT_MAX_SIZE;
+	}
+
+}
@@ -167,6 +167,34 @@ public class XtextDocument extends Document implements IXtextDocument {
 		return stateAccess.modify(work);
 	}
 
+	/**
+	 * Like {@link #internalModify(IUnitOfWork)}, but the model listeners are not notified and the annotations are not
+	 * updated, since the modification is continued by another transaction. This allows to release the write lock in
+	 * between, e.g. after the reconciler has parsed the changes. For internal use only.
+	 * 
+	 * @since 2.17
+	 */
+	public <T> T internalModifyIncompletely(IUnitOfWork<T, XtextResource> work) {
+		return stateAccess.modify(new IncompleteModification<T>(work));
+	}
+
+	private static class IncompleteModification<T> implements IUnitOfWork<T, XtextResource> {
+		private final IUnitOfWork<T, XtextResource> delegate;
+
+		private IncompleteModification(IUnitOfWork<T, XtextResource> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public T exec(XtextResource state) throws Exception {
+			return delegate.exec(state);
+		}
+	}
+
+	private static boolean isNotifyingModelListeners(IUnitOfWork<?, XtextResource> work) {
+		return !(work instanceof ReconcilingUnitOfWork) && !(work instanceof IncompleteModification);
+	}
+
 	protected void ensureThatStateIsNotReturned(Object exec, IUnitOfWork<?, XtextResource> uow) {
 		// TODO activate
 		// if (exec instanceof EObject) {
@@ -445,7 +473,7 @@ public class XtextDocument extends Document implements IXtextDocument {
 								acquireReadLock();
 								releaseWriteLock();
 								ensureThatStateIsNotReturned(exec, work);
-								if (potentialUpdaterCount.decrementAndGet() == 0 && !(work instanceof ReconcilingUnitOfWork)) {
+								if (potentialUpdaterCount.decrementAndGet() == 0 && isNotifyingModelListeners(work)) {
 									notifyModelListenersOnUiThread();
 								}
 							} catch (RuntimeException e) {
@@ -477,7 +505,7 @@ public class XtextDocument extends Document implements IXtextDocument {
 					throw e;
 				}
 			} finally {
-				if(!(work instanceof ReconcilingUnitOfWork))
+				if(isNotifyingModelListeners(work))
 					checkAndUpdateAnnotations();
 			}
 		}
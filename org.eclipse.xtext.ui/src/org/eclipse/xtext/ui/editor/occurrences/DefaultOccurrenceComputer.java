@@ -9,8 +9,10 @@ package org.eclipse.xtext.ui.editor.occurrences;
 
 import static com.google.common.collect.Lists.*;
 import static com.google.common.collect.Maps.*;
+import static com.google.common.collect.Sets.*;
 import static java.util.Collections.*;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -21,11 +23,13 @@ import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.ITextSelection;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.findReferences.IReferenceFinder;
 import org.eclipse.xtext.findReferences.TargetURICollector;
 import org.eclipse.xtext.findReferences.TargetURIs;
@@ -38,9 +42,12 @@ import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.ui.editor.XtextEditor;
 import org.eclipse.xtext.ui.editor.model.IXtextDocument;
 import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.IResourceScopeCache;
 import org.eclipse.xtext.util.ITextRegion;
 import org.eclipse.xtext.util.concurrent.CancelableUnitOfWork;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 
@@ -75,6 +82,11 @@ public class DefaultOccurrenceComputer implements IOccurrenceComputer {
 	@Inject
 	private OperationCanceledManager operationCanceledManager;
 	
+	@Inject
+	private IResourceScopeCache cache;
+	
+	private static final String REFERENCE_INDEX_KEY = DefaultOccurrenceComputer.class.getName() + ".referenceIndex";
+	
 	protected void addOccurrenceAnnotation(String type, IDocument document, ITextRegion textRegion,
 			Map<Annotation, Position> annotationMap) {
 		try {
@@ -107,37 +119,17 @@ public class DefaultOccurrenceComputer implements IOccurrenceComputer {
 					if(resource != null) {
 						EObject target = eObjectAtOffsetHelper.resolveElementAt(resource, selection.getOffset());
 						if (target != null && ! target.eIsProxy()) {
-							final List<EObjectReferenceAndIndex> references = newArrayList();
-							IReferenceFinder.Acceptor acceptor = new IReferenceFinder.Acceptor() {
-								@Override
-								public void accept(IReferenceDescription reference) {
-									throw new UnsupportedOperationException("Local references are announced per object");
-								}
-
-								@Override
-								public void accept(EObject source, URI sourceURI, EReference eReference, int index,
-										EObject targetOrProxy, URI targetURI) {
-									EObjectReferenceAndIndex acceptMe = new EObjectReferenceAndIndex();
-									acceptMe.source = source;
-									acceptMe.reference = eReference;
-									acceptMe.idx = index;
-									references.add(acceptMe);
-								}
-							};
-							Iterable<URI> targetURIs = getTargetURIs(target);
-							if (!(targetURIs instanceof TargetURIs)) {
-								TargetURIs result = targetURIsProvider.get();
-								result.addAllURIs(targetURIs);
-								targetURIs = result;
-							}
 							IProgressMonitor localMonitor = new NullProgressMonitor() {
 								@Override
 								public boolean isCanceled() {
 									return monitor.isCanceled() || cancelIndicator.isCanceled();
 								}
 							};
-							referenceFinder.findReferences((TargetURIs) targetURIs, resource, acceptor, localMonitor);
+							List<EObjectReferenceAndIndex> references = findReferences(resource, target, cancelIndicator);
 							operationCanceledManager.checkCanceled(cancelIndicator);
+							if (localMonitor.isCanceled()) {
+								return emptyMap();
+							}
 							Map<Annotation, Position> result = newHashMapWithExpectedSize(references.size() + 1);
 							if (target.eResource() == resource) {
 								if (!references.isEmpty() || canBeReferencedLocally(target)) {
@@ -168,6 +160,64 @@ public class DefaultOccurrenceComputer implements IOccurrenceComputer {
 		}
 	}
 
+	/**
+	 * Looks up the references to the given target in the index of the resource.
+	 */
+	private List<EObjectReferenceAndIndex> findReferences(XtextResource resource, EObject target,
+			CancelIndicator cancelIndicator) {
+		ListMultimap<URI, EObjectReferenceAndIndex> index = getReferenceIndex(resource, cancelIndicator);
+		List<EObjectReferenceAndIndex> result = newArrayList();
+		for (URI targetURI : newLinkedHashSet(getTargetURIs(target))) {
+			result.addAll(index.get(targetURI));
+		}
+		return result;
+	}
+
+	/**
+	 * The local references of the resource by the URI of their target. The index is built by a single search for the
+	 * targets of all cross references and cached until the resource is modified, so moving the caret doesn't search
+	 * the resource again. The search is only canceled if the document changes, otherwise a fast moving caret could
+	 * prevent the index from being completed.
+	 */
+	private ListMultimap<URI, EObjectReferenceAndIndex> getReferenceIndex(final XtextResource resource,
+			final CancelIndicator cancelIndicator) {
+		return cache.get(REFERENCE_INDEX_KEY, resource, () -> {
+			TargetURIs targetURIs = targetURIsProvider.get();
+			for (Iterator<EObject> contents = EcoreUtil.getAllContents(resource, true); contents.hasNext();) {
+				operationCanceledManager.checkCanceled(cancelIndicator);
+				for (EObject crossReferenced : contents.next().eCrossReferences()) {
+					targetURIs.addURI(EcoreUtil2.getPlatformResourceOrNormalizedURI(crossReferenced));
+				}
+			}
+			final ListMultimap<URI, EObjectReferenceAndIndex> result = ArrayListMultimap.create();
+			IReferenceFinder.Acceptor acceptor = new IReferenceFinder.Acceptor() {
+				@Override
+				public void accept(IReferenceDescription reference) {
+					throw new UnsupportedOperationException("Local references are announced per object");
+				}
+
+				@Override
+				public void accept(EObject source, URI sourceURI, EReference eReference, int index,
+						EObject targetOrProxy, URI targetURI) {
+					EObjectReferenceAndIndex acceptMe = new EObjectReferenceAndIndex();
+					acceptMe.source = source;
+					acceptMe.reference = eReference;
+					acceptMe.idx = index;
+					result.put(targetURI, acceptMe);
+				}
+			};
+			IProgressMonitor monitor = new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					return cancelIndicator.isCanceled();
+				}
+			};
+			referenceFinder.findReferences(targetURIs, resource, acceptor, monitor);
+			operationCanceledManager.checkCanceled(cancelIndicator);
+			return result;
+		});
+	}
+
 	/**
 	 * @since 2.3
 	 */
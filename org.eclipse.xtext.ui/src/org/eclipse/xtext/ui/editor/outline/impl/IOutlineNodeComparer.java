@@ -24,6 +24,25 @@ public interface IOutlineNodeComparer {
 
 	boolean equals(IOutlineNode node1, IOutlineNode node2);
 
+	/**
+	 * Comparers implementing this interface allow to look up equal nodes in hash based structures. Subclasses of
+	 * {@link Default} that keep its notion of equality can opt in by implementing this interface.
+	 * 
+	 * @since 2.17
+	 */
+	interface Extension {
+		/**
+		 * Nodes that are equal according to {@link IOutlineNodeComparer#equals(IOutlineNode, IOutlineNode)} must have
+		 * the same hash.
+		 */
+		int hash(IOutlineNode node);
+	}
+
+	/**
+	 * Nodes are only looked up by {@link #hash(IOutlineNode)} if the comparer is exactly of this class, or if a subclass
+	 * implements {@link Extension}. Such subclasses that relax {@link #equals(IOutlineNode, IOutlineNode)} have to adapt
+	 * {@link #hash(IOutlineNode)} accordingly.
+	 */
 	class Default implements IOutlineNodeComparer {
 		@Override
 		public boolean equals(IOutlineNode node1, IOutlineNode node2) {
@@ -36,6 +55,19 @@ public interface IOutlineNodeComparer {
 					&& isEquivalentIndex(node1, node2);
 		}
 
+		/**
+		 * @since 2.17
+		 */
+		public int hash(IOutlineNode node) {
+			int result = 0;
+			for (IOutlineNode current = node; current != null; current = current.getParent()) {
+				Object text = current.getText();
+				result = 31 * result + current.getClass().hashCode();
+				result = 31 * result + (text == null ? 0 : text.toString().hashCode());
+			}
+			return result;
+		}
+
 		protected boolean isEquivalentIndex(IOutlineNode node1, IOutlineNode node2) {
 			IOutlineNode parent1 = node1.getParent();
 			IOutlineNode parent2 = node2.getParent();
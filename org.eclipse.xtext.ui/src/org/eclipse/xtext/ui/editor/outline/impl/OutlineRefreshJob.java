@@ -7,7 +7,9 @@
  *******************************************************************************/
 package org.eclipse.xtext.ui.editor.outline.impl;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -24,7 +26,9 @@ import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.concurrent.CancelableUnitOfWork;
 
 import com.google.common.base.Predicate;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Multimap;
 import com.google.inject.Inject;
 
 public class OutlineRefreshJob extends Job {
@@ -36,6 +40,11 @@ public class OutlineRefreshJob extends Job {
 	@Inject
 	private IOutlineNodeComparer nodeComparer;
 	
+	/*
+	 * Hash based lookups of the former expansion and selection, valid during a single refresh.
+	 */
+	private final Map<Iterable<IOutlineNode>, Multimap<Integer, IOutlineNode>> nodeLookups = new IdentityHashMap<>();
+	
 	public OutlineRefreshJob() {
 		super("Refreshing Outline");
 	}
@@ -90,7 +99,11 @@ public class OutlineRefreshJob extends Job {
 			@Override
 			public IOutlineNode exec(XtextResource resource, CancelIndicator cancelIndicator) throws Exception {
 				IOutlineNode rootNode = createModel(treeProvider, cancelIndicator);
-				restoreChildrenSelectionAndExpansion(rootNode, resource, formerState, newState, cancelIndicator);
+				try {
+					restoreChildrenSelectionAndExpansion(rootNode, resource, formerState, newState, cancelIndicator);
+				} finally {
+					nodeLookups.clear();
+				}
 				return rootNode;
 			}
 
@@ -131,7 +144,24 @@ public class OutlineRefreshJob extends Job {
 		}
 	}
 	
+	/**
+	 * Only the children of nodes that have been expanded before are traversed. If the {@link IOutlineNodeComparer}
+	 * supports {@link #getHashing() hashing}, the former nodes are looked up by hash instead of comparing them one by
+	 * one.
+	 */
 	protected boolean containsUsingComparer(Iterable<IOutlineNode> list, final IOutlineNode node) {
+		IOutlineNodeComparer.Extension hashing = getHashing();
+		if (hashing != null) {
+			Multimap<Integer, IOutlineNode> lookup = nodeLookups.get(list);
+			if (lookup == null) {
+				lookup = HashMultimap.create();
+				for (IOutlineNode nodeFromList : list) {
+					lookup.put(hashing.hash(nodeFromList), nodeFromList);
+				}
+				nodeLookups.put(list, lookup);
+			}
+			list = lookup.get(hashing.hash(node));
+		}
 		return Iterables.any(list, new Predicate<IOutlineNode>() {
 			@Override
 			public boolean apply(IOutlineNode nodeFromList) {
@@ -139,4 +169,21 @@ public class OutlineRefreshJob extends Job {
 			}
 		});
 	}
+
+	/**
+	 * Returns the hash function of the {@link IOutlineNodeComparer}, or <code>null</code> if it does not support hash
+	 * lookups. A subclass of {@link IOutlineNodeComparer.Default} might relax its equality, so its hash is only used if
+	 * the subclass opts in by implementing {@link IOutlineNodeComparer.Extension}.
+	 * 
+	 * @since 2.17
+	 */
+	protected IOutlineNodeComparer.Extension getHashing() {
+		if (nodeComparer instanceof IOutlineNodeComparer.Extension) {
+			return (IOutlineNodeComparer.Extension) nodeComparer;
+		}
+		if (nodeComparer != null && nodeComparer.getClass() == IOutlineNodeComparer.Default.class) {
+			return ((IOutlineNodeComparer.Default) nodeComparer)::hash;
+		}
+		return null;
+	}
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ package org.eclipse.xtext.ui.editor.reconciler;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -67,6 +68,8 @@ public class XtextDocumentReconcileStrategy implements IReconcilingStrategy, IRe
 
 	private XtextEditor editor;
 
+	private boolean isPostParseDeferred;
+
 	
 	@Inject
 	private void initializeStrategyFactories(Injector injector) {
@@ -88,9 +91,56 @@ public class XtextDocumentReconcileStrategy implements IReconcilingStrategy, IRe
 			log.trace("reconcile region: " + region);
 		}
 		doReconcile(region);
+		reconcileStrategies(region);
+	}
+
+	/**
+	 * Only parses the changes of the given region. The remaining steps, i.e. resolving the cross references, announcing
+	 * the dirty state and running the other reconciling strategies, are performed by
+	 * {@link #reconcileAfterParse(IRegion)}, which may run in another write transaction on the document.
+	 * 
+	 * @since 2.17
+	 */
+	public void reconcileParse(IRegion region) {
+		isPostParseDeferred = true;
+		try {
+			doReconcile(region);
+		} finally {
+			isPostParseDeferred = false;
+		}
+	}
+
+	/**
+	 * Performs the steps of the reconciliation that follow {@link #reconcileParse(IRegion)}.
+	 * 
+	 * @since 2.17
+	 */
+	public void reconcileAfterParse(IRegion region) {
+		if (resource != null) {
+			try {
+				long start = System.nanoTime();
+				postParse(resource, monitor);
+				logPhase("Post-processing", start);
+			} catch (OperationCanceledException e) {
+				resource.getCache().clear(resource);
+			} catch (OperationCanceledError e) {
+				resource.getCache().clear(resource);
+			}
+		}
+		reconcileStrategies(region);
+	}
+
+	private void reconcileStrategies(IRegion region) {
+		long start = System.nanoTime();
 		for (IReconcilingStrategy strategy: strategies) {
 			strategy.reconcile(region);
 		}
+		logPhase("Running the reconciling strategies", start);
+	}
+
+	private void logPhase(String phase, long startNanos) {
+		if (log.isDebugEnabled())
+			log.debug(phase + " took " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) + "ms");
 	}
 
 	@Override
@@ -179,10 +229,16 @@ public class XtextDocumentReconcileStrategy implements IReconcilingStrategy, IRe
 			if (log.isTraceEnabled()) {
 				log.trace("Parsing replace region '" + replaceRegionToBeProcessed + "'.");
 			}
+			long start = System.nanoTime();
 			resource.update(replaceRegionToBeProcessed.getOffset(), replaceRegionToBeProcessed.getLength(),
 					replaceRegionToBeProcessed.getText());
 			resource.setModificationStamp(replaceRegionToBeProcessed.getModificationStamp());
-			postParse(resource, monitor);
+			logPhase("Parsing", start);
+			if (!isPostParseDeferred) {
+				start = System.nanoTime();
+				postParse(resource, monitor);
+				logPhase("Post-processing", start);
+			}
 		} catch (OperationCanceledException e) {
 			resource.getCache().clear(resource);
 		} catch (OperationCanceledError e) {
@@ -12,6 +12,7 @@ import static org.eclipse.xtext.ui.editor.XtextSourceViewerConfiguration.*;
 
 import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -47,6 +48,7 @@ import org.eclipse.xtext.ui.editor.model.XtextDocumentUtil;
 import org.eclipse.xtext.util.DiffUtil;
 import org.eclipse.xtext.util.concurrent.IUnitOfWork;
 
+import com.google.common.base.Strings;
 import com.google.inject.Inject;
 
 /**
@@ -67,6 +69,16 @@ public class XtextReconciler extends Job implements IReconciler {
 
 	private static final Logger log = Logger.getLogger(XtextReconciler.class);
 
+	/**
+	 * The minimum length of a document for which the write lock is released after parsing, so that readers don't have
+	 * to wait for the cross references to be resolved. Disabled unless set.
+	 * 
+	 * @since 2.17
+	 */
+	public static final String PHASED_RECONCILIATION_THRESHOLD_PROPERTY = "org.eclipse.xtext.ui.editor.reconciler.phasedThreshold";
+
+	private static final int PHASED_RECONCILIATION_THRESHOLD = Integer.getInteger(PHASED_RECONCILIATION_THRESHOLD_PROPERTY, -1);
+
 	private boolean isInstalled;
 	private boolean shouldInstallCompletionListener;
 	private volatile boolean paused;
@@ -83,6 +95,12 @@ public class XtextReconciler extends Job implements IReconciler {
 	
 	private LinkedBlockingQueue<DocumentEvent> pendingChanges = new LinkedBlockingQueue<DocumentEvent>();
 
+	/**
+	 * The parsed region whose post-processing was left to the next run of a phased reconciliation. Only accessed by
+	 * this job.
+	 */
+	private ReconcilerReplaceRegion unfinishedRegion;
+
 	/**
 	 * A special {@link DocumentEvent} that signals that an editors input has been replaced.
 	 * 
@@ -352,18 +370,24 @@ public class XtextReconciler extends Job implements IReconciler {
 		if (monitor.isCanceled() || paused)
 			return Status.CANCEL_STATUS;
 
-		if (pendingChanges.isEmpty()) {
+		if (pendingChanges.isEmpty() && unfinishedRegion == null) {
 			return Status.OK_STATUS;
 		}
 		long start = System.currentTimeMillis();
 		final IXtextDocument document = XtextDocumentUtil.get(textViewer);
 		if (document instanceof XtextDocument) {
-			((XtextDocument) document).internalModify(new IUnitOfWork.Void<XtextResource>() {
-				@Override
-				public void process(XtextResource state) throws Exception {
-					doRun(state, monitor);
-				}
-			});
+			if (unfinishedRegion != null || isPhasedReconciliation((XtextDocument) document)) {
+				runPhased((XtextDocument) document, monitor);
+			} else {
+				final long lockRequested = System.nanoTime();
+				((XtextDocument) document).internalModify(new IUnitOfWork.Void<XtextResource>() {
+					@Override
+					public void process(XtextResource state) throws Exception {
+						logWaitingForLock(lockRequested);
+						doRun(state, monitor);
+					}
+				});
+			}
 		}
 		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
@@ -373,6 +397,99 @@ public class XtextReconciler extends Job implements IReconciler {
 		return Status.OK_STATUS;
 	}
 	
+	/**
+	 * Whether the reconciliation should release the write lock on the document after the changes are parsed.
+	 * Afterwards, pending readers may access the parsed model before the write lock is acquired again to resolve the
+	 * cross references, to announce the dirty state and to run the other reconciling strategies. The model listeners
+	 * are notified once all phases are done.
+	 * 
+	 * By default, this is done for documents that exceed the length given by the system property
+	 * {@value #PHASED_RECONCILIATION_THRESHOLD_PROPERTY}.
+	 * 
+	 * @since 2.17
+	 */
+	protected boolean isPhasedReconciliation(XtextDocument document) {
+		return strategy instanceof XtextDocumentReconcileStrategy && PHASED_RECONCILIATION_THRESHOLD >= 0
+				&& document.getLength() >= PHASED_RECONCILIATION_THRESHOLD;
+	}
+
+	private void runPhased(XtextDocument document, final IProgressMonitor monitor) {
+		final XtextDocumentReconcileStrategy xtextDocumentReconcileStrategy = (XtextDocumentReconcileStrategy) strategy;
+		final long lockRequested = System.nanoTime();
+		final ReconcilerReplaceRegion regionToComplete = document.internalModifyIncompletely(
+				new IUnitOfWork<ReconcilerReplaceRegion, XtextResource>() {
+					@Override
+					public ReconcilerReplaceRegion exec(XtextResource state) throws Exception {
+						logWaitingForLock(lockRequested);
+						String parsedText = unfinishedRegion != null ? getResourceText(state) : null;
+						final ReconcilerReplaceRegion replaceRegion = getMergedReplaceRegion(state);
+						if (replaceRegion == null) {
+							return unfinishedRegion;
+						}
+						doRun(state, monitor, new Runnable() {
+							@Override
+							public void run() {
+								xtextDocumentReconcileStrategy.reconcileParse(replaceRegion);
+							}
+						});
+						if (unfinishedRegion == null) {
+							return replaceRegion;
+						}
+						return merge(unfinishedRegion, replaceRegion, parsedText);
+					}
+				});
+		unfinishedRegion = regionToComplete;
+		if (regionToComplete == null || monitor.isCanceled() || !pendingChanges.isEmpty()) {
+			// the next run will parse the new changes and complete the reconciliation of both regions
+			return;
+		}
+		final long lockRequestedAgain = System.nanoTime();
+		document.internalModify(new IUnitOfWork.Void<XtextResource>() {
+			@Override
+			public void process(XtextResource state) throws Exception {
+				logWaitingForLock(lockRequestedAgain);
+				doRun(state, monitor, new Runnable() {
+					@Override
+					public void run() {
+						xtextDocumentReconcileStrategy.reconcileAfterParse(regionToComplete);
+					}
+				});
+			}
+		});
+		if (!monitor.isCanceled()) {
+			unfinishedRegion = null;
+		}
+	}
+
+	/**
+	 * Merges a region that was already parsed with the region of the changes that followed. The merged region is
+	 * relative to the text before the first region, as if both had been parsed at once.
+	 * 
+	 * @param parsedText
+	 *            the text after the first region was applied, which the second region refers to
+	 */
+	private ReconcilerReplaceRegion merge(ReconcilerReplaceRegion first, ReconcilerReplaceRegion second, String parsedText) {
+		// the replaced text of the first region is gone, but it doesn't contribute to the merged replacement
+		int firstEnd = first.getOffset() + first.getText().length();
+		String textBeforeFirst = parsedText.substring(0, first.getOffset()) + Strings.repeat(" ", first.getLength())
+				+ parsedText.substring(firstEnd);
+		ReconcilerReplaceRegion merged = ReconcilerReplaceRegion.builder(textBeforeFirst)
+				.add(first.getOffset(), first.getLength(), first.getText())
+				.add(second.getOffset(), second.getLength(), second.getText())
+				.create();
+		merged.setModificationStamp(second.getModificationStamp());
+		for (DocumentEvent event : first.getDocumentEvents())
+			merged.addDocumentEvent(event);
+		for (DocumentEvent event : second.getDocumentEvents())
+			merged.addDocumentEvent(event);
+		return merged;
+	}
+
+	private void logWaitingForLock(long lockRequested) {
+		if (log.isDebugEnabled())
+			log.debug("Waited " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lockRequested) + "ms for the write lock."); //$NON-NLS-1$
+	}
+
 	/**
 	 * @since 2.11
 	 */
@@ -433,35 +550,47 @@ public class XtextReconciler extends Job implements IReconciler {
 		}
 		final ReconcilerReplaceRegion replaceRegionToBeProcessed = getMergedReplaceRegion(state);
 		if (replaceRegionToBeProcessed != null) {
-			try {
-				if (strategy instanceof IReconcilingStrategyExtension) {
-					/*
-					 * We do not use XtextDocument#getOutdatedStateCancelIndicator here,
-					 * because the reconciler should not be canceled by read transactions 
-					 * like content assist. It should only cancel itself on document changes.
-					 */
-					((IReconcilingStrategyExtension) strategy).setProgressMonitor(monitor != null? monitor : new NullProgressMonitor());
-				}
-				if (strategy instanceof XtextDocumentReconcileStrategy) {
-					XtextDocumentReconcileStrategy xtextDocumentReconcileStrategy = (XtextDocumentReconcileStrategy) strategy;
-					xtextDocumentReconcileStrategy.setResource(state);
-					xtextDocumentReconcileStrategy.setEditor(editor);
-				}
-				strategy.reconcile(replaceRegionToBeProcessed);
-			} finally {
-				if (strategy instanceof IReconcilingStrategyExtension) {
-					((IReconcilingStrategyExtension) strategy).setProgressMonitor(null);
-				}
-				if (strategy instanceof XtextDocumentReconcileStrategy) {
-					XtextDocumentReconcileStrategy xtextDocumentReconcileStrategy = (XtextDocumentReconcileStrategy) strategy;
-					xtextDocumentReconcileStrategy.setResource(null);
-					xtextDocumentReconcileStrategy.setEditor(null);
+			doRun(state, monitor, new Runnable() {
+				@Override
+				public void run() {
+					strategy.reconcile(replaceRegionToBeProcessed);
 				}
-			}
+			});
 			return true;
 		}
 		return false;
 	}
+
+	/**
+	 * Must be run with a write lock on the IXtextDocument.
+	 */
+	private void doRun(final XtextResource state, /* @Nullable */ final IProgressMonitor monitor, Runnable reconciliation) {
+		try {
+			if (strategy instanceof IReconcilingStrategyExtension) {
+				/*
+				 * We do not use XtextDocument#getOutdatedStateCancelIndicator here,
+				 * because the reconciler should not be canceled by read transactions 
+				 * like content assist. It should only cancel itself on document changes.
+				 */
+				((IReconcilingStrategyExtension) strategy).setProgressMonitor(monitor != null? monitor : new NullProgressMonitor());
+			}
+			if (strategy instanceof XtextDocumentReconcileStrategy) {
+				XtextDocumentReconcileStrategy xtextDocumentReconcileStrategy = (XtextDocumentReconcileStrategy) strategy;
+				xtextDocumentReconcileStrategy.setResource(state);
+				xtextDocumentReconcileStrategy.setEditor(editor);
+			}
+			reconciliation.run();
+		} finally {
+			if (strategy instanceof IReconcilingStrategyExtension) {
+				((IReconcilingStrategyExtension) strategy).setProgressMonitor(null);
+			}
+			if (strategy instanceof XtextDocumentReconcileStrategy) {
+				XtextDocumentReconcileStrategy xtextDocumentReconcileStrategy = (XtextDocumentReconcileStrategy) strategy;
+				xtextDocumentReconcileStrategy.setResource(null);
+				xtextDocumentReconcileStrategy.setEditor(null);
+			}
+		}
+	}
 	
 	/**
 	 * @since 2.7
@@ -21,7 +21,10 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtext.generator.trace.AbsoluteURI;
+import org.eclipse.xtext.generator.trace.AbstractTraceRegion;
+import org.eclipse.xtext.generator.trace.ITraceRegionProvider;
 import org.eclipse.xtext.generator.trace.TraceFileNameProvider;
+import org.eclipse.xtext.generator.trace.TraceNotFoundException;
 import org.eclipse.xtext.generator.trace.internal.AbstractTraceForURIProvider;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.ui.workspace.EclipseProjectConfigProvider;
@@ -52,6 +55,9 @@ public class TraceForStorageProvider extends AbstractTraceForURIProvider<IFile,
 	
 	@Inject
 	private IWorkspace workspace;
+
+	@Inject
+	private TraceRegionCache traceRegionCache;
 	
 	protected class FileBasedTrace implements PersistedTrace {
 
@@ -172,11 +178,43 @@ public class TraceForStorageProvider extends AbstractTraceForURIProvider<IFile,
 	@Override
 	public IEclipseTrace getTraceToSource(IStorage derivedResource) {
 		if (derivedResource instanceof IFile) {
-			return getTraceToSource((IFile) derivedResource);
+			IFile generatedFile = (IFile) derivedResource;
+			StorageAwareTrace result = getTraceToSource(generatedFile);
+			if (result != null) {
+				result.setTraceRegionProvider(new CachedTraceRegionProvider(getTraceFile(generatedFile)));
+			}
+			return result;
 		}
 		return null;
 	}
 
+	/**
+	 * Reads the trace regions through the {@link TraceRegionCache}, so a trace file is not deserialized again as long
+	 * as it is unchanged, e.g. while stepping through generated code in the debugger.
+	 * 
+	 * @since 2.17
+	 */
+	protected class CachedTraceRegionProvider implements ITraceRegionProvider {
+
+		private final IFile traceFile;
+
+		protected CachedTraceRegionProvider(IFile traceFile) {
+			this.traceFile = traceFile;
+		}
+
+		@Override
+		public AbstractTraceRegion getTraceRegion() {
+			try {
+				if (traceFile.exists()) {
+					return traceRegionCache.getTraceRegion(traceFile);
+				}
+			} catch (IOException | CoreException e) {
+				LOG.error("Error reading trace file " + traceFile.getFullPath(), e);
+			}
+			throw new TraceNotFoundException();
+		}
+	}
+
 	/**
 	 * @since 2.3
 	 */
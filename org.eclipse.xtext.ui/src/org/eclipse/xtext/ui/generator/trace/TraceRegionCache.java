@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.generator.trace;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.xtext.generator.trace.AbstractTraceRegion;
+import org.eclipse.xtext.generator.trace.TraceRegionSerializer;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * A bounded cache of deserialized trace files. The least recently used trace is evicted first. An entry is only
+ * reused as long as the modification stamp and the local time stamp of the trace file did not change.
+ *
+ * @since 2.17
+ */
+@Singleton
+public class TraceRegionCache {
+
+	public static final int DEFAULT_MAX_SIZE = 64;
+
+	private static class Entry {
+		private final long modificationStamp;
+		private final long localTimeStamp;
+		private final AbstractTraceRegion traceRegion;
+
+		private Entry(long modificationStamp, long localTimeStamp, AbstractTraceRegion traceRegion) {
+			this.modificationStamp = modificationStamp;
+			this.localTimeStamp = localTimeStamp;
+			this.traceRegion = traceRegion;
+		}
+	}
+
+	@Inject
+	private TraceRegionSerializer traceRegionSerializer;
+
+	private final Map<IPath, Entry> entries = new LinkedHashMap<IPath, Entry>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IPath, Entry> eldest) {
+			return size() > getMaxSize();
+		}
+	};
+
+	private int hits;
+
+	private int misses;
+
+	/**
+	 * Returns the root trace region of the given trace file, reads the file if it is not cached or if it has been
+	 * modified since it was read.
+	 */
+	public AbstractTraceRegion getTraceRegion(IFile traceFile) throws IOException, CoreException {
+		IPath path = traceFile.getFullPath();
+		long modificationStamp = traceFile.getModificationStamp();
+		long localTimeStamp = traceFile.getLocalTimeStamp();
+		synchronized (this) {
+			Entry entry = entries.get(path);
+			if (entry != null && entry.modificationStamp == modificationStamp && entry.localTimeStamp == localTimeStamp) {
+				hits++;
+				return entry.traceRegion;
+			}
+			misses++;
+		}
+		// read outside of the lock, so a large trace file does not block lookups of other files
+		AbstractTraceRegion traceRegion;
+		try (InputStream contents = traceFile.getContents()) {
+			traceRegion = traceRegionSerializer.readTraceRegionFrom(contents);
+		}
+		synchronized (this) {
+			entries.put(path, new Entry(modificationStamp, localTimeStamp, traceRegion));
+		}
+		return traceRegion;
+	}
+
+	public synchronized void invalidate(IFile traceFile) {
+		entries.remove(traceFile.getFullPath());
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public synchronized int getHits() {
+		return hits;
+	}
+
+	public synchronized int getMisses() {
+		return misses;
+	}
+
+	protected int getMaxSize() {
+		return DEFAULT_MAX_SIZE;
+	}
+
+}
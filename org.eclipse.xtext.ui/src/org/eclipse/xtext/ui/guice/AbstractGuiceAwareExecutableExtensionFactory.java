@@ -17,6 +17,7 @@ import org.eclipse.core.runtime.IExecutableExtensionFactory;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.xtext.ui.util.StartupTracer;
 import org.osgi.framework.Bundle;
 
 import com.google.inject.Injector;
@@ -50,7 +51,10 @@ public abstract class AbstractGuiceAwareExecutableExtensionFactory implements IE
 	public Object create() throws CoreException {
 		try {
 			final Class<?> clazz = getBundle().loadClass(clazzName);
-			final Injector injector = getInjector();
+			final Injector injector;
+			try (StartupTracer.Phase phase = StartupTracer.startOnce("Create injector of " + getBundle().getSymbolicName())) {
+				injector = getInjector();
+			}
 			if (injector == null) {
 				throw handleCreationError(null);
 			}
@@ -11,6 +11,7 @@ package org.eclipse.xtext.ui.internal;
 import org.apache.log4j.Logger;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
+import org.eclipse.xtext.ui.util.StartupTracer;
 import org.osgi.framework.BundleContext;
 
 /**
@@ -26,8 +27,10 @@ public class Activator extends AbstractUIPlugin {
 
 	@Override
 	public void start(BundleContext context) throws Exception {
-		super.start(context);
-		plugin = this;
+		try (StartupTracer.Phase phase = StartupTracer.start("Activate " + PLUGIN_ID)) {
+			super.start(context);
+			plugin = this;
+		}
 
 		if (log.isDebugEnabled())
 			log.debug("Starting Xtext UI Core bundle.");
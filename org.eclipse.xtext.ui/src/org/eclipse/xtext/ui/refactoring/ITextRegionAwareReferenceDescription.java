@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.refactoring;
+
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.util.ITextRegion;
+
+/**
+ * A reference description that knows where the reference is written in the text of the referring resource. The builder
+ * records this region for the resources it has built, which allows the rename refactoring to update simple name
+ * references without loading the referring resources.
+ * 
+ * @since 2.17
+ */
+public interface ITextRegionAwareReferenceDescription extends IReferenceDescription {
+
+	/**
+	 * @return the region of the reference text in the referring resource, or <code>null</code> if it is unknown.
+	 */
+	ITextRegion getTextRegion();
+
+}
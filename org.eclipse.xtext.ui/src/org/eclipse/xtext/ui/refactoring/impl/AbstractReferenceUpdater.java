@@ -14,10 +14,21 @@ import static org.eclipse.ltk.core.refactoring.RefactoringStatus.*;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.emf.common.util.URI;
@@ -30,27 +41,42 @@ import org.eclipse.xtext.ui.refactoring.ElementRenameArguments;
 import org.eclipse.xtext.ui.refactoring.IRefactoringUpdateAcceptor;
 import org.eclipse.xtext.ui.refactoring.IReferenceUpdater;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 
 /**
  * Abstract base class to update the references to renamed elements.
  * 
  * Sorts all references by project and uses a separate resource set for each project to assert proper initialization.
- * Updates are performed in clusters of 20 (default) referring resources. 
+ * Updates are performed in clusters of 20 (default) referring resources. If the {@link #getParallelism() parallelism}
+ * is greater than one, clusters are processed concurrently, each worker in its own resource set.
  * 
  * @author Jan Koehnlein - Initial contribution and API
  * @author Holger Schill
  */
 public abstract class AbstractReferenceUpdater implements IReferenceUpdater {
 
+	/**
+	 * The system property that configures the number of clusters that are processed concurrently, see
+	 * {@link #getParallelism()}.
+	 * 
+	 * @since 2.17
+	 */
+	public static final String PARALLELISM_PROPERTY = "org.eclipse.xtext.ui.refactoring.referenceUpdater.threads";
+
 	@Inject
 	private ReferenceDescriptionSorter sorter;
 
 	@Inject
 	private RefactoringResourceSetProvider resourceSetProvider;
 
+	@Inject
+	private Provider<StatusWrapper> statusWrapperProvider;
+
 	@Override
 	public void createReferenceUpdates(ElementRenameArguments elementRenameArguments,
 			Iterable<IReferenceDescription> referenceDescriptions, IRefactoringUpdateAcceptor updateAcceptor,
@@ -75,10 +101,109 @@ public abstract class AbstractReferenceUpdater implements IReferenceUpdater {
 			}
 			Multimap<URI, IReferenceDescription> resource2references = sorter.sortByResource(project2references
 					.get(project));
-			ResourceSet resourceSet = resourceSetProvider.get(project);
 			StatusWrapper status = updateAcceptor.getRefactoringStatus();
-			createClusteredReferenceUpdates(elementRenameArguments, resource2references, resourceSet, updateAcceptor,
-					status, allProjectsProgress.newChild(1));
+			if (getParallelism() > 1 && getClusterSize() > 0 && resource2references.keySet().size() > getClusterSize()) {
+				createParallelClusteredReferenceUpdates(elementRenameArguments, resource2references, project,
+						resourceSetProvider, updateAcceptor, status, allProjectsProgress.newChild(1));
+			} else {
+				ResourceSet resourceSet = resourceSetProvider.get(project);
+				createClusteredReferenceUpdates(elementRenameArguments, resource2references, resourceSet, updateAcceptor,
+						status, allProjectsProgress.newChild(1));
+			}
+		}
+	}
+
+	/**
+	 * Processes the clusters of referring resources concurrently. Each worker uses its own resource set in which it
+	 * applies the declaration change, and reports its updates through a {@link SynchronizedRefactoringUpdateAcceptor}.
+	 * 
+	 * @since 2.17
+	 */
+	protected void createParallelClusteredReferenceUpdates(final ElementRenameArguments elementRenameArguments,
+			Multimap<URI, IReferenceDescription> resource2references, final IProject project,
+			RefactoringResourceSetProvider resourceSetProvider, final IRefactoringUpdateAcceptor updateAcceptor,
+			StatusWrapper status, IProgressMonitor monitor) {
+		final SubMonitor progress = SubMonitor.convert(monitor, resource2references.keySet().size() + 1);
+		if (!loadTargetResources(resourceSetProvider.get(project), elementRenameArguments, status, progress.newChild(1))) {
+			return;
+		}
+		// workers need resource sets of their own
+		final RefactoringResourceSetProvider workerResourceSetProvider = resourceSetProvider instanceof CachingResourceSetProvider 
+				? ((CachingResourceSetProvider) resourceSetProvider).getDelegate() 
+				: resourceSetProvider;
+		final Queue<Multimap<URI, IReferenceDescription>> clusters = new ConcurrentLinkedQueue<Multimap<URI, IReferenceDescription>>();
+		Multimap<URI, IReferenceDescription> cluster = HashMultimap.create();
+		for (URI referringResourceURI : resource2references.keySet()) {
+			cluster.putAll(referringResourceURI, resource2references.get(referringResourceURI));
+			if (cluster.keySet().size() == getClusterSize()) {
+				clusters.add(cluster);
+				cluster = HashMultimap.create();
+			}
+		}
+		if (!cluster.isEmpty()) {
+			clusters.add(cluster);
+		}
+		final AtomicInteger processed = new AtomicInteger();
+		final IProgressMonitor workerMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return progress.isCanceled();
+			}
+		};
+		int nWorkers = Math.min(getParallelism(), clusters.size());
+		ExecutorService executor = Executors.newFixedThreadPool(nWorkers,
+				new ThreadFactoryBuilder().setNameFormat("ReferenceUpdater-%d").setDaemon(true).build());
+		try {
+			List<Future<StatusWrapper>> workers = newArrayList();
+			for (int i = 0; i < nWorkers; i++) {
+				workers.add(executor.submit(new Callable<StatusWrapper>() {
+					@Override
+					public StatusWrapper call() {
+						StatusWrapper workerStatus = statusWrapperProvider.get();
+						IRefactoringUpdateAcceptor workerAcceptor = new SynchronizedRefactoringUpdateAcceptor(updateAcceptor, workerStatus);
+						ResourceSet resourceSet = workerResourceSetProvider.get(project);
+						if (loadTargetResources(resourceSet, elementRenameArguments, workerStatus, workerMonitor)) {
+							Set<Resource> targetResources = newHashSet(resourceSet.getResources());
+							Multimap<URI, IReferenceDescription> next;
+							while ((next = clusters.poll()) != null) {
+								if (workerMonitor.isCanceled()) {
+									throw new OperationCanceledException();
+								}
+								unloadNonTargetResources(resourceSet, targetResources);
+								createReferenceUpdatesForCluster(elementRenameArguments, next, resourceSet, workerAcceptor,
+										workerStatus, workerMonitor);
+								processed.addAndGet(next.keySet().size());
+							}
+						}
+						return workerStatus;
+					}
+				}));
+			}
+			int reported = 0;
+			for (Future<StatusWrapper> worker : workers) {
+				StatusWrapper workerStatus = null;
+				while (workerStatus == null) {
+					if (progress.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					try {
+						workerStatus = worker.get(100, TimeUnit.MILLISECONDS);
+					} catch (TimeoutException e) {
+						// report the progress and check for cancellation
+					}
+					int current = processed.get();
+					progress.worked(current - reported);
+					reported = current;
+				}
+				status.merge(workerStatus);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			throw Throwables.propagate(e.getCause());
+		} finally {
+			executor.shutdownNow();
 		}
 	}
 
@@ -124,10 +249,37 @@ public abstract class AbstractReferenceUpdater implements IReferenceUpdater {
 		return 20;
 	}
 
+	/**
+	 * Returns the number of clusters that are processed concurrently. Defaults to one, i.e. sequential processing, and
+	 * can be configured by means of the system property {@value #PARALLELISM_PROPERTY}. A parallelism greater than one
+	 * requires that
+	 * {@link #createReferenceUpdates(ElementRenameArguments, Multimap, ResourceSet, IRefactoringUpdateAcceptor, IProgressMonitor)}
+	 * and the rename strategy can be used from multiple threads for different resource sets.
+	 * 
+	 * @since 2.17
+	 */
+	protected int getParallelism() {
+		Integer configured = Integer.getInteger(PARALLELISM_PROPERTY);
+		if (configured != null && configured.intValue() > 1) {
+			return configured.intValue();
+		}
+		return 1;
+	}
+
 	protected void createReferenceUpdatesForCluster(ElementRenameArguments elementRenameArguments,
 			Multimap<URI, IReferenceDescription> resource2references, ResourceSet resourceSet,
 			IRefactoringUpdateAcceptor updateAcceptor, StatusWrapper status, IProgressMonitor monitor) {
-		SubMonitor progress = SubMonitor.convert(monitor, 100);
+		SubMonitor progress = SubMonitor.convert(monitor, 105);
+		Set<URI> updatedResources = createIndexOnlyReferenceUpdates(elementRenameArguments, resource2references,
+				updateAcceptor, progress.newChild(5));
+		for (URI updatedResource : updatedResources)
+			resource2references.removeAll(updatedResource);
+		if (resource2references.isEmpty()) {
+			return;
+		}
+		if (progress.isCanceled()) {
+			throw new OperationCanceledException();
+		}
 		List<URI> unloadableResources = loadReferringResources(resourceSet, resource2references.keySet(), status,
 				progress.newChild(10));
 		if (progress.isCanceled()) {
@@ -157,6 +309,19 @@ public abstract class AbstractReferenceUpdater implements IReferenceUpdater {
 		elementRenameArguments.getRenameStrategy().revertDeclarationChange(resourceSet);
 	}
 
+	/**
+	 * Creates the updates for those referring resources that can be handled without loading them, e.g. based on
+	 * information from the index. Returns the URIs of the handled resources, all other resources are loaded and updated
+	 * as usual. The default implementation handles no resource.
+	 * 
+	 * @since 2.17
+	 */
+	protected Set<URI> createIndexOnlyReferenceUpdates(ElementRenameArguments elementRenameArguments,
+			Multimap<URI, IReferenceDescription> resource2references, IRefactoringUpdateAcceptor updateAcceptor,
+			IProgressMonitor monitor) {
+		return Collections.emptySet();
+	}
+
 	protected List<IReferenceDescription> resolveReferenceProxies(ResourceSet resourceSet,
 			Collection<IReferenceDescription> values, StatusWrapper status, IProgressMonitor monitor) {
 		List<IReferenceDescription> unresolvedDescriptions = null;
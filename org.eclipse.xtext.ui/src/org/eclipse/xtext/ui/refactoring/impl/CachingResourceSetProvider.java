@@ -35,4 +35,11 @@ public class CachingResourceSetProvider extends RefactoringResourceSetProvider {
 		resourceSets.put(project, result);
 		return result;
 	}
+
+	/**
+	 * @since 2.17
+	 */
+	public RefactoringResourceSetProvider getDelegate() {
+		return delegate;
+	}
 }
\ No newline at end of file
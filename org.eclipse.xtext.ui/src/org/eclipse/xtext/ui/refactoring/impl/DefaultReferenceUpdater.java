@@ -9,7 +9,12 @@ package org.eclipse.xtext.ui.refactoring.impl;
 
 import static org.eclipse.ltk.core.refactoring.RefactoringStatus.*;
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -17,6 +22,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
@@ -24,25 +30,37 @@ import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.text.edits.ReplaceEdit;
 import org.eclipse.text.edits.TextEdit;
 import org.eclipse.xtext.CrossReference;
+import org.eclipse.xtext.GrammarUtil;
+import org.eclipse.xtext.IGrammarAccess;
+import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.ILocationInFileProvider;
 import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.serializer.sequencer.ITransientValueService;
 import org.eclipse.xtext.ui.refactoring.ElementRenameArguments;
 import org.eclipse.xtext.ui.refactoring.IRefactoringUpdateAcceptor;
+import org.eclipse.xtext.ui.refactoring.ITextRegionAwareReferenceDescription;
 import org.eclipse.xtext.ui.refactoring.impl.RefactoringCrossReferenceSerializer.RefTextEvaluator;
 import org.eclipse.xtext.util.ITextRegion;
+import org.eclipse.xtext.util.TextRegion;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 
 /**
  * Creates updates for all references from Xtext based resources to a renamed element using Xtext's serialization API.
  * 
+ * If the index provides the {@link ITextRegionAwareReferenceDescription text regions} of the references, plain simple
+ * name references to the renamed element are replaced without loading the referring resource.
+ * 
  * @author Jan Koehnlein - Initial contribution and API
  */
 public class DefaultReferenceUpdater extends AbstractReferenceUpdater {
@@ -61,6 +79,233 @@ public class DefaultReferenceUpdater extends AbstractReferenceUpdater {
 	@Inject
 	private RefactoringCrossReferenceSerializer crossReferenceSerializer;
 
+	@Inject
+	private IGrammarAccess grammarAccess;
+
+	@Inject
+	private IResourceDescriptions resourceDescriptions;
+
+	private volatile Set<String> keywords;
+
+	private final Map<ElementRenameArguments, Boolean> exportedNewNames = new WeakHashMap<ElementRenameArguments, Boolean>();
+
+	/**
+	 * Replaces the references of a referring resource by the new name if all of them are written as the plain original
+	 * name at the text region known from the index. Otherwise the resource is left to the regular update, which
+	 * loads it and serializes the references.
+	 * 
+	 * The regular update verifies that the new name resolves to the renamed element in the scope of the reference.
+	 * Without loading the referring resource, this is approximated conservatively: the regular update is used whenever
+	 * the new name is exported by another element or occurs in the text of the referring resource, see
+	 * {@link #isNewNameExported(ElementRenameArguments)}.
+	 * 
+	 * @since 2.17
+	 */
+	@Override
+	protected Set<URI> createIndexOnlyReferenceUpdates(ElementRenameArguments elementRenameArguments,
+			Multimap<URI, IReferenceDescription> resource2references, IRefactoringUpdateAcceptor updateAcceptor,
+			IProgressMonitor monitor) {
+		String originalName = elementRenameArguments.getRenameStrategy().getOriginalName();
+		String newName = elementRenameArguments.getNewName();
+		if (!isPlainName(originalName) || !isPlainName(newName)) {
+			return Collections.emptySet();
+		}
+		if (!hasIndexedReferenceRegion(resource2references.values()) || isNewNameExported(elementRenameArguments)) {
+			return Collections.emptySet();
+		}
+		SubMonitor progress = SubMonitor.convert(monitor, resource2references.keySet().size());
+		Set<URI> result = Sets.newHashSet();
+		for (URI referringResourceURI : resource2references.keySet()) {
+			if (progress.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			List<TextEdit> edits = createIndexOnlyTextEdits(referringResourceURI,
+					resource2references.get(referringResourceURI), elementRenameArguments, originalName, newName,
+					updateAcceptor);
+			if (edits != null) {
+				for (TextEdit edit : edits) {
+					updateAcceptor.accept(referringResourceURI, edit);
+				}
+				result.add(referringResourceURI);
+			}
+			progress.worked(1);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the edits for all given references of the referring resource or <code>null</code> if any of them cannot
+	 * be updated without loading the resource.
+	 * 
+	 * @since 2.17
+	 */
+	protected List<TextEdit> createIndexOnlyTextEdits(URI referringResourceURI,
+			Iterable<IReferenceDescription> referenceDescriptions, ElementRenameArguments elementRenameArguments,
+			String originalName, String newName, IRefactoringUpdateAcceptor updateAcceptor) {
+		List<TextEdit> result = Lists.newArrayList();
+		String contents = null;
+		for (IReferenceDescription referenceDescription : referenceDescriptions) {
+			// references to dependent elements may have to change more than the simple name
+			if (!elementRenameArguments.getTargetElementURI().equals(referenceDescription.getTargetEObjectUri())) {
+				return null;
+			}
+			ITextRegion region = getIndexedReferenceRegion(referenceDescription);
+			if (region == null) {
+				return null;
+			}
+			if (contents == null) {
+				IRefactoringDocument document = updateAcceptor.getDocument(referringResourceURI);
+				if (document == null) {
+					return null;
+				}
+				contents = document.getOriginalContents();
+			}
+			if (!isToken(contents, region, originalName)) {
+				return null;
+			}
+			result.add(new ReplaceEdit(region.getOffset(), region.getLength(), newName));
+		}
+		// a local element or an import of the referring resource might shadow the new name
+		if (contents != null && containsToken(contents, newName)) {
+			return null;
+		}
+		return result;
+	}
+
+	/**
+	 * Whether any element of the index other than the renamed ones is exported with the new name of a renamed element,
+	 * or with the new name as a simple name. Such an element might shadow the renamed element in the scope of a
+	 * reference, so the references have to be updated by the regular update, which checks the scope. The names are
+	 * looked up in the index by name. The result is computed once per refactoring.
+	 * 
+	 * @since 2.17
+	 */
+	protected boolean isNewNameExported(ElementRenameArguments elementRenameArguments) {
+		synchronized (exportedNewNames) {
+			Boolean result = exportedNewNames.get(elementRenameArguments);
+			if (result == null) {
+				result = Boolean.FALSE;
+				Set<URI> renamedElementURIs = Sets.newHashSet(elementRenameArguments.getRenamedElementURIs());
+				for (QualifiedName newName : getNewQualifiedNames(elementRenameArguments)) {
+					for (IEObjectDescription description : getResourceDescriptions()
+							.getExportedObjects(EcorePackage.Literals.EOBJECT, newName, false)) {
+						if (!renamedElementURIs.contains(description.getEObjectURI())) {
+							result = Boolean.TRUE;
+							break;
+						}
+					}
+					if (result.booleanValue()) {
+						break;
+					}
+				}
+				exportedNewNames.put(elementRenameArguments, result);
+			}
+			return result.booleanValue();
+		}
+	}
+
+	/**
+	 * Returns the new name as a simple name and the exported names of the renamed elements with the last segment
+	 * replaced by the new name.
+	 */
+	private Set<QualifiedName> getNewQualifiedNames(ElementRenameArguments elementRenameArguments) {
+		String newName = elementRenameArguments.getNewName();
+		Set<QualifiedName> result = Sets.newLinkedHashSet();
+		result.add(QualifiedName.create(newName));
+		for (URI renamedElementURI : elementRenameArguments.getRenamedElementURIs()) {
+			IResourceDescription resourceDescription = getResourceDescriptions()
+					.getResourceDescription(renamedElementURI.trimFragment());
+			if (resourceDescription != null) {
+				for (IEObjectDescription description : resourceDescription.getExportedObjects()) {
+					QualifiedName name = description.getName();
+					if (name.getSegmentCount() > 0 && renamedElementURI.equals(description.getEObjectURI())) {
+						result.add(name.skipLast(1).append(newName));
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @since 2.17
+	 */
+	protected IResourceDescriptions getResourceDescriptions() {
+		return resourceDescriptions;
+	}
+
+	private boolean hasIndexedReferenceRegion(Iterable<IReferenceDescription> referenceDescriptions) {
+		for (IReferenceDescription referenceDescription : referenceDescriptions) {
+			if (getIndexedReferenceRegion(referenceDescription) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the text region of the reference as recorded in the index or <code>null</code> if it is unknown.
+	 * 
+	 * @since 2.17
+	 */
+	protected ITextRegion getIndexedReferenceRegion(IReferenceDescription referenceDescription) {
+		if (referenceDescription instanceof ITextRegionAwareReferenceDescription) {
+			return ((ITextRegionAwareReferenceDescription) referenceDescription).getTextRegion();
+		}
+		return null;
+	}
+
+	/**
+	 * Whether the given name can be written as is, i.e. it is an identifier that doesn't need escaping.
+	 * 
+	 * @since 2.17
+	 */
+	protected boolean isPlainName(String name) {
+		if (name == null || name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+			return false;
+		}
+		for (int i = 1; i < name.length(); i++) {
+			if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+				return false;
+			}
+		}
+		return !getKeywords().contains(name);
+	}
+
+	/**
+	 * Whether the region of the given text contains exactly the given name and is not part of a longer identifier.
+	 */
+	private boolean isToken(String contents, ITextRegion region, String name) {
+		int offset = region.getOffset();
+		int end = offset + region.getLength();
+		if (offset < 0 || end > contents.length() || region.getLength() != name.length()
+				|| !contents.startsWith(name, offset)) {
+			return false;
+		}
+		return (offset == 0 || !Character.isJavaIdentifierPart(contents.charAt(offset - 1)))
+				&& (end == contents.length() || !Character.isJavaIdentifierPart(contents.charAt(end)));
+	}
+
+	private boolean containsToken(String contents, String name) {
+		int offset = contents.indexOf(name);
+		while (offset >= 0) {
+			if (isToken(contents, new TextRegion(offset, name.length()), name)) {
+				return true;
+			}
+			offset = contents.indexOf(name, offset + 1);
+		}
+		return false;
+	}
+
+	private Set<String> getKeywords() {
+		Set<String> result = keywords;
+		if (result == null) {
+			result = GrammarUtil.getAllKeywords(grammarAccess.getGrammar());
+			keywords = result;
+		}
+		return result;
+	}
+
 	@Override
 	protected void createReferenceUpdates(ElementRenameArguments elementRenameArguments,
 			Multimap<URI, IReferenceDescription> resource2references, ResourceSet resourceSet,
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.refactoring.impl;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.xtext.ui.refactoring.IRefactoringUpdateAcceptor;
+
+/**
+ * A thread safe view on an {@link IRefactoringUpdateAcceptor} that is used by a single worker of a parallel reference
+ * update. All updates are passed to the shared delegate, but each worker reports issues to its own status, which is
+ * merged into the status of the delegate once the worker is done.
+ *
+ * @since 2.17
+ */
+public class SynchronizedRefactoringUpdateAcceptor implements IRefactoringUpdateAcceptor {
+
+	private final IRefactoringUpdateAcceptor delegate;
+
+	private final StatusWrapper status;
+
+	public SynchronizedRefactoringUpdateAcceptor(IRefactoringUpdateAcceptor delegate, StatusWrapper status) {
+		this.delegate = delegate;
+		this.status = status;
+	}
+
+	@Override
+	public void accept(URI resourceURI, TextEdit textEdit) {
+		synchronized (delegate) {
+			delegate.accept(resourceURI, textEdit);
+		}
+	}
+
+	@Override
+	public void accept(URI resourceURI, Change change) {
+		synchronized (delegate) {
+			delegate.accept(resourceURI, change);
+		}
+	}
+
+	@Override
+	public StatusWrapper getRefactoringStatus() {
+		return status;
+	}
+
+	@Override
+	public IRefactoringDocument getDocument(URI resourceURI) {
+		synchronized (delegate) {
+			return delegate.getDocument(resourceURI);
+		}
+	}
+
+	@Override
+	public Change createCompositeChange(String name, IProgressMonitor monitor) {
+		synchronized (delegate) {
+			return delegate.createCompositeChange(name, monitor);
+		}
+	}
+
+}
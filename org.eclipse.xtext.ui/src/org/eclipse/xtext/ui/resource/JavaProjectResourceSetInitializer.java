@@ -7,13 +7,18 @@
  *******************************************************************************/
 package org.eclipse.xtext.ui.resource;
 
+import static com.google.common.collect.Lists.*;
 import static com.google.common.collect.Maps.*;
+import static com.google.common.collect.Sets.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IStorage;
 import org.eclipse.emf.common.util.URI;
@@ -40,6 +45,9 @@ public class JavaProjectResourceSetInitializer implements IResourceSetInitialize
 
 	@Inject
 	private IStorage2UriMapperJdtExtensions storage2UriMapper;
+
+	@Inject
+	private ProjectURIMapCache uriMapCache = new ProjectURIMapCache();
 	
 	@Override
 	public void initialize(ResourceSet resourceSet, IProject project) {
@@ -65,31 +73,16 @@ public class JavaProjectResourceSetInitializer implements IResourceSetInitialize
 			return hashMap;
 		try {
 			IPackageFragmentRoot[] roots = javaProject.getAllPackageFragmentRoots();
+			List<IPackageFragmentRoot> archiveRoots = newArrayList();
 			for (IPackageFragmentRoot root : roots) {
-				Pair<URI, URI> uriMapping = storage2UriMapper.getURIMapping(root);
-				if (uriMapping != null) {
-					
-					// we could just install the prefix mapping, i.e. platform:resource/my.project/ -> file:/my/path/to/my.project/
-					// but then we wouldn't be able to load resources when using hosted bundles, because the target path points to the bin folder.
-					// so instead we install qualified file mappings, which also makes normalization faster (i.e. just a lookup in a map instead of testing prefix URIs)
-					//
-					Map<URI, IStorage> mapping = storage2UriMapper.getAllEntries(root);
-					for (URI key : mapping.keySet()) {
-						IStorage storage = mapping.get(key);
-						URI physicalURI = null;
-						if (storage instanceof IFile) {
-							physicalURI = URI.createPlatformResourceURI(storage.getFullPath().toString(), true);
-						} else {
-							physicalURI = key.replacePrefix(uriMapping.getFirst(), uriMapping.getSecond());
-						}
-						hashMap.put(key, physicalURI);
-						if (key.isPlatformResource()) {
-							URI pluginURI = URI.createPlatformPluginURI(key.toPlatformString(false), false);
-							hashMap.put(pluginURI, physicalURI);
-						}
-					}
+				// the entries of folders change with the resources in the workspace, so they are not cached
+				if (isFolder(root)) {
+					putURIMapping(root, hashMap);
+				} else {
+					archiveRoots.add(root);
 				}
 			}
+			hashMap.putAll(getArchiveURIMap(javaProject.getProject(), archiveRoots));
 		} catch (JavaModelException e) {
 			LOG.error(e.getMessage(), e);
 		} catch(NoClassDefFoundError e) { // guard against broken Eclipse installations / bogus project configuration
@@ -98,4 +91,59 @@ public class JavaProjectResourceSetInitializer implements IResourceSetInitialize
 		return hashMap;
 	}
 
+	/**
+	 * Returns the URI map of the given archives and external folders from the {@link ProjectURIMapCache}, computes it
+	 * on a cache miss.
+	 * 
+	 * @since 2.17
+	 */
+	protected Map<URI, URI> getArchiveURIMap(IProject project, List<IPackageFragmentRoot> roots) {
+		Map<URI, URI> result = uriMapCache.get(project);
+		if (result == null) {
+			long generation = uriMapCache.getGeneration();
+			HashMap<URI, URI> hashMap = newHashMap();
+			Set<String> contributingProjects = newHashSet();
+			for (IPackageFragmentRoot root : roots) {
+				putURIMapping(root, hashMap);
+				contributingProjects.add(root.getJavaProject().getElementName());
+			}
+			result = uriMapCache.put(project, hashMap, contributingProjects, generation);
+		}
+		return result;
+	}
+
+	private boolean isFolder(IPackageFragmentRoot root) {
+		try {
+			return root.getUnderlyingResource() instanceof IFolder;
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+
+	private void putURIMapping(IPackageFragmentRoot root, Map<URI, URI> hashMap) {
+		Pair<URI, URI> uriMapping = storage2UriMapper.getURIMapping(root);
+		if (uriMapping != null) {
+			
+			// we could just install the prefix mapping, i.e. platform:resource/my.project/ -> file:/my/path/to/my.project/
+			// but then we wouldn't be able to load resources when using hosted bundles, because the target path points to the bin folder.
+			// so instead we install qualified file mappings, which also makes normalization faster (i.e. just a lookup in a map instead of testing prefix URIs)
+			//
+			Map<URI, IStorage> mapping = storage2UriMapper.getAllEntries(root);
+			for (URI key : mapping.keySet()) {
+				IStorage storage = mapping.get(key);
+				URI physicalURI = null;
+				if (storage instanceof IFile) {
+					physicalURI = URI.createPlatformResourceURI(storage.getFullPath().toString(), true);
+				} else {
+					physicalURI = key.replacePrefix(uriMapping.getFirst(), uriMapping.getSecond());
+				}
+				hashMap.put(key, physicalURI);
+				if (key.isPlatformResource()) {
+					URI pluginURI = URI.createPlatformPluginURI(key.toPlatformString(false), false);
+					hashMap.put(pluginURI, physicalURI);
+				}
+			}
+		}
+	}
+
 }
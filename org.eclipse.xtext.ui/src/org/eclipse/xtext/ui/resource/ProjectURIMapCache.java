@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.resource;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.emf.common.util.URI;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.inject.Singleton;
+
+/**
+ * Caches the URI map of the archives and external folders on the classpath of a project, which the
+ * {@link JavaProjectResourceSetInitializer} installs into the resource sets of that project, so it is computed once
+ * instead of once per resource set. The {@link Storage2UriMapperJavaImpl} invalidates the maps of the projects whose
+ * classpath or package fragment roots change.
+ *
+ * A map may contain the roots of other projects that are exported to the project, so each map remembers the projects
+ * whose roots it contains and it is invalidated together with any of them.
+ *
+ * Instances are thread safe.
+ *
+ * @since 2.17
+ */
+@Singleton
+public class ProjectURIMapCache {
+
+	private static class Entry {
+		private final Map<URI, URI> uriMap;
+		private final Set<String> contributingProjects;
+
+		private Entry(Map<URI, URI> uriMap, Set<String> contributingProjects) {
+			this.uriMap = uriMap;
+			this.contributingProjects = contributingProjects;
+		}
+	}
+
+	private final Map<String, Entry> entries = Maps.newHashMap();
+
+	/**
+	 * Incremented on each invalidation, so a map that was computed concurrently with an invalidation is not cached.
+	 */
+	private long generation;
+
+	/**
+	 * Returns the cached URI map of the given project or <code>null</code> if there is none.
+	 */
+	public synchronized Map<URI, URI> get(IProject project) {
+		Entry entry = entries.get(project.getName());
+		return entry != null ? entry.uriMap : null;
+	}
+
+	/**
+	 * Returns the current generation that has to be passed to {@link #put(IProject, Map, Collection, long)} when the
+	 * computed map is cached.
+	 */
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Caches an unmodifiable view of the given map, which must not be changed afterwards, unless the cache has been
+	 * invalidated since the given generation. Returns the map that should be used by the caller.
+	 *
+	 * @param contributingProjects
+	 *            the names of the projects whose package fragment roots contributed to the map
+	 */
+	public synchronized Map<URI, URI> put(IProject project, Map<URI, URI> uriMap,
+			Collection<String> contributingProjects, long computedInGeneration) {
+		Map<URI, URI> result = Collections.unmodifiableMap(uriMap);
+		if (computedInGeneration == generation) {
+			entries.put(project.getName(), new Entry(result, ImmutableSet.copyOf(contributingProjects)));
+		}
+		return result;
+	}
+
+	/**
+	 * Discards the maps of the given projects and the maps that contain package fragment roots of them.
+	 */
+	public synchronized void invalidate(Collection<String> projectNames) {
+		if (projectNames.isEmpty()) {
+			return;
+		}
+		generation++;
+		Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<String, Entry> entry = iterator.next();
+			if (projectNames.contains(entry.getKey())
+					|| !Collections.disjoint(entry.getValue().contributingProjects, projectNames)) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Discards all cached maps.
+	 */
+	public synchronized void invalidate() {
+		generation++;
+		entries.clear();
+	}
+
+}
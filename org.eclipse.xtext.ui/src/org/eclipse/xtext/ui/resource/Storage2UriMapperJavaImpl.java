@@ -12,6 +12,17 @@ import static com.google.common.collect.Maps.*;
 import static com.google.common.collect.Sets.*;
 import static java.util.Collections.*;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -47,14 +58,19 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.JavaProject;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.ui.internal.Activator;
 import org.eclipse.xtext.ui.util.IJdtHelper;
 import org.eclipse.xtext.ui.util.JavaProjectClasspathChangeAnalyzer;
+import org.eclipse.xtext.ui.util.StartupTracer;
 import org.eclipse.xtext.util.Pair;
 import org.eclipse.xtext.util.Tuples;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 
 import com.google.common.base.Objects;
 import com.google.common.collect.ForwardingMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Ordering;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
@@ -123,6 +139,8 @@ public class Storage2UriMapperJavaImpl implements IStorage2UriMapperJdtExtension
 	@Inject private JavaProjectClasspathChangeAnalyzer javaProjectClasspathChangeAnalyzer;
 
 	@Inject private IStorage2UriMapper host;
+	@Inject private ProjectURIMapCache uriMapCache = new ProjectURIMapCache();
+	@Inject(optional = true) private IResourceServiceProvider.Registry resourceServiceProviderRegistry;
 	
 	/**
 	 * Public for testing purpose
@@ -176,7 +194,110 @@ public class Storage2UriMapperJavaImpl implements IStorage2UriMapperJdtExtension
 		this.host = host;
 	}
 	
+	/**
+	 * Public for testing purpose
+	 * 
+	 * @since 2.17
+	 * @nooverride This method is not intended to be re-implemented or extended by clients.
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public void setUriMapCache(ProjectURIMapCache uriMapCache) {
+		this.uriMapCache = uriMapCache;
+	}
+	
+	/**
+	 * Public for testing purpose
+	 * 
+	 * @since 2.17
+	 * @nooverride This method is not intended to be re-implemented or extended by clients.
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public void setResourceServiceProviderRegistry(IResourceServiceProvider.Registry resourceServiceProviderRegistry) {
+		this.resourceServiceProviderRegistry = resourceServiceProviderRegistry;
+	}
+	
 	private Map<String, PackageFragmentRootData> cachedPackageFragmentRootData = newLinkedHashMap();
+
+	/**
+	 * The package fragment root data of the previous session by path. An entry is consumed when its root is requested
+	 * for the first time. Guarded by {@link #cachedPackageFragmentRootData}.
+	 */
+	private Map<String, PersistedPackageFragmentRootData> persistedPackageFragmentRootData = newHashMap();
+
+	/**
+	 * Whether the cached data differs from the persisted state. Guarded by {@link #cachedPackageFragmentRootData}.
+	 */
+	private boolean isPersistedStateDirty = false;
+
+	private final Object persistedStateWriteLock = new Object();
+
+	private static final int PERSISTED_STATE_VERSION = 1;
+
+	private static final String PERSISTED_STATE_FILE = "packageFragmentRoots.index";
+
+	private static class PersistedPackageFragmentRootData {
+		private final long modificationStamp;
+		private final URI uriPrefix;
+		private final Set<URI> uris;
+
+		private PersistedPackageFragmentRootData(long modificationStamp, URI uriPrefix, Set<URI> uris) {
+			this.modificationStamp = modificationStamp;
+			this.uriPrefix = uriPrefix;
+			this.uris = uris;
+		}
+	}
+
+	/**
+	 * The entries of a package fragment root whose URIs are known upfront, e.g. because they were restored from the
+	 * persisted state. The root is only traversed once a storage is requested.
+	 */
+	private class LazyStorageMap extends ForwardingMap<URI, IStorage> {
+		private final IPackageFragmentRoot root;
+		private final Set<URI> uris;
+		private volatile Map<URI, IStorage> delegate;
+
+		private LazyStorageMap(IPackageFragmentRoot root, Set<URI> uris) {
+			this.root = root;
+			this.uris = uris;
+		}
+
+		@Override
+		protected Map<URI, IStorage> delegate() {
+			Map<URI, IStorage> result = delegate;
+			if (result == null) {
+				synchronized (this) {
+					result = delegate;
+					if (result == null) {
+						delegate = result = initializeData(root).uri2Storage;
+					}
+				}
+			}
+			return result;
+		}
+
+		@Override
+		public IStorage get(Object key) {
+			if (!uris.contains(key)) {
+				return null;
+			}
+			return delegate().get(key);
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return uris.contains(key);
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return uris.isEmpty();
+		}
+
+		@Override
+		public int size() {
+			return uris.size();
+		}
+	}
 	
 	/**
 	 * Rejects Java output folders when traversing a project.
@@ -248,10 +369,39 @@ public class Storage2UriMapperJavaImpl implements IStorage2UriMapperJdtExtension
 				}
 			}
 		}
-		PackageFragmentRootData data = initializeData(root);
+		PackageFragmentRootData data = restoreData(root, path);
+		boolean isRestored = data != null;
+		if (!isRestored) {
+			data = initializeData(root);
+		}
 		synchronized (cachedPackageFragmentRootData) {
 			cachedPackageFragmentRootData.put(path, data);
+			if (!isRestored) {
+				isPersistedStateDirty = true;
+			}
+		}
+		return data;
+	}
+
+	/**
+	 * Returns the data of the given root from the previous session if the root has not been modified since.
+	 */
+	private PackageFragmentRootData restoreData(IPackageFragmentRoot root, String path) {
+		PersistedPackageFragmentRootData persisted;
+		synchronized (cachedPackageFragmentRootData) {
+			persisted = persistedPackageFragmentRootData.remove(path);
+		}
+		if (persisted == null) {
+			return null;
 		}
+		Object modificationStamp = computeModificationStamp(root);
+		if (!Long.valueOf(persisted.modificationStamp).equals(modificationStamp)) {
+			return null;
+		}
+		PackageFragmentRootData data = new PackageFragmentRootData(modificationStamp);
+		data.addRoot(root);
+		data.uriPrefix = persisted.uriPrefix;
+		data.uri2Storage = new LazyStorageMap(root, persisted.uris);
 		return data;
 	}
 	
@@ -419,10 +569,12 @@ public class Storage2UriMapperJavaImpl implements IStorage2UriMapperJdtExtension
 	public void elementChanged(ElementChangedEvent event) {
 		initializeCache(true);
 		Set<IJavaProject> javaProjectsWithClasspathChange = javaProjectClasspathChangeAnalyzer.getJavaProjectsWithClasspathChange(event.getDelta());
+		invalidateURIMaps(event, javaProjectsWithClasspathChange);
 		if(!javaProjectsWithClasspathChange.isEmpty()) {
 			for(IJavaProject project: javaProjectsWithClasspathChange) {
 				updateCache(project);
 			}
+			savePersistedState();
 		} 
 		for(IJavaElementDelta projectDelta: getProjectDeltas(event.getDelta())) {
 			IJavaProject project = (IJavaProject) projectDelta.getElement();
@@ -505,23 +657,14 @@ public class Storage2UriMapperJavaImpl implements IStorage2UriMapperJdtExtension
 				// get rid of cached storages that still point to roots / projects that are no longer available
 				// and recompute them lazily on demand
 				data.associatedRoots = copy;
-				final IPackageFragmentRoot rootToProcess = someRoot;
-				data.uri2Storage = new ForwardingMap<URI, IStorage>() {
-					Map<URI, IStorage> delegate;
-					@Override
-					protected Map<URI, IStorage> delegate() {
-						if (delegate == null) {
-							PackageFragmentRootData newlyCollected = initializeData(rootToProcess);
-							return delegate = newlyCollected.uri2Storage; 
-						}
-						return delegate;
-					}
-				};
+				// the URIs don't change, so they are kept and the root is not traversed before a storage is requested
+				data.uri2Storage = new LazyStorageMap(someRoot, getURIs(data.uri2Storage));
 			}
 		}
 		if(!toBeRemoved.isEmpty()) {
 			synchronized (cachedPackageFragmentRootData) {
 				cachedPackageFragmentRootData.values().removeAll(toBeRemoved);
+				isPersistedStateDirty = true;
 			}
 		}
 	}
@@ -649,13 +792,21 @@ public class Storage2UriMapperJavaImpl implements IStorage2UriMapperJdtExtension
 				@Override
 				public void run(IProgressMonitor monitor) throws CoreException {
 					if(!isInitialized) {
-						for(IProject project: workspace.getRoot().getProjects()) {
-							if(project.isAccessible() && JavaProject.hasJavaNature(project)) {
-								IJavaProject javaProject = JavaCore.create(project);
-								updateCache(javaProject);
+						try (StartupTracer.Phase phase = StartupTracer.start("Initialize the storage to URI mapping")) {
+							loadPersistedState();
+							for(IProject project: workspace.getRoot().getProjects()) {
+								if(project.isAccessible() && JavaProject.hasJavaNature(project)) {
+									IJavaProject javaProject = JavaCore.create(project);
+									updateCache(javaProject);
+								}
+							}
+							synchronized (cachedPackageFragmentRootData) {
+								// roots that are no longer on any classpath
+								persistedPackageFragmentRootData.clear();
 							}
+							isInitialized = true;
+							savePersistedState();
 						}
-						isInitialized = true;
 					}
 				}
 			};
@@ -669,6 +820,161 @@ public class Storage2UriMapperJavaImpl implements IStorage2UriMapperJdtExtension
 		}
 	}
 	
+	/**
+	 * Restores the package fragment root data of the previous session. The data is discarded if the set of languages
+	 * changed, since that determines which entries are collected.
+	 */
+	private void loadPersistedState() {
+		File file = getPersistedStateFile();
+		if (file == null || !file.exists()) {
+			return;
+		}
+		Map<String, PersistedPackageFragmentRootData> result = newHashMap();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != PERSISTED_STATE_VERSION || !getLanguagesFingerprint().equals(in.readUTF())) {
+				return;
+			}
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				String path = in.readUTF();
+				long modificationStamp = in.readLong();
+				String uriPrefix = in.readUTF();
+				int uriCount = in.readInt();
+				Set<URI> uris = newHashSetWithExpectedSize(uriCount);
+				for (int j = 0; j < uriCount; j++) {
+					uris.add(URI.createURI(in.readUTF()));
+				}
+				result.put(path, new PersistedPackageFragmentRootData(modificationStamp,
+						uriPrefix.isEmpty() ? null : URI.createURI(uriPrefix), uris));
+			}
+		} catch (IOException e) {
+			log.warn("Error reading " + file + ", package fragment roots will be traversed", e);
+			return;
+		}
+		synchronized (cachedPackageFragmentRootData) {
+			persistedPackageFragmentRootData = result;
+		}
+	}
+
+	/**
+	 * Writes the data of all cached archives and external folders to the state location, if it changed. The data is
+	 * written to a temporary file that replaces the state file afterwards, so readers never see a partially written
+	 * file. Concurrent writers are serialized, so an older snapshot cannot overwrite a newer one.
+	 */
+	private void savePersistedState() {
+		File file = getPersistedStateFile();
+		if (file == null) {
+			return;
+		}
+		synchronized (persistedStateWriteLock) {
+			Map<String, PackageFragmentRootData> snapshot;
+			synchronized (cachedPackageFragmentRootData) {
+				if (!isPersistedStateDirty) {
+					return;
+				}
+				snapshot = newLinkedHashMap(cachedPackageFragmentRootData);
+				isPersistedStateDirty = false;
+			}
+			writePersistedState(file, snapshot);
+		}
+	}
+
+	private void writePersistedState(File file, Map<String, PackageFragmentRootData> snapshot) {
+		Map<String, PackageFragmentRootData> persistable = newLinkedHashMap();
+		for (Map.Entry<String, PackageFragmentRootData> entry : snapshot.entrySet()) {
+			if (entry.getValue().modificationStamp instanceof Long) {
+				persistable.put(entry.getKey(), entry.getValue());
+			}
+		}
+		File tempFile = new File(file.getPath() + ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				writePersistedState(out, persistable);
+			}
+			try {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			log.error("Error writing " + file, e);
+			tempFile.delete();
+		}
+	}
+
+	private void writePersistedState(DataOutputStream out, Map<String, PackageFragmentRootData> persistable) throws IOException {
+		out.writeInt(PERSISTED_STATE_VERSION);
+		out.writeUTF(getLanguagesFingerprint());
+		out.writeInt(persistable.size());
+		for (Map.Entry<String, PackageFragmentRootData> entry : persistable.entrySet()) {
+			PackageFragmentRootData data = entry.getValue();
+			out.writeUTF(entry.getKey());
+			out.writeLong((Long) data.modificationStamp);
+			out.writeUTF(data.uriPrefix == null ? "" : data.uriPrefix.toString());
+			Set<URI> uris = getURIs(data.uri2Storage);
+			out.writeInt(uris.size());
+			for (URI uri : uris) {
+				out.writeUTF(uri.toString());
+			}
+		}
+	}
+
+	/**
+	 * Returns the URIs of the given storage map without traversing the root of a {@link LazyStorageMap}.
+	 */
+	private Set<URI> getURIs(Map<URI, IStorage> uri2Storage) {
+		if (uri2Storage instanceof LazyStorageMap) {
+			return ((LazyStorageMap) uri2Storage).uris;
+		}
+		return ImmutableSet.copyOf(uri2Storage.keySet());
+	}
+
+	/**
+	 * Returns the file that holds the package fragment root data between sessions or <code>null</code> if the data is
+	 * not persisted.
+	 * 
+	 * @since 2.17
+	 */
+	protected File getPersistedStateFile() {
+		Activator activator = Activator.getDefault();
+		if (activator == null || resourceServiceProviderRegistry == null) {
+			return null;
+		}
+		return activator.getStateLocation().append(PERSISTED_STATE_FILE).toFile();
+	}
+
+	/**
+	 * The collected entries depend on the file extensions and content types of the installed languages.
+	 */
+	private String getLanguagesFingerprint() {
+		List<String> keys = newArrayList();
+		keys.addAll(resourceServiceProviderRegistry.getExtensionToFactoryMap().keySet());
+		keys.addAll(resourceServiceProviderRegistry.getContentTypeToFactoryMap().keySet());
+		return Integer.toHexString(Ordering.natural().sortedCopy(keys).hashCode());
+	}
+
+	/**
+	 * The URI maps of the {@link JavaProjectResourceSetInitializer} list the entries of the archives and external
+	 * folders on the classpath, so they are invalidated for projects with a changed classpath or changed package
+	 * fragment roots, and for projects that are added, removed, opened or closed.
+	 */
+	private void invalidateURIMaps(ElementChangedEvent event, Set<IJavaProject> javaProjectsWithClasspathChange) {
+		if (event.getType() == ElementChangedEvent.POST_RECONCILE) {
+			return;
+		}
+		Set<String> affectedProjects = newHashSet();
+		for (IJavaProject project : javaProjectsWithClasspathChange) {
+			affectedProjects.add(project.getElementName());
+		}
+		for (IJavaElementDelta projectDelta : getProjectDeltas(event.getDelta())) {
+			if (projectDelta.getKind() != IJavaElementDelta.CHANGED
+					|| (projectDelta.getFlags() & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+				affectedProjects.add(projectDelta.getElement().getElementName());
+			}
+		}
+		uriMapCache.invalidate(affectedProjects);
+	}
+
 	private Set<IJavaElementDelta> getProjectDeltas(IJavaElementDelta delta) {
 		IJavaElement element = delta.getElement();
 		if(delta.getElement().getElementType() == IJavaElement.JAVA_PROJECT) {
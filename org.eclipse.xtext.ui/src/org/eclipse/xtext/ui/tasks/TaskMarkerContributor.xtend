@@ -7,11 +7,15 @@
  *******************************************************************************/
 package org.eclipse.xtext.ui.tasks
 
+import com.google.common.collect.ArrayListMultimap
 import com.google.inject.Inject
 import java.util.List
 import org.apache.log4j.Logger
 import org.eclipse.core.resources.IFile
+import org.eclipse.core.resources.IMarker
 import org.eclipse.core.resources.IResource
+import org.eclipse.core.resources.IWorkspace
+import org.eclipse.core.resources.IWorkspaceRunnable
 import org.eclipse.core.runtime.CoreException
 import org.eclipse.core.runtime.IProgressMonitor
 import org.eclipse.core.runtime.OperationCanceledException
@@ -37,14 +41,16 @@ class TaskMarkerContributor implements IMarkerContributor {
 	@Inject
 	TaskMarkerTypeProvider typeProvider
 
+	Boolean incrementalUpdateSupported
+
 	override updateMarkers(IFile file, Resource resource, IProgressMonitor monitor) {
 		try {
 			val tasks = taskFinder.findTasks(resource);
 			if (monitor.isCanceled()) {
 				throw new OperationCanceledException();
 			}
-			deleteMarkers(file, monitor);
-			createTaskMarkers(file, tasks, monitor);
+			val IWorkspaceRunnable runnable = [updateTaskMarkers(file, tasks, it)]
+			file.workspace.run(runnable, file, IWorkspace.AVOID_UPDATE, monitor)
 		} catch (CoreException e) {
 			log.error(e.getMessage(), e);
 		}
@@ -56,6 +62,73 @@ class TaskMarkerContributor implements IMarkerContributor {
 		}
 	}
 
+	/**
+	 * Matches the tasks against the existing task markers by type, line, priority and message. Only the markers of
+	 * tasks that were added or removed are created or deleted, markers of unchanged tasks are kept. The markers of new
+	 * tasks are created by {@link #createTaskMarkers(IFile, List, IProgressMonitor)}.
+	 * 
+	 * If a subclass customizes the creation or deletion of the markers, all markers are deleted and recreated instead.
+	 * 
+	 * @since 2.17
+	 */
+	protected def updateTaskMarkers(IFile file, List<Task> tasks, IProgressMonitor monitor) throws CoreException {
+		if (!isIncrementalUpdateSupported) {
+			deleteMarkers(file, monitor)
+			createTaskMarkers(file, tasks, monitor)
+			return
+		}
+		val existingMarkers = ArrayListMultimap.<List<?>, IMarker>create
+		for (marker : file.findMarkers(TaskMarkerTypeProvider.XTEXT_TASK_TYPE, true, IResource.DEPTH_ZERO)) {
+			existingMarkers.put(markerCreator.getMarkerKey(marker), marker)
+		}
+		val newTasks = <Task>newArrayList
+		for (task : tasks) {
+			val candidates = existingMarkers.get(markerCreator.getMarkerKey(task, typeProvider.getMarkerType(task)))
+			if (candidates.empty) {
+				newTasks.add(task)
+			} else {
+				markerCreator.updateMarker(task, candidates.remove(0))
+			}
+		}
+		for (marker : existingMarkers.values) {
+			marker.delete
+		}
+		createTaskMarkers(file, newTasks, monitor)
+	}
+
+	/**
+	 * Existing markers are only matched if neither {@link #createTaskMarkers(IFile, List, IProgressMonitor)} nor
+	 * {@link #deleteMarkers(IFile, IProgressMonitor)} is overridden, and if the {@link TaskMarkerCreator} overrides
+	 * neither {@link TaskMarkerCreator#createMarker(Task, IResource, String) createMarker} nor
+	 * {@link TaskMarkerCreator#setMarkerAttributes(Task, IResource, IMarker) setMarkerAttributes}. Otherwise a reused
+	 * marker would lack the attributes of the customization.
+	 * 
+	 * @since 2.17
+	 */
+	protected def boolean isIncrementalUpdateSupported() {
+		if (incrementalUpdateSupported === null) {
+			incrementalUpdateSupported = isNotOverridden(class, TaskMarkerContributor, "createTaskMarkers", IFile, List, IProgressMonitor)
+				&& isNotOverridden(class, TaskMarkerContributor, "deleteMarkers", IFile, IProgressMonitor)
+				&& isNotOverridden(markerCreator.class, TaskMarkerCreator, "createMarker", Task, IResource, String)
+				&& isNotOverridden(markerCreator.class, TaskMarkerCreator, "setMarkerAttributes", Task, IResource, IMarker)
+		}
+		return incrementalUpdateSupported
+	}
+
+	def private boolean isNotOverridden(Class<?> subType, Class<?> declaringType, String methodName, Class<?>... parameterTypes) {
+		var Class<?> type = subType
+		while (type != declaringType) {
+			try {
+				type.getDeclaredMethod(methodName, parameterTypes)
+				return false
+			} catch (NoSuchMethodException e) {
+				// continue with the super class
+			}
+			type = type.superclass
+		}
+		return true
+	}
+
 	override deleteMarkers(IFile file, IProgressMonitor monitor) {
 		file.deleteMarkers(TaskMarkerTypeProvider.XTEXT_TASK_TYPE, true, IResource.DEPTH_ZERO)
 	}
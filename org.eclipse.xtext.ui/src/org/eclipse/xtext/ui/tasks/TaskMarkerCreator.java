@@ -7,6 +7,9 @@
  *******************************************************************************/
 package org.eclipse.xtext.ui.tasks;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
@@ -24,6 +27,39 @@ public class TaskMarkerCreator {
 		setMarkerAttributes(task, resource, marker);
 	}
 
+	/**
+	 * Updates a marker that was created for an equivalent task, i.e. one with the same {@link #getMarkerKey(Task, String)
+	 * key}. Only the attributes that actually changed are set, so an unchanged task does not cause a marker delta.
+	 * 
+	 * @since 2.17
+	 */
+	public void updateMarker(Task task, IMarker marker) throws CoreException {
+		int charStart = task.getOffset();
+		int charEnd = task.getOffset() + task.getTotalLength();
+		if (marker.getAttribute(IMarker.CHAR_START, -1) != charStart || marker.getAttribute(IMarker.CHAR_END, -1) != charEnd) {
+			marker.setAttributes(new String[] { IMarker.CHAR_START, IMarker.CHAR_END }, new Object[] { charStart, charEnd });
+		}
+	}
+
+	/**
+	 * Returns the attributes that identify the marker of the given task: its type, line, priority and message.
+	 * 
+	 * @since 2.17
+	 */
+	public List<?> getMarkerKey(Task task, String markerType) {
+		return Arrays.asList(markerType, task.getLineNumber(), getPriority(task.getTag().getPriority()), task.getFullText());
+	}
+
+	/**
+	 * Returns the attributes that identify the given task marker, to be matched against {@link #getMarkerKey(Task, String)}.
+	 * 
+	 * @since 2.17
+	 */
+	public List<?> getMarkerKey(IMarker marker) throws CoreException {
+		return Arrays.asList(marker.getType(), marker.getAttribute(IMarker.LINE_NUMBER), marker.getAttribute(IMarker.PRIORITY),
+				marker.getAttribute(IMarker.MESSAGE));
+	}
+
 	protected void setMarkerAttributes(Task task, IResource resource, IMarker marker) throws CoreException {
 		marker.setAttribute(IMarker.LOCATION, "line " + task.getLineNumber());
 		marker.setAttribute(IMarker.PRIORITY, getPriority(task.getTag().getPriority()));
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ui.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Records how long the steps take that are performed when Xtext is used for the first time in a session, e.g. the
+ * activation of the bundles, the creation of the injectors, the initialization of the shared services and the opening
+ * of the first editor.
+ *
+ * Tracing is enabled with the system property {@value #TRACE_PROPERTY}. The report is printed to the Xtext Build
+ * console when it is opened.
+ *
+ * <pre>
+ * try (StartupTracer.Phase phase = StartupTracer.start("Load index")) {
+ * 	...
+ * }
+ * </pre>
+ *
+ * @since 2.17
+ */
+public final class StartupTracer {
+
+	public static final String TRACE_PROPERTY = "org.eclipse.xtext.ui.startup.trace";
+
+	private static final boolean ENABLED = Boolean.getBoolean(TRACE_PROPERTY);
+
+	/**
+	 * A traced step that is recorded when it is closed.
+	 */
+	public interface Phase extends AutoCloseable {
+		@Override
+		void close();
+	}
+
+	private static final Phase NO_OP = new Phase() {
+		@Override
+		public void close() {
+		}
+	};
+
+	private static class Record {
+		private final String name;
+		private final String thread;
+		private final boolean uiThread;
+		private final long startMillis;
+		private final long durationNanos;
+
+		private Record(String name, String thread, boolean uiThread, long startMillis, long durationNanos) {
+			this.name = name;
+			this.thread = thread;
+			this.uiThread = uiThread;
+			this.startMillis = startMillis;
+			this.durationNanos = durationNanos;
+		}
+	}
+
+	private static final List<Record> records = new ArrayList<Record>();
+
+	private static final Set<String> startedOnce = new HashSet<String>();
+
+	private StartupTracer() {
+	}
+
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Starts to trace the step with the given name.
+	 */
+	public static Phase start(final String name) {
+		if (!ENABLED) {
+			return NO_OP;
+		}
+		final long startMillis = System.currentTimeMillis();
+		final long startNanos = System.nanoTime();
+		return new Phase() {
+			@Override
+			public void close() {
+				Thread thread = Thread.currentThread();
+				Record record = new Record(name, thread.getName(), Display.findDisplay(thread) != null, startMillis,
+						System.nanoTime() - startNanos);
+				synchronized (records) {
+					records.add(record);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Starts to trace the step with the given name unless it was traced before, e.g. the opening of the first editor.
+	 */
+	public static Phase startOnce(String name) {
+		if (!ENABLED) {
+			return NO_OP;
+		}
+		synchronized (records) {
+			if (!startedOnce.add(name)) {
+				return NO_OP;
+			}
+		}
+		return start(name);
+	}
+
+	/**
+	 * Returns the recorded steps in the order they were started. Offsets are relative to the start of the VM, steps
+	 * that were performed on the UI thread are marked.
+	 */
+	public static String getReport() {
+		List<Record> sorted;
+		synchronized (records) {
+			sorted = new ArrayList<Record>(records);
+		}
+		sorted.sort((a, b) -> Long.compare(a.startMillis, b.startMillis));
+		long vmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+		StringBuilder result = new StringBuilder("Xtext startup trace (offset since VM start, duration, thread):\n");
+		for (Record record : sorted) {
+			result.append(String.format("%8dms %8dms  %s%s [%s]\n", record.startMillis - vmStart,
+					TimeUnit.NANOSECONDS.toMillis(record.durationNanos), record.uiThread ? "(UI) " : "", record.name,
+					record.thread));
+		}
+		return result.toString();
+	}
+
+}
@@ -87,6 +87,15 @@ public abstract class AbstractHierarchyViewPart extends ViewPart {
     return null;
   }
   
+  @Override
+  public void dispose() {
+    final IHierarchyBuilder builder = this.builder;
+    if ((builder instanceof DeferredHierarchyBuilder)) {
+      ((DeferredHierarchyBuilder)builder).cancelPrefetching();
+    }
+    super.dispose();
+  }
+  
   @Pure
   protected IHierarchyBuilder getBuilder() {
     return this.builder;
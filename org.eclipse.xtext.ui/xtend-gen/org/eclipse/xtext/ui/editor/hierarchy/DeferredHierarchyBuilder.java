@@ -7,10 +7,16 @@
  */
 package org.eclipse.xtext.ui.editor.hierarchy;
 
+import com.google.inject.Inject;
 import java.util.Collection;
+import java.util.List;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.ui.progress.IDeferredWorkbenchAdapter;
@@ -23,6 +29,7 @@ import org.eclipse.xtext.ide.editor.hierarchy.IHierarchyNode;
 import org.eclipse.xtext.ide.editor.hierarchy.IHierarchyNodeReference;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.xbase.lib.Conversions;
+import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Extension;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
@@ -125,23 +132,125 @@ public class DeferredHierarchyBuilder implements IHierarchyBuilder {
     }
   }
   
+  /**
+   * @since 2.17
+   */
+  public static final int MAX_PREFETCHED_NODES = 32;
+  
   @Accessors
   private IHierarchyBuilder hierarchyBuilder;
   
+  @Inject(optional = true)
+  private HierarchyChildrenCache cache;
+  
   @Override
   public Collection<IHierarchyNode> buildRoots(final URI rootURI, final IProgressMonitor monitor) {
-    final Function1<IHierarchyNode, IHierarchyNode> _function = (IHierarchyNode it) -> {
-      return this.defer(it);
-    };
-    return IterableExtensions.<IHierarchyNode>toList(IterableExtensions.<IHierarchyNode>filterNull(IterableExtensions.<IHierarchyNode, IHierarchyNode>map(this.hierarchyBuilder.buildRoots(rootURI, monitor), _function)));
+    List<IHierarchyNode> _xblockexpression = null;
+    {
+      this.cancelPrefetching();
+      if (this.cache!=null) {
+        this.cache.clear();
+      }
+      final Function1<IHierarchyNode, IHierarchyNode> _function = (IHierarchyNode it) -> {
+        return this.defer(it);
+      };
+      _xblockexpression = IterableExtensions.<IHierarchyNode>toList(IterableExtensions.<IHierarchyNode>filterNull(IterableExtensions.<IHierarchyNode, IHierarchyNode>map(this.hierarchyBuilder.buildRoots(rootURI, monitor), _function)));
+    }
+    return _xblockexpression;
   }
   
   @Override
   public Collection<IHierarchyNode> buildChildren(final IHierarchyNode node, final IProgressMonitor monitor) {
-    final Function1<IHierarchyNode, IHierarchyNode> _function = (IHierarchyNode it) -> {
-      return this.defer(it);
+    List<IHierarchyNode> _xblockexpression = null;
+    {
+      final Collection<IHierarchyNode> children = this.buildCachedChildren(node, monitor);
+      if ((this.cache != null)) {
+        this.prefetchChildren(children);
+      }
+      final Function1<IHierarchyNode, IHierarchyNode> _function = (IHierarchyNode it) -> {
+        return this.defer(it);
+      };
+      _xblockexpression = IterableExtensions.<IHierarchyNode>toList(IterableExtensions.<IHierarchyNode>filterNull(IterableExtensions.<IHierarchyNode, IHierarchyNode>map(children, _function)));
+    }
+    return _xblockexpression;
+  }
+  
+  /**
+   * @since 2.17
+   */
+  protected Collection<IHierarchyNode> buildCachedChildren(final IHierarchyNode node, final IProgressMonitor monitor) {
+    if ((this.cache == null)) {
+      return this.hierarchyBuilder.buildChildren(node, monitor);
+    }
+    final List<IHierarchyNode> cachedChildren = this.cache.get(node);
+    if ((cachedChildren != null)) {
+      return cachedChildren;
+    }
+    final Collection<IHierarchyNode> children = this.hierarchyBuilder.buildChildren(node, monitor);
+    boolean _isCanceled = monitor.isCanceled();
+    boolean _not = (!_isCanceled);
+    if (_not) {
+      this.cache.put(node, children);
+    }
+    return children;
+  }
+  
+  /**
+   * Computes the children of the given nodes in the background, so they are available from the cache as soon as
+   * the nodes are expanded. The jobs belong to the family of this builder, see {@link #cancelPrefetching()}.
+   * 
+   * @since 2.17
+   */
+  protected void prefetchChildren(final Collection<IHierarchyNode> nodes) {
+    final Function1<IHierarchyNode, Boolean> _function = (IHierarchyNode it) -> {
+      return Boolean.valueOf(it.mayHaveChildren());
+    };
+    final List<IHierarchyNode> candidates = IterableExtensions.<IHierarchyNode>toList(IterableExtensions.<IHierarchyNode>take(IterableExtensions.<IHierarchyNode>filter(nodes, _function), DeferredHierarchyBuilder.MAX_PREFETCHED_NODES));
+    boolean _isEmpty = candidates.isEmpty();
+    if (_isEmpty) {
+      return;
+    }
+    final Job job = new Job("Prefetching hierarchy") {
+      @Override
+      protected IStatus run(final IProgressMonitor monitor) {
+        try {
+          for (final IHierarchyNode node : candidates) {
+            {
+              boolean _isCanceled = monitor.isCanceled();
+              if (_isCanceled) {
+                return Status.CANCEL_STATUS;
+              }
+              DeferredHierarchyBuilder.this.buildCachedChildren(node, monitor);
+            }
+          }
+        } catch (final Throwable _t) {
+          if (_t instanceof OperationCanceledException) {
+            return Status.CANCEL_STATUS;
+          } else {
+            throw Exceptions.sneakyThrow(_t);
+          }
+        }
+        return Status.OK_STATUS;
+      }
+      
+      @Override
+      public boolean belongsTo(final Object family) {
+        return (family == DeferredHierarchyBuilder.this);
+      }
     };
-    return IterableExtensions.<IHierarchyNode>toList(IterableExtensions.<IHierarchyNode>filterNull(IterableExtensions.<IHierarchyNode, IHierarchyNode>map(this.hierarchyBuilder.buildChildren(node, monitor), _function)));
+    job.setSystem(true);
+    job.setPriority(Job.DECORATE);
+    job.schedule();
+  }
+  
+  /**
+   * Cancels the prefetching of children that is still pending, e.g. because the hierarchy is rebuilt or the view is
+   * closed.
+   * 
+   * @since 2.17
+   */
+  public void cancelPrefetching() {
+    Job.getJobManager().cancel(this);
   }
   
   protected IHierarchyNode defer(final IHierarchyNode node) {
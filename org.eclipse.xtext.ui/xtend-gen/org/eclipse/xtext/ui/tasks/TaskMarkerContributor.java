@@ -7,11 +7,18 @@
  */
 package org.eclipse.xtext.ui.tasks;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.base.Objects;
 import com.google.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
@@ -21,6 +28,7 @@ import org.eclipse.xtext.tasks.Task;
 import org.eclipse.xtext.ui.markers.IMarkerContributor;
 import org.eclipse.xtext.ui.tasks.TaskMarkerCreator;
 import org.eclipse.xtext.ui.tasks.TaskMarkerTypeProvider;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 
 /**
@@ -40,6 +48,8 @@ public class TaskMarkerContributor implements IMarkerContributor {
   @Inject
   private TaskMarkerTypeProvider typeProvider;
   
+  private Boolean incrementalUpdateSupported;
+  
   @Override
   public void updateMarkers(final IFile file, final Resource resource, final IProgressMonitor monitor) {
     try {
@@ -48,8 +58,11 @@ public class TaskMarkerContributor implements IMarkerContributor {
       if (_isCanceled) {
         throw new OperationCanceledException();
       }
-      this.deleteMarkers(file, monitor);
-      this.createTaskMarkers(file, tasks, monitor);
+      final IWorkspaceRunnable _function = (IProgressMonitor it) -> {
+        this.updateTaskMarkers(file, tasks, it);
+      };
+      final IWorkspaceRunnable runnable = _function;
+      file.getWorkspace().run(runnable, file, IWorkspace.AVOID_UPDATE, monitor);
     } catch (final Throwable _t) {
       if (_t instanceof CoreException) {
         final CoreException e = (CoreException)_t;
@@ -66,6 +79,85 @@ public class TaskMarkerContributor implements IMarkerContributor {
     }
   }
   
+  /**
+   * Matches the tasks against the existing task markers by type, line, priority and message. Only the markers of
+   * tasks that were added or removed are created or deleted, markers of unchanged tasks are kept. The markers of new
+   * tasks are created by {@link #createTaskMarkers(IFile, List, IProgressMonitor)}.
+   * 
+   * If a subclass customizes the creation or deletion of the markers, all markers are deleted and recreated instead.
+   * 
+   * @since 2.17
+   */
+  protected void updateTaskMarkers(final IFile file, final List<Task> tasks, final IProgressMonitor monitor) throws CoreException {
+    boolean _isIncrementalUpdateSupported = this.isIncrementalUpdateSupported();
+    boolean _not = (!_isIncrementalUpdateSupported);
+    if (_not) {
+      this.deleteMarkers(file, monitor);
+      this.createTaskMarkers(file, tasks, monitor);
+      return;
+    }
+    final ArrayListMultimap<List<?>, IMarker> existingMarkers = ArrayListMultimap.<List<?>, IMarker>create();
+    IMarker[] _findMarkers = file.findMarkers(TaskMarkerTypeProvider.XTEXT_TASK_TYPE, true, IResource.DEPTH_ZERO);
+    for (final IMarker marker : _findMarkers) {
+      existingMarkers.put(this.markerCreator.getMarkerKey(marker), marker);
+    }
+    final ArrayList<Task> newTasks = CollectionLiterals.<Task>newArrayList();
+    for (final Task task : tasks) {
+      {
+        final List<IMarker> candidates = existingMarkers.get(this.markerCreator.getMarkerKey(task, this.typeProvider.getMarkerType(task)));
+        boolean _isEmpty = candidates.isEmpty();
+        if (_isEmpty) {
+          newTasks.add(task);
+        } else {
+          this.markerCreator.updateMarker(task, candidates.remove(0));
+        }
+      }
+    }
+    Collection<IMarker> _values = existingMarkers.values();
+    for (final IMarker marker_1 : _values) {
+      marker_1.delete();
+    }
+    this.createTaskMarkers(file, newTasks, monitor);
+  }
+  
+  /**
+   * Existing markers are only matched if neither {@link #createTaskMarkers(IFile, List, IProgressMonitor)} nor
+   * {@link #deleteMarkers(IFile, IProgressMonitor)} is overridden, and if the {@link TaskMarkerCreator} overrides
+   * neither {@link TaskMarkerCreator#createMarker(Task, IResource, String) createMarker} nor
+   * {@link TaskMarkerCreator#setMarkerAttributes(Task, IResource, IMarker) setMarkerAttributes}. Otherwise a reused
+   * marker would lack the attributes of the customization.
+   * 
+   * @since 2.17
+   */
+  protected boolean isIncrementalUpdateSupported() {
+    if ((this.incrementalUpdateSupported == null)) {
+      this.incrementalUpdateSupported = Boolean.valueOf((((this.isNotOverridden(this.getClass(), TaskMarkerContributor.class, "createTaskMarkers", IFile.class, List.class, IProgressMonitor.class) && 
+        this.isNotOverridden(this.getClass(), TaskMarkerContributor.class, "deleteMarkers", IFile.class, IProgressMonitor.class)) && 
+        this.isNotOverridden(this.markerCreator.getClass(), TaskMarkerCreator.class, "createMarker", Task.class, IResource.class, String.class)) && 
+        this.isNotOverridden(this.markerCreator.getClass(), TaskMarkerCreator.class, "setMarkerAttributes", Task.class, IResource.class, IMarker.class)));
+    }
+    return (this.incrementalUpdateSupported).booleanValue();
+  }
+  
+  private boolean isNotOverridden(final Class<?> subType, final Class<?> declaringType, final String methodName, final Class<?>... parameterTypes) {
+    Class<?> type = subType;
+    while ((!Objects.equal(type, declaringType))) {
+      {
+        try {
+          type.getDeclaredMethod(methodName, parameterTypes);
+          return false;
+        } catch (final Throwable _t) {
+          if (_t instanceof NoSuchMethodException) {
+          } else {
+            throw Exceptions.sneakyThrow(_t);
+          }
+        }
+        type = type.getSuperclass();
+      }
+    }
+    return true;
+  }
+  
   @Override
   public void deleteMarkers(final IFile file, final IProgressMonitor monitor) {
     try {
@@ -147,7 +147,7 @@ public class XbaseHoverProvider extends DefaultEObjectHoverProvider {
 			buffer.append(oldSignature);
 		else
 			buffer.append(computeSignature(astElement, objectToView));
-		String documentation = getDocumentation(objectToView);
+		String documentation = getCachedDocumentation(objectToView);
 		if (documentation != null && documentation.length() > 0) {
 			buffer.append("<p>");
 			buffer.append(documentation);
@@ -188,6 +188,18 @@ public class XbaseHoverProvider extends DefaultEObjectHoverProvider {
 		return "";
 	}
 
+	/**
+	 * @since 2.17
+	 */
+	@Override
+	public void prefetchDocumentation(EObject element) {
+		if (isValidationDisabled(element))
+			return;
+		EObject objectToView = getObjectToView(element);
+		if (objectToView != null && !objectToView.eIsProxy())
+			super.prefetchDocumentation(objectToView);
+	}
+
 	/**
 	 * @since 2.3
 	 */
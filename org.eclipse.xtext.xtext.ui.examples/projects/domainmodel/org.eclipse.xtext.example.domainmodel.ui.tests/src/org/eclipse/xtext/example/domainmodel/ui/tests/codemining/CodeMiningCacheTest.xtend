@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.example.domainmodel.ui.tests.codemining
+
+import com.google.inject.Inject
+import java.util.List
+import org.eclipse.jface.text.Document
+import org.eclipse.xtext.example.domainmodel.domainmodel.DomainModel
+import org.eclipse.xtext.example.domainmodel.domainmodel.Entity
+import org.eclipse.xtext.example.domainmodel.ui.tests.DomainmodelUiInjectorProvider
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils
+import org.eclipse.xtext.testing.InjectWith
+import org.eclipse.xtext.testing.XtextRunner
+import org.eclipse.xtext.testing.util.ParseHelper
+import org.eclipse.xtext.ui.codemining.CodeMiningCache
+import org.eclipse.xtext.ui.codemining.CodeMiningSpec
+import org.eclipse.xtext.util.CancelIndicator
+import org.junit.Test
+import org.junit.runner.RunWith
+
+import static org.junit.Assert.*
+
+@RunWith(XtextRunner)
+@InjectWith(DomainmodelUiInjectorProvider)
+class CodeMiningCacheTest {
+
+	@Inject ParseHelper<DomainModel> parseHelper
+
+	val computed = <String>newArrayList
+
+	@Test def void testUnchangedElementsAreReused() {
+		val cache = new CodeMiningCache
+		cache.update('entity A {}\nentity B {}\n')
+		val specs = cache.update('entity A { x : String }\n\nentity B {}\n')
+		assertEquals(#['A', 'B', 'A'], computed)
+		assertEquals(1, cache.hits)
+		assertEquals(3, cache.misses)
+		assertEquals('entity A { x : String }\n\n'.length, specs.get(2).offset)
+		assertEquals(2, specs.get(3).line)
+	}
+
+	@Test def void testCachedSpecsAreNotModified() {
+		val cache = new CodeMiningCache
+		val first = cache.update('entity A {}\n')
+		val second = cache.update('\nentity A {}\n')
+		assertEquals(1, cache.hits)
+		assertEquals(0, first.get(0).offset)
+		assertEquals(0, first.get(1).line)
+		assertEquals(1, second.get(0).offset)
+		assertEquals(1, second.get(1).line)
+	}
+
+	@Test def void testChangedColumnIsRecomputed() {
+		val cache = new CodeMiningCache
+		cache.update('entity A {}\n')
+		cache.update(' entity A {}\n')
+		assertEquals(0, cache.hits)
+		assertEquals(2, cache.misses)
+	}
+
+	@Test def void testRemovedElementsAreEvicted() {
+		val cache = new CodeMiningCache
+		cache.update('entity A {}\nentity B {}\n')
+		cache.update('entity A {}\n')
+		cache.update('entity A {}\nentity B {}\n')
+		assertEquals(#['A', 'B', 'B'], computed)
+	}
+
+	private def List<CodeMiningSpec> update(CodeMiningCache cache, String text) {
+		val model = parseHelper.parse(text)
+		cache.update(model.elements, new Document(text), [ element |
+			val name = (element as Entity).name
+			computed += name
+			val node = NodeModelUtils.getNode(element)
+			#[CodeMiningSpec.lineContent(node.offset, name, null), CodeMiningSpec.lineHeader(node.startLine - 1, name, null)]
+		], CancelIndicator.NullImpl)
+	}
+
+}
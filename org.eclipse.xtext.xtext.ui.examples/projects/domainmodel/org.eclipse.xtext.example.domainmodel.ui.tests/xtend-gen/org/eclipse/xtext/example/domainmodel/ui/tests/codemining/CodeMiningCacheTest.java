@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtext.example.domainmodel.ui.tests.codemining;
+
+import com.google.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.jface.text.Document;
+import org.eclipse.xtext.example.domainmodel.domainmodel.AbstractElement;
+import org.eclipse.xtext.example.domainmodel.domainmodel.DomainModel;
+import org.eclipse.xtext.example.domainmodel.domainmodel.Entity;
+import org.eclipse.xtext.example.domainmodel.ui.tests.DomainmodelUiInjectorProvider;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.testing.util.ParseHelper;
+import org.eclipse.xtext.ui.codemining.CodeMiningCache;
+import org.eclipse.xtext.ui.codemining.CodeMiningSpec;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(XtextRunner.class)
+@InjectWith(DomainmodelUiInjectorProvider.class)
+@SuppressWarnings("all")
+public class CodeMiningCacheTest {
+  @Inject
+  private ParseHelper<DomainModel> parseHelper;
+  
+  private final ArrayList<String> computed = CollectionLiterals.<String>newArrayList();
+  
+  @Test
+  public void testUnchangedElementsAreReused() {
+    final CodeMiningCache cache = new CodeMiningCache();
+    this.update(cache, "entity A {}\nentity B {}\n");
+    final List<CodeMiningSpec> specs = this.update(cache, "entity A { x : String }\n\nentity B {}\n");
+    Assert.assertEquals(Collections.<String>unmodifiableList(CollectionLiterals.<String>newArrayList("A", "B", "A")), this.computed);
+    Assert.assertEquals(1, cache.getHits());
+    Assert.assertEquals(3, cache.getMisses());
+    Assert.assertEquals("entity A { x : String }\n\n".length(), specs.get(2).getOffset());
+    Assert.assertEquals(2, specs.get(3).getLine());
+  }
+  
+  @Test
+  public void testCachedSpecsAreNotModified() {
+    final CodeMiningCache cache = new CodeMiningCache();
+    final List<CodeMiningSpec> first = this.update(cache, "entity A {}\n");
+    final List<CodeMiningSpec> second = this.update(cache, "\nentity A {}\n");
+    Assert.assertEquals(1, cache.getHits());
+    Assert.assertEquals(0, first.get(0).getOffset());
+    Assert.assertEquals(0, first.get(1).getLine());
+    Assert.assertEquals(1, second.get(0).getOffset());
+    Assert.assertEquals(1, second.get(1).getLine());
+  }
+  
+  @Test
+  public void testChangedColumnIsRecomputed() {
+    final CodeMiningCache cache = new CodeMiningCache();
+    this.update(cache, "entity A {}\n");
+    this.update(cache, " entity A {}\n");
+    Assert.assertEquals(0, cache.getHits());
+    Assert.assertEquals(2, cache.getMisses());
+  }
+  
+  @Test
+  public void testRemovedElementsAreEvicted() {
+    final CodeMiningCache cache = new CodeMiningCache();
+    this.update(cache, "entity A {}\nentity B {}\n");
+    this.update(cache, "entity A {}\n");
+    this.update(cache, "entity A {}\nentity B {}\n");
+    Assert.assertEquals(Collections.<String>unmodifiableList(CollectionLiterals.<String>newArrayList("A", "B", "B")), this.computed);
+  }
+  
+  private List<CodeMiningSpec> update(final CodeMiningCache cache, final String text) {
+    try {
+      List<CodeMiningSpec> _xblockexpression = null;
+      {
+        final DomainModel model = this.parseHelper.parse(text);
+        EList<AbstractElement> _elements = model.getElements();
+        Document _document = new Document(text);
+        final CodeMiningCache.Computation _function = (EObject element) -> {
+          List<CodeMiningSpec> _xblockexpression_1 = null;
+          {
+            final String name = ((Entity) element).getName();
+            this.computed.add(name);
+            final ICompositeNode node = NodeModelUtils.getNode(element);
+            CodeMiningSpec _lineContent = CodeMiningSpec.lineContent(node.getOffset(), name, null);
+            int _startLine = node.getStartLine();
+            int _minus = (_startLine - 1);
+            CodeMiningSpec _lineHeader = CodeMiningSpec.lineHeader(_minus, name, null);
+            _xblockexpression_1 = Collections.<CodeMiningSpec>unmodifiableList(CollectionLiterals.<CodeMiningSpec>newArrayList(_lineContent, _lineHeader));
+          }
+          return _xblockexpression_1;
+        };
+        _xblockexpression = cache.update(_elements, _document, _function, CancelIndicator.NullImpl);
+      }
+      return _xblockexpression;
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+}
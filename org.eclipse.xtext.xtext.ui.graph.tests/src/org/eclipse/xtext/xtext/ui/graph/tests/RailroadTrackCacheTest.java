@@ -0,0 +1,57 @@
+package org.eclipse.xtext.xtext.ui.graph.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.xtext.ui.graph.figures.ISegmentFigure;
+import org.eclipse.xtext.xtext.ui.graph.figures.primitives.LabelNode;
+import org.eclipse.xtext.xtext.ui.graph.trafo.RailroadTrackCache;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.inject.Inject;
+
+@RunWith(XtextRunner.class)
+@InjectWith(RailroadInjectorProvider.class)
+public class RailroadTrackCacheTest {
+
+	@Inject
+	private RailroadTrackCache cache;
+
+	@Inject
+	private GrammarParser parser;
+
+	@Test
+	public void testUnchangedRulesAreReused() throws Exception {
+		List<ISegmentFigure> first = cache.updateTracks(parser.parse("Foo: 'foo'; Bar: 'bar';"));
+		List<ISegmentFigure> second = cache.updateTracks(parser.parse("Foo: 'foo'; Bar: 'baz';"));
+		assertEquals(2, second.size());
+		assertSame(first.get(0), second.get(0));
+		assertNotSame(first.get(1), second.get(1));
+	}
+
+	@Test
+	public void testTextRegionsOfMovedRulesAreUpdated() throws Exception {
+		List<ISegmentFigure> first = cache.updateTracks(parser.parse("Foo: 'foo'; Bar: 'bar';"));
+		int offset = getLabel(first.get(1)).getTextRegion().getOffset();
+		List<ISegmentFigure> second = cache.updateTracks(parser.parse("Foo: 'fooo'; Bar: 'bar';"));
+		assertNotSame(first.get(0), second.get(0));
+		assertSame(first.get(1), second.get(1));
+		assertEquals(offset + 1, getLabel(second.get(1)).getTextRegion().getOffset());
+	}
+
+	@Test
+	public void testClear() throws Exception {
+		List<ISegmentFigure> first = cache.updateTracks(parser.parse("Foo: 'foo';"));
+		cache.clear();
+		List<ISegmentFigure> second = cache.updateTracks(parser.parse("Foo: 'foo';"));
+		assertNotSame(first.get(0), second.get(0));
+	}
+
+	protected LabelNode getLabel(ISegmentFigure track) {
+		return (LabelNode) track.getChildren().get(0);
+	}
+}
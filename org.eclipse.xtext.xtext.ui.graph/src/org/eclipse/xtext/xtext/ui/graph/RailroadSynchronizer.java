@@ -16,12 +16,15 @@ import org.eclipse.swt.graphics.Font;
 import org.eclipse.ui.IPartListener;
 import org.eclipse.ui.IWorkbenchPart;
 import org.eclipse.ui.IWorkbenchPartSite;
+import org.eclipse.xtext.Grammar;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.ui.editor.XtextEditor;
 import org.eclipse.xtext.ui.editor.model.IXtextDocument;
 import org.eclipse.xtext.ui.editor.model.IXtextModelListener;
 import org.eclipse.xtext.util.concurrent.IUnitOfWork;
 import org.eclipse.xtext.xtext.ui.graph.actions.RailroadSelectionLinker;
+import org.eclipse.xtext.xtext.ui.graph.figures.RailroadDiagram;
+import org.eclipse.xtext.xtext.ui.graph.trafo.RailroadTrackCache;
 import org.eclipse.xtext.xtext.ui.graph.trafo.Xtext2RailroadTransformer;
 
 import com.google.inject.Inject;
@@ -44,8 +47,13 @@ public class RailroadSynchronizer implements IPartListener, IXtextModelListener
 	@Inject
 	private RailroadSelectionLinker selectionLinker;
 
+	@Inject
+	private RailroadTrackCache trackCache;
+
 	private IXtextDocument lastActiveDocument;
 
+	private volatile IFigure currentContents;
+
 	public void start(IWorkbenchPartSite site) {
 		updateView(site.getPage().getActiveEditor());
 		site.getWorkbenchWindow().getPartService().addPartListener(this);
@@ -54,6 +62,8 @@ public class RailroadSynchronizer implements IPartListener, IXtextModelListener
 	public void stop(IWorkbenchPartSite site) {
 		site.getWorkbenchWindow().getPartService().removePartListener(this);
 		lastActiveDocument = null;
+		currentContents = null;
+		trackCache.clear();
 	}
 
 	@Override
@@ -74,7 +84,7 @@ public class RailroadSynchronizer implements IPartListener, IXtextModelListener
 					}
 				});
 				if (contents != null) {
-					view.setContents(contents);
+					setContents(contents);
 					if (lastActiveDocument != null) {
 						lastActiveDocument.removeModelListener(this);
 					}
@@ -89,6 +99,9 @@ public class RailroadSynchronizer implements IPartListener, IXtextModelListener
 		EList<EObject> contents = state.getContents();
 		if (!contents.isEmpty()) {
 			EObject rootObject = contents.get(0);
+			if (rootObject instanceof Grammar) {
+				return trackCache.createDiagram((Grammar) rootObject);
+			}
 			return transformer.transform(rootObject);
 		}
 		return null;
@@ -110,9 +123,25 @@ public class RailroadSynchronizer implements IPartListener, IXtextModelListener
 	public void partOpened(IWorkbenchPart part) {
 	}
 
+	private void setContents(IFigure contents) {
+		currentContents = contents;
+		view.setContents(contents);
+	}
+
+	/**
+	 * Only the tracks of rules that have been changed are transformed again. The current diagram is kept and its
+	 * tracks are replaced in the UI thread.
+	 */
 	@Override
 	public void modelChanged(XtextResource resource) {
-		view.setContents(createFigure(resource));
+		IFigure contents = currentContents;
+		EList<EObject> resourceContents = resource.getContents();
+		if (contents instanceof RailroadDiagram && !resourceContents.isEmpty()
+				&& resourceContents.get(0) instanceof Grammar) {
+			view.updateTracks((RailroadDiagram) contents, trackCache.updateTracks((Grammar) resourceContents.get(0)));
+		} else {
+			setContents(createFigure(resource));
+		}
 	}
 
 	/**
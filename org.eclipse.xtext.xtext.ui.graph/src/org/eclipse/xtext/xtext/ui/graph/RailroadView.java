@@ -9,6 +9,8 @@
  *******************************************************************************/
 package org.eclipse.xtext.xtext.ui.graph;
 
+import java.util.List;
+
 import org.eclipse.draw2d.Figure;
 import org.eclipse.draw2d.FigureCanvas;
 import org.eclipse.draw2d.IFigure;
@@ -27,6 +29,8 @@ import org.eclipse.ui.part.ViewPart;
 import org.eclipse.xtext.xtext.ui.graph.actions.ExportToFileAction;
 import org.eclipse.xtext.xtext.ui.graph.actions.LinkWithEditorAction;
 import org.eclipse.xtext.xtext.ui.graph.actions.RailroadSelectionLinker;
+import org.eclipse.xtext.xtext.ui.graph.figures.ISegmentFigure;
+import org.eclipse.xtext.xtext.ui.graph.figures.RailroadDiagram;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -112,6 +116,23 @@ public class RailroadView extends ViewPart {
 		});
 	}
 
+	/**
+	 * Replaces the tracks of the given diagram if it is still shown in this view.
+	 * 
+	 * @since 2.17
+	 */
+	public void updateTracks(final RailroadDiagram diagram, final List<ISegmentFigure> tracks) {
+		Display.getDefault().asyncExec(new Runnable() {
+			@Override
+			public void run() {
+				if (contents == diagram) {
+					diagram.setTracks(tracks);
+					rootFigure.validate();
+				}
+			}
+		});
+	}
+
 	public IFigure getContents() {
 		return contents;
 	}
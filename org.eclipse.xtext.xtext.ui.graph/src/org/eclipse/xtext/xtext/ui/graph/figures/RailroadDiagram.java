@@ -31,6 +31,18 @@ public class RailroadDiagram extends AbstractSegmentFigure {
 			add(child);
 	}
 
+	/**
+	 * Replaces the tracks of this diagram. Tracks that are kept keep their layout, so only new tracks have to be laid
+	 * out. Must be called in the UI thread.
+	 * 
+	 * @since 2.17
+	 */
+	public void setTracks(List<ISegmentFigure> tracks) {
+		removeAll();
+		for (ISegmentFigure track : tracks)
+			add(track);
+	}
+
 	@Override
 	protected LayoutManager createLayoutManager() {
 		ToolbarLayout layout = new ToolbarLayout();
@@ -90,6 +90,15 @@ public abstract class AbstractNode extends CrossPoint implements IEObjectReferer
 		return textRegion;
 	}
 
+	/**
+	 * Updates the text region, e.g. when the grammar element was moved by an edit elsewhere in the document.
+	 * 
+	 * @since 2.17
+	 */
+	public void setTextRegion(Region textRegion) {
+		this.textRegion = textRegion;
+	}
+
 	@Override
 	public Dimension getMaximumSize() {
 		return getPreferredSize();
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xtext.ui.graph.trafo;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.jface.text.Region;
+import org.eclipse.xtext.AbstractRule;
+import org.eclipse.xtext.Grammar;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.xtext.ui.graph.figures.ISegmentFigure;
+import org.eclipse.xtext.xtext.ui.graph.figures.primitives.AbstractNode;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.inject.Inject;
+
+/**
+ * Keeps the track figures of the rules of a grammar, so only rules that have been changed since the last
+ * transformation have to be transformed again.
+ *
+ * A rule is considered unchanged if its URI and its text are the same. The text regions of the figures of
+ * unchanged rules are moved to the new offset of the rule.
+ *
+ * @since 2.17
+ */
+public class RailroadTrackCache {
+
+	protected static class Key {
+		private final String uri;
+		private final String text;
+
+		protected Key(String uri, String text) {
+			this.uri = uri;
+			this.text = text;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * uri.hashCode() + text.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null || obj.getClass() != getClass())
+				return false;
+			Key other = (Key) obj;
+			return uri.equals(other.uri) && text.equals(other.text);
+		}
+	}
+
+	protected static class Entry {
+		private final ISegmentFigure track;
+		private int offset;
+
+		protected Entry(ISegmentFigure track, int offset) {
+			this.track = track;
+			this.offset = offset;
+		}
+	}
+
+	@Inject
+	private Xtext2RailroadTransformer transformer;
+
+	@Inject
+	private Xtext2RailroadFactory factory;
+
+	private Map<Key, Entry> entries = Maps.newHashMap();
+
+	/**
+	 * Creates a new diagram for the given grammar, reusing the tracks of unchanged rules.
+	 */
+	public synchronized ISegmentFigure createDiagram(Grammar grammar) {
+		return factory.createDiagram(grammar, updateTracks(grammar));
+	}
+
+	/**
+	 * Returns the tracks for all rules of the given grammar. Only tracks of rules that changed since the last call are
+	 * created, all other tracks are taken from the cache.
+	 */
+	public synchronized List<ISegmentFigure> updateTracks(Grammar grammar) {
+		Map<Key, Entry> newEntries = Maps.newHashMap();
+		List<ISegmentFigure> tracks = Lists.newArrayList();
+		for (AbstractRule rule : grammar.getRules()) {
+			ISegmentFigure track;
+			ICompositeNode node = NodeModelUtils.getNode(rule);
+			if (node == null) {
+				track = transformer.transform(rule);
+			} else {
+				Key key = new Key(EcoreUtil.getURI(rule).toString(), node.getText());
+				Entry entry = entries.remove(key);
+				if (entry == null) {
+					entry = new Entry(transformer.transform(rule), node.getOffset());
+				} else if (entry.offset != node.getOffset()) {
+					if (entry.track != null)
+						translateTextRegions(entry.track, node.getOffset() - entry.offset);
+					entry.offset = node.getOffset();
+				}
+				newEntries.put(key, entry);
+				track = entry.track;
+			}
+			if (track != null)
+				tracks.add(track);
+		}
+		entries = newEntries;
+		return tracks;
+	}
+
+	public synchronized void clear() {
+		entries = Maps.newHashMap();
+	}
+
+	protected void translateTextRegions(IFigure figure, int delta) {
+		if (figure instanceof AbstractNode) {
+			AbstractNode node = (AbstractNode) figure;
+			Region textRegion = node.getTextRegion();
+			if (textRegion != null)
+				node.setTextRegion(new Region(textRegion.getOffset() + delta, textRegion.getLength()));
+		}
+		for (Object child : figure.getChildren()) {
+			translateTextRegions((IFigure) child, delta);
+		}
+	}
+}